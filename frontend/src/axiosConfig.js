@@ -1,7 +1,7 @@
 import axios from 'axios';
 
 // 쿠키에서 특정 이름의 값을 읽는 헬퍼 함수
-function getCookie(name) {
+export function getCookie(name) {
     const value = `; ${document.cookie}`;
     const parts = value.split(`; ${name}=`);
     if (parts.length === 2) return parts.pop().split(';').shift();
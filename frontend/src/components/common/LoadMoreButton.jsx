@@ -0,0 +1,41 @@
+import React, { useEffect, useRef } from 'react';
+
+// 목록 끝의 더 보기 버튼. 버튼이 화면에 보이면 자동으로 다음 페이지를 불러온다 (무한 스크롤).
+const LoadMoreButton = ({ hasMore, loading, onLoadMore, autoLoad = true, className = 'mt-6' }) => {
+    const buttonRef = useRef(null);
+
+    useEffect(() => {
+        if (!autoLoad || !hasMore || loading || typeof IntersectionObserver === 'undefined') {
+            return undefined;
+        }
+        const target = buttonRef.current;
+        if (!target) return undefined;
+        const observer = new IntersectionObserver((entries) => {
+            if (entries.some((entry) => entry.isIntersecting)) {
+                onLoadMore();
+            }
+        });
+        observer.observe(target);
+        return () => observer.disconnect();
+    }, [autoLoad, hasMore, loading, onLoadMore]);
+
+    if (!hasMore) {
+        return null;
+    }
+
+    return (
+        <div className={`flex justify-center ${className}`}>
+            <button
+                ref={buttonRef}
+                type="button"
+                onClick={onLoadMore}
+                disabled={loading}
+                className="px-5 py-2 rounded-xl border border-[color:var(--border)] bg-[color:var(--surface)] text-sm font-semibold text-[color:var(--text)] shadow-[0_10px_25px_var(--shadow)] hover:bg-[color:var(--surface-muted)] transition disabled:opacity-60 disabled:cursor-not-allowed"
+            >
+                {loading ? '불러오는 중...' : '더 보기'}
+            </button>
+        </div>
+    );
+};
+
+export default LoadMoreButton;
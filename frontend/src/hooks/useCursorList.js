@@ -0,0 +1,80 @@
+import { useCallback, useEffect, useRef, useState } from 'react';
+import axiosInstance from '../axiosConfig';
+
+// 목록 API는 한 페이지씩 내려주고 다음 페이지 커서를 X-Next-Cursor 헤더로 보낸다.
+export const NEXT_CURSOR_HEADER = 'x-next-cursor';
+
+export const fetchCursorPage = async (path, cursor, config = {}) => {
+    const res = await axiosInstance.get(path, {
+        ...config,
+        params: { ...(config.params || {}), ...(cursor ? { cursor } : {}) },
+    });
+    return {
+        items: Array.isArray(res.data) ? res.data : [],
+        nextCursor: res.headers?.[NEXT_CURSOR_HEADER] || null,
+    };
+};
+
+// 첫 페이지를 불러오고 loadMore로 다음 페이지를 이어 붙인다 (더 보기 버튼/무한 스크롤 공용).
+export const useCursorList = (path, { enabled = true } = {}) => {
+    const [items, setItems] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loading, setLoading] = useState(enabled);
+    const [loadingMore, setLoadingMore] = useState(false);
+    const [error, setError] = useState(null);
+    // 목록을 다시 불러오는 중 늦게 도착한 이전 응답은 버린다
+    const generation = useRef(0);
+
+    const reload = useCallback(async () => {
+        const current = generation.current + 1;
+        generation.current = current;
+        setLoading(true);
+        setError(null);
+        try {
+            const page = await fetchCursorPage(path);
+            if (generation.current !== current) return;
+            setItems(page.items);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            if (generation.current !== current) return;
+            setItems([]);
+            setNextCursor(null);
+            setError(err);
+        } finally {
+            if (generation.current === current) setLoading(false);
+        }
+    }, [path]);
+
+    const loadMore = useCallback(async () => {
+        if (!nextCursor || loadingMore) return;
+        const current = generation.current;
+        setLoadingMore(true);
+        try {
+            const page = await fetchCursorPage(path, nextCursor);
+            if (generation.current !== current) return;
+            setItems((prev) => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            if (generation.current !== current) return;
+            setError(err);
+        } finally {
+            setLoadingMore(false);
+        }
+    }, [path, nextCursor, loadingMore]);
+
+    useEffect(() => {
+        if (!enabled) return;
+        reload();
+    }, [enabled, reload]);
+
+    return {
+        items,
+        setItems,
+        loading,
+        loadingMore,
+        error,
+        hasMore: Boolean(nextCursor),
+        loadMore,
+        reload,
+    };
+};
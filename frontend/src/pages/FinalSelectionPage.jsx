@@ -1,34 +1,31 @@
-﻿import React, { useEffect, useMemo, useState } from 'react';
+﻿import React, { useEffect, useMemo, useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import axiosInstance from '../axiosConfig';
+import { useCursorList } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
+import { streamLlm } from '../utils/llmStream';
 
 const FinalSelectionPage = () => {
     const navigate = useNavigate();
-    const [reports, setReports] = useState([]);
+    const { items: reports, loading, loadingMore, error: listError, hasMore, loadMore } = useCursorList('/report/list');
     const [searchTerm, setSearchTerm] = useState('');
-    const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [selectMode, setSelectMode] = useState(false);
     const [selectedIds, setSelectedIds] = useState(() => new Set());
     const [analyzing, setAnalyzing] = useState(false);
     const [progress, setProgress] = useState(0);
+    const [streamText, setStreamText] = useState('');
+    // 화면을 떠나면 스트림을 끊어 서버의 생성 요청도 취소되게 한다
+    const streamAbort = useRef(null);
 
-    useEffect(() => {
-        const fetchReports = async () => {
-            try {
-                setLoading(true);
-                const res = await axiosInstance.get('/report/list');
-                setReports(res.data || []);
-            } catch (err) {
-                console.error('보고서 목록을 불러오지 못했습니다.', err);
-                setError('보고서 목록을 불러오지 못했습니다.');
-            } finally {
-                setLoading(false);
-            }
-        };
+    useEffect(() => () => streamAbort.current?.abort(), []);
 
-        fetchReports();
-    }, []);
+    useEffect(() => {
+        if (listError) {
+            console.error('보고서 목록을 불러오지 못했습니다.', listError);
+            setError('보고서 목록을 불러오지 못했습니다.');
+        }
+    }, [listError]);
 
     const normalizedSearch = searchTerm.trim().toLowerCase();
     const filteredReports = useMemo(() => {
@@ -69,25 +66,36 @@ const FinalSelectionPage = () => {
         }
         setAnalyzing(true);
         setProgress(5);
+        setStreamText('');
+        const controller = new AbortController();
+        streamAbort.current = controller;
         const timer = setInterval(() => {
             setProgress((prev) => (prev >= 90 ? prev : prev + 3));
         }, 450);
         try {
             const reportIds = Array.from(selectedIds);
-            const res = await axiosInstance.post('/report/final-evaluation', { reportIds });
+            // 생성되는 문장을 바로 보여주고, 서버가 저장한 결과(done)를 받으면 결과 화면으로 이동
+            const result = await streamLlm('/report/final-evaluation/stream', { reportIds }, {
+                signal: controller.signal,
+                onDelta: (delta, text) => setStreamText(text),
+            });
             setProgress(100);
             clearInterval(timer);
             navigate('/mainboard/final-selection/result', {
                 state: {
-                    result: res.data,
+                    result,
                     selectedReports: reports.filter((report) => reportIds.includes(report.reportId)),
                 },
             });
         } catch (err) {
+            clearInterval(timer);
+            if (controller.signal.aborted) {
+                return;
+            }
             console.error('최종 평가 보고서 생성에 실패했습니다.', err);
             setError('최종 평가 보고서 생성에 실패했습니다.');
-            clearInterval(timer);
             setProgress(0);
+            setStreamText('');
             setAnalyzing(false);
             return;
         }
@@ -241,6 +249,13 @@ const FinalSelectionPage = () => {
                     <p className="mt-6 text-sm text-[color:var(--text-muted)]">일치하는 AI 리포트가 없습니다.</p>
                 )}
 
+                {analyzing && streamText && (
+                    <div className="mt-8 max-h-64 overflow-y-auto rounded-2xl border border-[color:var(--border)] bg-[color:var(--surface-muted)] p-4">
+                        <p className="text-xs font-semibold text-[color:var(--text-soft)]">최종 평가 작성 중</p>
+                        <p className="mt-2 text-sm text-[color:var(--text)] whitespace-pre-line">{streamText}</p>
+                    </div>
+                )}
+
                 {selectMode && (
                     <div className="mt-8 flex justify-end">
                         <button
@@ -305,6 +320,8 @@ const FinalSelectionPage = () => {
                         <p className="mt-6 text-sm text-[color:var(--text-muted)]">일치하는 최종 보고서가 없습니다.</p>
                     )}
                 </div>
+
+                {!loading && <LoadMoreButton hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />}
             </div>
         </div>
     );
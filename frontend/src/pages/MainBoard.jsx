@@ -1,7 +1,8 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { useNavigate } from 'react-router-dom';
-import axiosInstance from '../axiosConfig';
+import { useCursorList } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
 
 const MainBoard = () => {
     const { user } = useAuth();
@@ -9,27 +10,16 @@ const MainBoard = () => {
     const rawName = user?.userName || sessionStorage.getItem('userName') || localStorage.getItem('userName') || '게스트';
     const maskedName = rawName.length <= 1 ? '*' : `${rawName.slice(0, -1)}*`;
 
-    const [recipes, setRecipes] = useState([]);
+    const { items: recipes, loading, loadingMore, error: listError, hasMore, loadMore } = useCursorList('/recipes');
     const [searchTerm, setSearchTerm] = useState('');
-    const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
 
     useEffect(() => {
-        const fetchRecipes = async () => {
-            try {
-                setLoading(true);
-                const res = await axiosInstance.get('/recipes');
-                setRecipes(res.data || []);
-            } catch (err) {
-                console.error('레시피 목록을 불러오지 못했습니다', err);
-                setError('레시피 목록을 불러오지 못했습니다.');
-            } finally {
-                setLoading(false);
-            }
-        };
-
-        fetchRecipes();
-    }, []);
+        if (listError) {
+            console.error('레시피 목록을 불러오지 못했습니다', listError);
+            setError('레시피 목록을 불러오지 못했습니다.');
+        }
+    }, [listError]);
 
     const normalizedSearch = searchTerm.trim().toLowerCase();
     const filteredRecipes = normalizedSearch
@@ -103,6 +93,8 @@ const MainBoard = () => {
                     ))}
                 </div>
 
+                {!loading && <LoadMoreButton hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />}
+
                 {!loading && recipes.length === 0 && (
                     <p className="mt-6 text-sm text-[color:var(--text-muted)]">등록된 레시피가 없습니다.</p>
                 )}
@@ -2,6 +2,8 @@
 import React from 'react';
 import { useAuth } from '../context/AuthContext';
 import axiosInstance from '../axiosConfig';
+import { fetchCursorPage } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
 
 const initialNotices = [];
 
@@ -103,6 +105,8 @@ const NoticeBoard = () => {
     const [searchTerm, setSearchTerm] = React.useState('');
     const [page, setPage] = React.useState(1);
     const [loadingNotices, setLoadingNotices] = React.useState(true);
+    const [noticeCursor, setNoticeCursor] = React.useState(null);
+    const [loadingMoreNotices, setLoadingMoreNotices] = React.useState(false);
     const [noticeError, setNoticeError] = React.useState('');
     const [detailLoading, setDetailLoading] = React.useState(false);
     const [detailError, setDetailError] = React.useState('');
@@ -158,9 +162,9 @@ const NoticeBoard = () => {
         setLoadingNotices(true);
         setNoticeError('');
         try {
-            const response = await axiosInstance.get('/notices');
-            const data = Array.isArray(response.data) ? response.data : response.data?.data ?? [];
-            const normalized = data.map(normalizeNotice);
+            const { items, nextCursor } = await fetchCursorPage('/notices');
+            setNoticeCursor(nextCursor);
+            const normalized = items.map(normalizeNotice);
             if (normalized.length) {
                 setNotices(normalized);
                 if (!selectedId) {
@@ -172,12 +176,31 @@ const NoticeBoard = () => {
         } catch (error) {
             console.error(error);
             setNoticeError('공지사항을 불러오지 못했습니다.');
+            setNoticeCursor(null);
             setNotices(initialNotices.map(normalizeNotice));
         } finally {
             setLoadingNotices(false);
         }
     }, [selectedId]);
 
+    // 서버에서 다음 페이지를 받아 이어 붙인다 (화면 페이지 이동은 불러온 목록 안에서)
+    const loadMoreNotices = React.useCallback(async () => {
+        if (!noticeCursor || loadingMoreNotices) {
+            return;
+        }
+        setLoadingMoreNotices(true);
+        try {
+            const { items, nextCursor } = await fetchCursorPage('/notices', noticeCursor);
+            setNotices((prev) => [...prev, ...items.map(normalizeNotice)]);
+            setNoticeCursor(nextCursor);
+        } catch (error) {
+            console.error(error);
+            setNoticeError('공지사항을 불러오지 못했습니다.');
+        } finally {
+            setLoadingMoreNotices(false);
+        }
+    }, [noticeCursor, loadingMoreNotices]);
+
     const loadNoticeDetail = React.useCallback(async (noticeId) => {
         if (!noticeId) {
             return;
@@ -461,6 +484,13 @@ const NoticeBoard = () => {
                     </div>
                 </div>
 
+                <LoadMoreButton
+                    hasMore={Boolean(noticeCursor)}
+                    loading={loadingMoreNotices}
+                    onLoadMore={loadMoreNotices}
+                    autoLoad={false}
+                />
+
                 <div className="mt-6 flex items-center justify-between">
                     <div className="flex gap-2">
                         <button
@@ -2,6 +2,8 @@ import React, { useEffect, useMemo, useRef, useState } from 'react';
 import { useLocation, useNavigate, useParams } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
 import axiosInstance from '../axiosConfig';
+import { toInfluencerImageSrc } from '../utils/influencer';
+import { streamLlm } from '../utils/llmStream';
 
 const RecipeAnalysis = () => {
     const { user } = useAuth();
@@ -31,6 +33,9 @@ const RecipeAnalysis = () => {
 
     const [productCases, setProductCases] = useState([]);
     const [ingredientCases, setIngredientCases] = useState([]);
+    // 저장된 요약이 없는 보고서는 화면에서 요약을 스트리밍으로 만들어 보여준다 (저장하지 않음)
+    const [generatedSummary, setGeneratedSummary] = useState('');
+    const [summaryStreaming, setSummaryStreaming] = useState(false);
 
     const readTargetMeta = (recipeId) => {
         const cached =
@@ -102,6 +107,7 @@ const RecipeAnalysis = () => {
                         summary: data.summary || '',
                         influencers: data.influencers || [],
                         influencerImageBase64: data.influencerImageBase64 || '',
+                        influencerImageUrl: data.influencerImageUrl || '',
                         status: data.recipeStatus || 'PUBLISHED',
                         user_id: data.recipeUserId || null,
                         openYn: data.recipeOpenYn || null,
@@ -124,18 +130,59 @@ const RecipeAnalysis = () => {
     }, [id, reportId]);
 
     const report = recipe?.report || null;
+    const savedInfluencerImage = recipe?.influencerImageUrl || recipe?.influencerImageBase64 || '';
     const hasReport = report && Object.keys(report).length > 0;
     const isRecipeOnly = !hasReport;
     const reportSections = Array.isArray(report?._sections) ? report._sections : null;
     const allowInfluencer = reportSections
         ? reportSections.includes('influencer') || reportSections.includes('influencerImage')
-        : Boolean(recipe?.influencers?.length || recipe?.influencerImageBase64);
+        : Boolean(recipe?.influencers?.length || savedInfluencerImage);
     const allowInfluencerImage = reportSections
         ? reportSections.includes('influencerImage')
-        : Boolean(recipe?.influencerImageBase64);
+        : Boolean(savedInfluencerImage);
     const allowMapSection = Array.isArray(reportSections) && reportSections.includes('globalMarketMap');
     const allowAllergenSection = Array.isArray(reportSections) && reportSections.includes('allergenNote');
     const showMap = allowMapSection && Array.isArray(evaluationResults) && evaluationResults.length > 0;
+    const needsSummary =
+        Boolean(reportId) && hasReport && Array.isArray(reportSections) && reportSections.includes('summary') && !recipe?.summary;
+
+    useEffect(() => {
+        if (!needsSummary) {
+            return undefined;
+        }
+        const summaryKey = `reportSummary:${reportId}`;
+        const cached = sessionStorage.getItem(summaryKey);
+        if (cached) {
+            setGeneratedSummary(cached);
+            return undefined;
+        }
+        const controller = new AbortController();
+        setSummaryStreaming(true);
+        setGeneratedSummary('');
+        streamLlm('/report/summary/stream', report, {
+            signal: controller.signal,
+            onDelta: (delta, text) => setGeneratedSummary(text),
+        })
+            .then((result) => {
+                const summary = result?.summary || '';
+                setGeneratedSummary(summary);
+                if (summary) {
+                    sessionStorage.setItem(summaryKey, summary);
+                }
+            })
+            .catch((err) => {
+                if (controller.signal.aborted) {
+                    return;
+                }
+                console.error('보고서 요약을 생성하지 못했습니다.', err);
+                setGeneratedSummary('');
+            })
+            .finally(() => setSummaryStreaming(false));
+        return () => {
+            controller.abort();
+            setSummaryStreaming(false);
+        };
+    }, [needsSummary, reportId, report]);
 
     useEffect(() => {
         const seededInfluencers = location.state?.influencers;
@@ -242,8 +289,8 @@ const RecipeAnalysis = () => {
         if (Array.isArray(recipe?.influencers) && recipe.influencers.length) {
             setInfluencers(recipe.influencers);
         }
-        if (recipe?.influencerImageBase64) {
-            setImageBase64(recipe.influencerImageBase64);
+        if (savedInfluencerImage) {
+            setImageBase64(savedInfluencerImage);
         }
         if (Array.isArray(recipe?.report?.evaluationResults) && recipe.report.evaluationResults.length) {
             setEvaluationResults(aggregateEvaluations(recipe.report.evaluationResults));
@@ -291,16 +338,16 @@ const RecipeAnalysis = () => {
             if (Array.isArray(recipe?.influencers) && recipe.influencers.length) {
                 setInfluencers(recipe.influencers);
             }
-            if (recipe?.influencerImageBase64) {
+            if (savedInfluencerImage) {
                 if (allowInfluencerImage) {
-                    setImageBase64(recipe.influencerImageBase64);
+                    setImageBase64(savedInfluencerImage);
                 } else {
                     setImageBase64('');
                 }
             }
             const existingRecs = Array.isArray(recipe?.influencers) ? recipe.influencers : [];
             if (existingRecs.length > 0) {
-                if (allowInfluencerImage && !recipe?.influencerImageBase64 && !imageBase64) {
+                if (allowInfluencerImage && !savedInfluencerImage && !imageBase64) {
                     setInfluencerLoading(true);
                     try {
                         const topExisting =
@@ -339,11 +386,11 @@ const RecipeAnalysis = () => {
             }
             if (
                 (recipe?.influencers?.length || 0) > 0 &&
-                (!allowInfluencerImage || recipe?.influencerImageBase64 || imageBase64)
+                (!allowInfluencerImage || savedInfluencerImage || imageBase64)
             ) {
                 return;
             }
-            if ((recipe?.influencers?.length || 0) > 0 && recipe?.influencerImageBase64) {
+            if ((recipe?.influencers?.length || 0) > 0 && savedInfluencerImage) {
                 return;
             }
             if (influencers.length && imageBase64) {
@@ -738,7 +785,8 @@ const RecipeAnalysis = () => {
     const showConceptIdeas = Array.isArray(report?.conceptIdeas) && report.conceptIdeas.length > 0;
     const showKpis = Array.isArray(report?.kpis) && report.kpis.length > 0;
     const showNextSteps = Array.isArray(report?.nextSteps) && report.nextSteps.length > 0;
-    const showSummary = Boolean(recipe?.summary);
+    const summaryText = recipe?.summary || generatedSummary;
+    const showSummary = Boolean(summaryText) || summaryStreaming;
     const showRecipeCase =
         Array.isArray(reportSections) &&
         reportSections.includes('RecipeCase');
@@ -871,7 +919,7 @@ const RecipeAnalysis = () => {
                 ? `
   <div class="section">
     <h2>요약본</h2>
-    <p>${escapeHtml(recipe?.summary || '요약 결과가 없습니다.')}</p>
+    <p>${escapeHtml(summaryText || '요약 결과가 없습니다.')}</p>
   </div>
 `
                 : '',
@@ -1001,7 +1049,7 @@ const RecipeAnalysis = () => {
   <div class="section">
     <h2>인플루언서 이미지</h2>
     ${imageBase64
-                    ? `<img src="data:image/png;base64,${imageBase64}" alt="influencer" style="max-width:100%; border-radius:12px;"/>`
+                    ? `<img src="${toInfluencerImageSrc(imageBase64)}" alt="influencer" style="max-width:100%; border-radius:12px;"/>`
                     : '<p class="muted">이미지 생성 결과가 없습니다.</p>'
                 }
   </div>
@@ -1402,7 +1450,7 @@ const RecipeAnalysis = () => {
                                 </h3>
                                 <div className="min-h-[320px] rounded-xl border border-[color:var(--border)] bg-[color:var(--surface-muted)] flex items-center justify-center overflow-hidden">
                                     <img
-                                        src={`data:image/png;base64,${imageBase64}`}
+                                        src={toInfluencerImageSrc(imageBase64)}
                                         alt="influencer"
                                         className="h-full w-full object-contain"
                                     />
@@ -1519,7 +1567,7 @@ const RecipeAnalysis = () => {
 
                                 <div className="rounded-xl border border-[color:var(--border)] bg-[color:var(--surface-muted)] p-3 mt-4">
                                     <p className="text-sm font-medium text-[color:var(--text)] whitespace-pre-line">
-                                        {recipe.summary}
+                                        {summaryText || '요약 생성 중…'}
                                     </p>
                                 </div>
                             </div>
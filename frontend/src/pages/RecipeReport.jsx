@@ -2,6 +2,7 @@ import React, { useEffect, useMemo, useRef, useState } from 'react';
 import axiosInstance from '../axiosConfig';
 import { useAuth } from '../context/AuthContext';
 import { useLocation, useNavigate, useParams } from 'react-router-dom';
+import { createJobId, waitForReportJob } from '../utils/reportJob';
 
 const REPORT_SECTION_OPTIONS = [
     { key: 'executiveSummary', label: '핵심 요약', required: true },
@@ -310,9 +311,7 @@ const RecipeReport = () => {
             setError('리포트 생성 옵션을 먼저 선택해주세요.');
             return;
         }
-        const jobId = window.crypto?.randomUUID
-            ? window.crypto.randomUUID()
-            : `job_${Date.now()}_${Math.random().toString(36).slice(2, 8)}`;
+        const jobId = createJobId();
         setCreateLoading(true);
         setError('');
         startServerProgress(jobId);
@@ -325,12 +324,16 @@ const RecipeReport = () => {
                 openYn: reportOpenYn,
                 jobId,
             };
-            const res = await axiosInstance.post(`/recipes/${id}/reports`, payload);
-            if (res.data?.reportId) {
-                if (res.data?.recipeOpenYn) {
-                    setRecipeOpenYn(res.data.recipeOpenYn);
+            // 작업으로 등록하고(202) 진행률은 SSE, 완료 여부는 작업 조회로 확인
+            const submitted = await axiosInstance.post(`/recipes/${id}/reports/jobs`, payload, {
+                headers: { 'Idempotency-Key': jobId },
+            });
+            const job = await waitForReportJob(submitted.data?.jobId || jobId);
+            if (job?.reportId) {
+                if (job.result?.recipeOpenYn) {
+                    setRecipeOpenYn(job.result.recipeOpenYn);
                 }
-                const nextReportId = res.data.reportId;
+                const nextReportId = job.reportId;
                 const needsInfluencer =
                     reportSections.includes('influencer') || reportSections.includes('influencerImage');
                 if (needsInfluencer) {
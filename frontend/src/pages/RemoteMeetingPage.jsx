@@ -1,11 +1,16 @@
-﻿import React, { useEffect, useRef, useState } from 'react';
+﻿import React, { useEffect, useMemo, useRef, useState } from 'react';
 import { Client } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 import axiosInstance from '../axiosConfig';
+import { useCursorList } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
 
 const RemoteMeetingPage = () => {
-    const [reports, setReports] = useState([]);
-    const [loading, setLoading] = useState(true);
+    const { items: allReports, loading, loadingMore, error: listError, hasMore, loadMore } = useCursorList('/report/list');
+    const reports = useMemo(
+        () => allReports.filter((item) => (item.reportType || 'AI') === 'FINAL_EVALUATION'),
+        [allReports],
+    );
     const [error, setError] = useState('');
     const [activeReport, setActiveReport] = useState(null);
     const [messages, setMessages] = useState([]);
@@ -15,21 +20,11 @@ const RemoteMeetingPage = () => {
     const subscriptionRef = useRef(null);
 
     useEffect(() => {
-        const fetchReports = async () => {
-            try {
-                setLoading(true);
-                const res = await axiosInstance.get('/report/list');
-                const all = res.data || [];
-                setReports(all.filter((item) => (item.reportType || 'AI') === 'FINAL_EVALUATION'));
-            } catch (err) {
-                console.error('최종 보고서 목록을 불러오지 못했습니다.', err);
-                setError('최종 보고서 목록을 불러오지 못했습니다.');
-            } finally {
-                setLoading(false);
-            }
-        };
-        fetchReports();
-    }, []);
+        if (listError) {
+            console.error('최종 보고서 목록을 불러오지 못했습니다.', listError);
+            setError('최종 보고서 목록을 불러오지 못했습니다.');
+        }
+    }, [listError]);
 
     useEffect(() => {
         const connectSocket = async () => {
@@ -174,6 +169,7 @@ const RemoteMeetingPage = () => {
                         );
                     })}
                 </div>
+                {!loading && <LoadMoreButton hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />}
             </section>
 
             {activeReport && (
@@ -2,6 +2,8 @@ import React, { useEffect, useState } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { useNavigate } from 'react-router-dom';
 import axiosInstance from '../axiosConfig';
+import { useCursorList } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
 
 const UserBoard = () => {
     const { user } = useAuth();
@@ -9,28 +11,25 @@ const UserBoard = () => {
     const rawName = user?.userName || sessionStorage.getItem('userName') || localStorage.getItem('userName') || '게스트';
     const maskedName = rawName.length <= 1 ? '*' : `${rawName.slice(0, -1)}*`;
 
-    const [recipes, setRecipes] = useState([]);
+    const {
+        items: recipes,
+        setItems: setRecipes,
+        loading,
+        loadingMore,
+        error: listError,
+        hasMore,
+        loadMore,
+    } = useCursorList('/recipes/me');
     const [searchTerm, setSearchTerm] = useState('');
-    const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [publishLoadingId, setPublishLoadingId] = useState(null);
 
     useEffect(() => {
-        const fetchRecipes = async () => {
-            try {
-                setLoading(true);
-                const res = await axiosInstance.get('/recipes/me');
-                setRecipes(res.data || []);
-            } catch (err) {
-                console.error('레시피 목록을 불러오지 못했습니다.', err);
-                setError('레시피 목록을 불러오지 못했습니다.');
-            } finally {
-                setLoading(false);
-            }
-        };
-
-        fetchRecipes();
-    }, []);
+        if (listError) {
+            console.error('레시피 목록을 불러오지 못했습니다.', listError);
+            setError('레시피 목록을 불러오지 못했습니다.');
+        }
+    }, [listError]);
 
     const handlePublish = async (recipe) => {
         if (!recipe || recipe.status === 'PUBLISHED') {
@@ -150,6 +149,8 @@ const UserBoard = () => {
                     })}
                 </div>
 
+                {!loading && <LoadMoreButton hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />}
+
                 {!loading && recipes.length === 0 && (
                     <p className="mt-6 text-sm text-[color:var(--text-muted)]">등록된 레시피가 없습니다.</p>
                 )}
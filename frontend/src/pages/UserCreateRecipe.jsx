@@ -4,6 +4,9 @@ import { useAuth } from '../context/AuthContext';
 import { useLocation, useNavigate, useParams } from 'react-router-dom';
 import { useBeforeUnload } from 'react-router';
 import axiosInstance from '../axiosConfig';
+import { fetchCursorPage } from '../hooks/useCursorList';
+import LoadMoreButton from '../components/common/LoadMoreButton';
+import { createJobId, waitForReportJob } from '../utils/reportJob';
 
 const labels = {
     guest: '게스트',
@@ -244,6 +247,9 @@ const UserCreateRecipe = () => {
     const [loadModalOpen, setLoadModalOpen] = useState(false);
     const [loadTab, setLoadTab] = useState('hub');
     const [loadRecipes, setLoadRecipes] = useState({ hub: [], mine: [] });
+    // 탭별 다음 페이지 커서 (X-Next-Cursor)
+    const [loadCursors, setLoadCursors] = useState({ hub: null, mine: null });
+    const [loadMoreLoading, setLoadMoreLoading] = useState(false);
     const [loadLoading, setLoadLoading] = useState(false);
     const [loadError, setLoadError] = useState('');
     const [loadSearch, setLoadSearch] = useState('');
@@ -377,14 +383,18 @@ const UserCreateRecipe = () => {
             setLoadLoading(true);
             setLoadError('');
             try {
-                const [hubRes, mineRes] = await Promise.all([
-                    axiosInstance.get('/recipes'),
-                    axiosInstance.get('/recipes/me'),
+                const [hubPage, minePage] = await Promise.all([
+                    fetchCursorPage('/recipes'),
+                    fetchCursorPage('/recipes/me'),
                 ]);
                 if (!active) return;
                 setLoadRecipes({
-                    hub: hubRes.data || [],
-                    mine: mineRes.data || [],
+                    hub: hubPage.items,
+                    mine: minePage.items,
+                });
+                setLoadCursors({
+                    hub: hubPage.nextCursor,
+                    mine: minePage.nextCursor,
                 });
             } catch (err) {
                 if (!active) return;
@@ -400,6 +410,23 @@ const UserCreateRecipe = () => {
         };
     }, [loadModalOpen]);
 
+    const loadMoreRecipes = async () => {
+        const tab = loadTab === 'mine' ? 'mine' : 'hub';
+        const cursor = loadCursors[tab];
+        if (!cursor || loadMoreLoading) return;
+        setLoadMoreLoading(true);
+        try {
+            const page = await fetchCursorPage(tab === 'mine' ? '/recipes/me' : '/recipes', cursor);
+            setLoadRecipes((prev) => ({ ...prev, [tab]: [...prev[tab], ...page.items] }));
+            setLoadCursors((prev) => ({ ...prev, [tab]: page.nextCursor }));
+        } catch (err) {
+            console.error('레시피를 불러오지 못했습니다.', err);
+            setLoadError(labels.loadError);
+        } finally {
+            setLoadMoreLoading(false);
+        }
+    };
+
     const filteredLoadList = useMemo(() => {
         const list = loadTab === 'mine' ? loadRecipes.mine : loadRecipes.hub;
         const keyword = loadSearch.trim().toLowerCase();
@@ -953,10 +980,29 @@ const UserCreateRecipe = () => {
                 setCreatedInfluencers([]);
                 setCreatedInfluencerImage('');
             }
-            const res = isUpdate
-                ? await axiosInstance.put(`/recipes/${recipeId}`, payload)
-                : await axiosInstance.post('/recipes', payload);
-            const created = res.data;
+            let created;
+            if (isUpdate) {
+                const res = await axiosInstance.put(`/recipes/${recipeId}`, payload);
+                created = res.data;
+            } else {
+                // 레시피는 바로 저장되고 보고서는 작업(202)으로 생성된다. 작업이 끝나면 레시피를 다시 읽는다.
+                const res = await axiosInstance.post('/recipes/jobs', payload, {
+                    headers: { 'Idempotency-Key': createJobId() },
+                });
+                created = res.data?.recipe;
+                if (res.data?.job?.jobId) {
+                    bumpProgress(20);
+                    try {
+                        await waitForReportJob(res.data.job.jobId);
+                    } catch (jobErr) {
+                        // 레시피는 이미 저장됐으므로 다시 시도하면 수정(PUT)으로 보고서만 재생성한다
+                        setCreatedRecipe(created);
+                        throw jobErr;
+                    }
+                    const fresh = await axiosInstance.get(`/recipes/${created.id}`);
+                    created = fresh.data;
+                }
+            }
             bumpProgress(isUpdate ? 60 : 55);
             initialSnapshotRef.current = buildSnapshot(created || payload);
             shouldBlockRef.current = false;
@@ -1653,6 +1699,15 @@ const UserCreateRecipe = () => {
                                         </div>
                                     ))}
                                 </div>
+                                {!loadLoading && (
+                                    <LoadMoreButton
+                                        hasMore={Boolean(loadCursors[loadTab === 'mine' ? 'mine' : 'hub'])}
+                                        loading={loadMoreLoading}
+                                        onLoadMore={loadMoreRecipes}
+                                        autoLoad={false}
+                                        className="mt-4"
+                                    />
+                                )}
                             </div>
                         </div>
                     </div>
@@ -8,3 +8,18 @@ export const pickInfluencerForImage = (items) => {
         null
     );
 };
+
+// 저장된 인플루언서 이미지는 /api/images/{hash} URL, 이관 전 데이터나 방금 생성한 이미지는 base64
+export const toInfluencerImageSrc = (value) => {
+    if (!value) {
+        return '';
+    }
+    if (value.startsWith('data:') || /^https?:\/\//.test(value)) {
+        return value;
+    }
+    if (value.startsWith('/')) {
+        // 새 창(보고서 인쇄)에서도 열리도록 절대 주소로 바꾼다
+        return new URL(value, window.location.origin).href;
+    }
+    return `data:image/png;base64,${value}`;
+};
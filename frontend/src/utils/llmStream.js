@@ -0,0 +1,83 @@
+import axiosInstance, { getCookie } from '../axiosConfig';
+
+// SSE 이벤트 한 건(event:/data: 줄 묶음)을 { name, data }로. data는 JSON이면 객체로 바꾼다.
+const parseEvent = (raw) => {
+    let name = 'message';
+    const lines = [];
+    raw.split(/\r?\n/).forEach((line) => {
+        if (line.startsWith('event:')) {
+            name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            lines.push(line.slice(5).replace(/^ /, ''));
+        }
+    });
+    const text = lines.join('\n');
+    try {
+        return { name, data: JSON.parse(text) };
+    } catch (err) {
+        return { name, data: text };
+    }
+};
+
+// LLM 스트리밍 엔드포인트(POST, text/event-stream) 호출. EventSource는 본문을 보낼 수 없어 fetch 스트림을 직접 읽는다.
+// delta 이벤트마다 onDelta(조각, 지금까지 받은 전체 텍스트)를 부르고, 서버가 검증/저장한 done 결과로 resolve한다.
+export const streamLlm = async (path, body, { onDelta, signal } = {}) => {
+    const headers = {
+        'Content-Type': 'application/json',
+        Accept: 'text/event-stream',
+    };
+    const token = sessionStorage.getItem('accessToken');
+    if (token) {
+        headers.Authorization = `Bearer ${token}`;
+    }
+    const csrfToken = getCookie('XSRF-TOKEN');
+    if (csrfToken) {
+        headers['X-XSRF-TOKEN'] = csrfToken;
+    }
+
+    const res = await fetch(`${axiosInstance.defaults.baseURL}${path}`, {
+        method: 'POST',
+        headers,
+        body: JSON.stringify(body),
+        credentials: 'include',
+        signal,
+    });
+    if (!res.ok || !res.body) {
+        const error = new Error(`스트리밍 요청이 실패했습니다. (${res.status})`);
+        error.status = res.status;
+        throw error;
+    }
+
+    const reader = res.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let text = '';
+    try {
+        for (;;) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffer += decoder.decode(value, { stream: true });
+            let boundary = buffer.search(/\r?\n\r?\n/);
+            while (boundary >= 0) {
+                const event = parseEvent(buffer.slice(0, boundary));
+                buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '');
+                if (event.name === 'delta') {
+                    const delta = event.data?.text || '';
+                    text += delta;
+                    onDelta?.(delta, text);
+                } else if (event.name === 'done') {
+                    return event.data;
+                } else if (event.name === 'error') {
+                    throw new Error(event.data?.message || '생성에 실패했습니다.');
+                }
+                boundary = buffer.search(/\r?\n\r?\n/);
+            }
+        }
+    } finally {
+        // done/오류 뒤 남은 연결을 닫는다
+        reader.cancel().catch(() => {});
+    }
+    throw new Error('결과 없이 스트림이 끝났습니다.');
+};
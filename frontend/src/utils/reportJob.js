@@ -0,0 +1,28 @@
+import axiosInstance from '../axiosConfig';
+
+// 보고서 생성은 작업(report_job)으로 등록되고 서버가 202 + jobId를 돌려준다.
+export const createJobId = () =>
+    window.crypto?.randomUUID
+        ? window.crypto.randomUUID()
+        : `job_${Date.now()}_${Math.random().toString(36).slice(2, 8)}`;
+
+const delay = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+// 작업이 끝날 때까지 /report-jobs/{jobId}를 조회한다. 실패/시간 초과는 예외로 알린다.
+export const waitForReportJob = async (jobId, { intervalMs = 2000, timeoutMs = 10 * 60 * 1000 } = {}) => {
+    const deadline = Date.now() + timeoutMs;
+    while (Date.now() < deadline) {
+        const res = await axiosInstance.get(`/report-jobs/${jobId}`);
+        const job = res.data;
+        if (job?.status === 'SUCCEEDED') {
+            return job;
+        }
+        if (job?.status === 'FAILED') {
+            const error = new Error(job.error || '보고서 생성 작업이 실패했습니다.');
+            error.job = job;
+            throw error;
+        }
+        await delay(intervalMs);
+    }
+    throw new Error('보고서 생성 작업이 시간 안에 끝나지 않았습니다.');
+};
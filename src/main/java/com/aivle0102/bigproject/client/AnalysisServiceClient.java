@@ -1,33 +1,21 @@
 package com.aivle0102.bigproject.client;
 
+import com.aivle0102.bigproject.config.HttpClientRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import reactor.netty.http.client.HttpClient;
-
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 @Component
 public class AnalysisServiceClient {
 
         private final WebClient webClient;
 
-        public AnalysisServiceClient(@Value("${analysis.engine.url}") String baseUrl) {
-                HttpClient httpClient = HttpClient.create()
-                                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000) // ConnectTimeout 2초
-                                .responseTimeout(Duration.ofSeconds(30)) // ReadTimeout 30초 (Response)
-                                .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(30, TimeUnit.SECONDS))
-                                                .addHandlerLast(new WriteTimeoutHandler(30, TimeUnit.SECONDS)));
-
-                this.webClient = WebClient.builder()
+        // 연결/읽기/쓰기 타임아웃과 풀 크기는 http.clients.analysis-engine.*
+        public AnalysisServiceClient(@Value("${analysis.engine.url}") String baseUrl,
+                        HttpClientRegistry httpClientRegistry) {
+                this.webClient = httpClientRegistry.webClientBuilder("analysis-engine")
                                 .baseUrl(baseUrl)
-                                .clientConnector(new ReactorClientHttpConnector(httpClient))
                                 .build();
         }
 
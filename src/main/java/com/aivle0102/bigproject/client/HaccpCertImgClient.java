@@ -3,9 +3,9 @@
 
 package com.aivle0102.bigproject.client;
 
+import com.aivle0102.bigproject.config.HttpClientRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -16,7 +16,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class HaccpCertImgClient {
 
     // host까지만 url 입력
@@ -26,9 +25,14 @@ public class HaccpCertImgClient {
     @Value("${haccp.service-key}")
     private String serviceKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final XmlMapper xmlMapper = new XmlMapper();
 
+    // data.go.kr 응답이 늦어도 요청 스레드가 무한정 묶이지 않도록 풀/타임아웃이 있는 클라이언트 사용 (http.clients.haccp.*)
+    public HaccpCertImgClient(HttpClientRegistry httpClientRegistry) {
+        this.restTemplate = httpClientRegistry.restTemplate("haccp");
+    }
+
     public JsonNode searchByPrdkind(String prdkindKeyword, int pageNo, int numOfRows) {
         String url = UriComponentsBuilder
                 .fromUriString(baseUrl + "/CertImgListServiceV3/getCertImgListServiceV3")
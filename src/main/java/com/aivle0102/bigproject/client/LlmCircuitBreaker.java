@@ -0,0 +1,144 @@
+package com.aivle0102.bigproject.client;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// 최근 호출 N건의 실패율로 여닫는 회로 차단기.
+// OPEN이면 바로 실패시키고, open 시간이 지나면 HALF_OPEN에서 시험 호출만 보내 성공하면 닫는다.
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final Consumer<State> onTransition;
+
+    // 최근 호출 결과 링 버퍼 (true = 실패)
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    public LlmCircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+            long openMillis, int halfOpenCalls, Consumer<State> onTransition) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = Math.max(1, Math.min(100, failureRateThreshold));
+        this.openMillis = Math.max(1, openMillis);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.onTransition = onTransition;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return currentState(System.currentTimeMillis());
+    }
+
+    public synchronized int getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100 / recorded;
+    }
+
+    public synchronized int getRecordedCalls() {
+        return recorded;
+    }
+
+    // 호출 허가. false면 호출하지 않고 바로 실패시킨다.
+    public synchronized boolean tryAcquire() {
+        State current = currentState(System.currentTimeMillis());
+        if (current == State.OPEN) {
+            return false;
+        }
+        if (current == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenInFlight += 1;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            halfOpenSucceeded += 1;
+            if (halfOpenSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            transition(State.OPEN);
+        }
+    }
+
+    // 제공자 상태와 무관한 종료(잘못된 요청, 취소 등). 허가만 반납한다.
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+    }
+
+    private State currentState(long now) {
+        if (state == State.OPEN && now - openedAt >= openMillis) {
+            transition(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures -= 1;
+            }
+        } else {
+            recorded += 1;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures += 1;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transition(State target) {
+        state = target;
+        halfOpenInFlight = 0;
+        halfOpenSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (target == State.CLOSED) {
+            // 닫힐 때는 이전 실패 기록을 버리고 새로 센다
+            Arrays.fill(outcomes, false);
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+        if (onTransition != null) {
+            onTransition.accept(target);
+        }
+    }
+}
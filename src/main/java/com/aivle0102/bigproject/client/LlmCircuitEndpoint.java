@@ -0,0 +1,30 @@
+package com.aivle0102.bigproject.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+// /actuator/llmcircuits: 외부 LLM 호출 회로 차단기 상태 조회
+@Component
+@Endpoint(id = "llmcircuits")
+@RequiredArgsConstructor
+public class LlmCircuitEndpoint {
+
+    private final LlmResilience resilience;
+
+    @ReadOperation
+    public List<CircuitStatus> circuits() {
+        return resilience.breakers().stream()
+                .sorted(Comparator.comparing(LlmCircuitBreaker::getName))
+                .map(breaker -> new CircuitStatus(breaker.getName(), breaker.getState().name(),
+                        breaker.getFailureRate(), breaker.getRecordedCalls()))
+                .toList();
+    }
+
+    public record CircuitStatus(String name, String state, int failureRate, int recordedCalls) {
+    }
+}
@@ -0,0 +1,329 @@
+package com.aivle0102.bigproject.client;
+
+import com.aivle0102.bigproject.exception.LlmUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// 외부 LLM 호출 공통 복원력 계층: 회로 차단기, 지터를 섞은 지수 백오프 재시도(429/5xx, Retry-After 우선), 지연 헤징.
+// 차단기는 호출 대상(openai-chat, openai-image)별로, 헤징 기준 지연 표본은 호출 용도(hedgeKey)별로 둔다.
+@Component
+@RequiredArgsConstructor
+public class LlmResilience {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LlmResilience.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.resilience.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${openai.resilience.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${openai.resilience.max-backoff-ms:20000}")
+    private long maxBackoffMs;
+
+    @Value("${openai.resilience.breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${openai.resilience.breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${openai.resilience.breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
+
+    @Value("${openai.resilience.breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Value("${openai.resilience.breaker.half-open-calls:1}")
+    private int breakerHalfOpenCalls;
+
+    @Value("${openai.resilience.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    // 이 개수만큼 성공 표본이 쌓이기 전에는 헤징하지 않는다
+    @Value("${openai.resilience.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${openai.resilience.hedge.min-delay-ms:1000}")
+    private long hedgeMinDelayMs;
+
+    @Value("${openai.resilience.hedge.percentile:95}")
+    private int hedgePercentile;
+
+    private final Map<String, LlmCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, LatencySamples> latencies = new ConcurrentHashMap<>();
+
+    // 단건 호출. attempt는 재시도/헤징 때마다 다시 호출되며, 그 안에서 guard로 감싼 실제 요청을 돌려줘야 한다.
+    // hedgeKey가 있으면 같은 키로 guard에 기록된 지연 시간을 기준으로 헤징한다.
+    public <T> Mono<T> call(String name, String hedgeKey, Supplier<Mono<T>> attempt) {
+        Mono<T> single = hedgeKey != null && hedgeEnabled ? hedged(name, hedgeKey, attempt) : Mono.defer(attempt);
+        return single.retryWhen(retry(name, error -> true));
+    }
+
+    // 스트리밍 호출. 첫 항목을 받은 뒤의 오류는 중복 출력이 되므로 재시도하지 않는다.
+    public <T> Flux<T> stream(String name, Supplier<Flux<T>> attempt) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return Flux.defer(attempt)
+                    .doOnNext(item -> emitted.set(true))
+                    .retryWhen(retry(name, error -> !emitted.get()));
+        });
+    }
+
+    // 실제 요청 한 번을 차단기로 감싼다. 예산 대기 등은 이 밖에서 끝난 뒤 구독되도록 호출한다.
+    // latencyKey가 있으면 성공 지연 시간을 헤징 기준 표본으로 남긴다.
+    public <T> Mono<T> guard(String name, String latencyKey, Mono<T> request) {
+        return Mono.defer(() -> {
+            LlmCircuitBreaker breaker = breaker(name);
+            if (!breaker.tryAcquire()) {
+                count("llm.circuit.rejected", name, "Calls rejected while the circuit was open");
+                return Mono.error(new LlmUnavailableException(name));
+            }
+            long startedAt = System.nanoTime();
+            return request
+                    .doOnSuccess(value -> {
+                        breaker.onSuccess();
+                        if (latencyKey != null) {
+                            latencies(latencyKey).record((System.nanoTime() - startedAt) / 1_000_000L);
+                        }
+                    })
+                    .doOnError(error -> onError(breaker, error))
+                    .doOnCancel(breaker::onIgnored);
+        });
+    }
+
+    public <T> Flux<T> guard(String name, Flux<T> request) {
+        return Flux.defer(() -> {
+            LlmCircuitBreaker breaker = breaker(name);
+            if (!breaker.tryAcquire()) {
+                count("llm.circuit.rejected", name, "Calls rejected while the circuit was open");
+                return Flux.error(new LlmUnavailableException(name));
+            }
+            return request
+                    .doOnComplete(breaker::onSuccess)
+                    .doOnError(error -> onError(breaker, error))
+                    .doOnCancel(breaker::onIgnored);
+        });
+    }
+
+    public Collection<LlmCircuitBreaker> breakers() {
+        return breakers.values();
+    }
+
+    // 일정 시간(최근 성공 지연의 p95) 안에 응답이 없으면 같은 요청을 한 번 더 보내 먼저 온 응답을 쓴다.
+    // 원 요청이 실패하면 바로 실패로 보고(재시도가 처리), 예비 요청의 실패는 무시한다.
+    private <T> Mono<T> hedged(String name, String hedgeKey, Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> {
+            Duration delay = hedgeDelay(hedgeKey);
+            if (delay == null) {
+                return Mono.defer(attempt);
+            }
+            Mono<T> backup = Mono.delay(delay)
+                    .then(Mono.defer(() -> {
+                        count("llm.hedge.requests", name, "Hedged duplicate requests sent");
+                        return Mono.defer(attempt);
+                    }))
+                    .onErrorResume(error -> Mono.empty());
+            return Flux.merge(Mono.defer(attempt), backup).next();
+        });
+    }
+
+    private Duration hedgeDelay(String hedgeKey) {
+        LatencySamples samples = latencies.get(hedgeKey);
+        long percentile = samples == null ? -1 : samples.percentile(hedgePercentile, hedgeMinSamples);
+        if (percentile < 0) {
+            return null;
+        }
+        return Duration.ofMillis(Math.max(hedgeMinDelayMs, percentile));
+    }
+
+    private Retry retry(String name, Predicate<Throwable> allowed) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable error = signal.failure();
+            long attempt = signal.totalRetries();
+            if (attempt >= maxRetries || !isRetryable(error) || !allowed.test(error)) {
+                return Mono.error(error);
+            }
+            Duration delay = backoff(attempt, retryAfter(error));
+            Counter.builder("llm.retry.attempts")
+                    .description("Retried outbound LLM calls")
+                    .tag("name", name)
+                    .tag("reason", reason(error))
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("LLM 호출 재시도 {}/{} ({}): {}ms 후 - {}", attempt + 1, maxRetries, name, delay.toMillis(),
+                    error.getMessage());
+            return Mono.delay(delay);
+        }));
+    }
+
+    // 지수 백오프에 절반 범위 지터를 섞는다. Retry-After가 더 길면 그 시간을 따른다.
+    Duration backoff(long attempt, Duration retryAfter) {
+        long exponential = Math.min(Math.max(1, maxBackoffMs),
+                Math.max(1, initialBackoffMs) << Math.min(attempt, 20));
+        long jittered = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        long millis = retryAfter == null ? jittered : Math.max(jittered, retryAfter.toMillis());
+        return Duration.ofMillis(millis);
+    }
+
+    private void onError(LlmCircuitBreaker breaker, Throwable error) {
+        if (isProviderFailure(error)) {
+            breaker.onFailure();
+        } else {
+            breaker.onIgnored();
+        }
+    }
+
+    boolean isRetryable(Throwable error) {
+        int status = status(error);
+        if (status > 0) {
+            return status == 408 || status == 429 || status >= 500;
+        }
+        return isTransportFailure(error);
+    }
+
+    // 차단기 실패로 세는 오류: 5xx와 연결/시간 초과. 429(한도)와 4xx(요청 오류)는 제공자 장애로 보지 않는다.
+    boolean isProviderFailure(Throwable error) {
+        int status = status(error);
+        if (status > 0) {
+            return status >= 500;
+        }
+        return isTransportFailure(error);
+    }
+
+    private boolean isTransportFailure(Throwable error) {
+        return error instanceof TimeoutException
+                || error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error.getCause() instanceof IOException;
+    }
+
+    private int status(Throwable error) {
+        if (error instanceof OpenAiApiException apiError) {
+            return apiError.getStatus();
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().value();
+        }
+        return -1;
+    }
+
+    private Duration retryAfter(Throwable error) {
+        if (error instanceof OpenAiApiException apiError) {
+            return apiError.getRetryAfter();
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            return parseRetryAfter(responseError.getHeaders().getFirst("Retry-After"));
+        }
+        return null;
+    }
+
+    // Retry-After 초 단위 값 (소수 허용). 해석할 수 없으면 null
+    public static Duration parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(header.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String reason(Throwable error) {
+        int status = status(error);
+        if (status > 0) {
+            return String.valueOf(status);
+        }
+        return error instanceof TimeoutException ? "timeout" : "io";
+    }
+
+    private LlmCircuitBreaker breaker(String name) {
+        return breakers.computeIfAbsent(name, key -> {
+            LlmCircuitBreaker breaker = new LlmCircuitBreaker(key, breakerWindowSize, breakerMinimumCalls,
+                    breakerFailureRateThreshold, Math.max(1, breakerOpenSeconds) * 1000L, breakerHalfOpenCalls,
+                    state -> {
+                        log.warn("LLM 회로 차단기 상태 변경 ({}): {}", key, state);
+                        Counter.builder("llm.circuit.transitions")
+                                .description("Circuit breaker state transitions")
+                                .tag("name", key)
+                                .tag("state", state.name().toLowerCase())
+                                .register(meterRegistry)
+                                .increment();
+                    });
+            // 0 = closed, 1 = half_open, 2 = open
+            Gauge.builder("llm.circuit.state", breaker, b -> b.getState().ordinal())
+                    .description("Circuit breaker state (0 closed, 1 half-open, 2 open)")
+                    .tag("name", key)
+                    .register(meterRegistry);
+            Gauge.builder("llm.circuit.failure.rate", breaker, LlmCircuitBreaker::getFailureRate)
+                    .description("Failure rate percent over the breaker window")
+                    .tag("name", key)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private LatencySamples latencies(String name) {
+        return latencies.computeIfAbsent(name, key -> new LatencySamples(200));
+    }
+
+    private void count(String meter, String name, String description) {
+        Counter.builder(meter)
+                .description(description)
+                .tag("name", name)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 최근 성공 호출 지연(ms) 링 버퍼
+    private static final class LatencySamples {
+
+        private final long[] values;
+        private int next;
+        private int size;
+
+        LatencySamples(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        synchronized void record(long millis) {
+            values[next] = millis;
+            next = (next + 1) % values.length;
+            size = Math.min(size + 1, values.length);
+        }
+
+        // 표본이 부족하면 -1
+        synchronized long percentile(int percent, int minSamples) {
+            if (size < Math.max(1, minSamples)) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(Math.max(1, Math.min(100, percent)) / 100.0 * size) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
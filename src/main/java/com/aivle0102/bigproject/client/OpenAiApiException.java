@@ -0,0 +1,20 @@
+package com.aivle0102.bigproject.client;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// OpenAI 오류 응답. 재시도 판단을 위해 상태 코드와 Retry-After를 담는다.
+@Getter
+public class OpenAiApiException extends RuntimeException {
+
+    private final int status;
+    // 응답에 Retry-After가 없으면 null
+    private final Duration retryAfter;
+
+    public OpenAiApiException(int status, Duration retryAfter) {
+        super("OpenAI API 호출 실패: " + status);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,12 +1,23 @@
 package com.aivle0102.bigproject.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 // OpenAI 호출 전용 클래스
 
@@ -14,29 +25,71 @@ import java.util.Map;
 public class OpenAiClient {
 
     private final WebClient openAiWebClient;
+    private final OpenAiRateGovernor rateGovernor;
+    private final LlmResilience resilience;
+    private final StructuredOutputParser structuredOutputParser;
+    private final ObjectMapper objectMapper;
 
-    public OpenAiClient(@Qualifier("openAiWebClient") WebClient openAiWebClient) {
+    public OpenAiClient(@Qualifier("openAiWebClient") WebClient openAiWebClient, OpenAiRateGovernor rateGovernor,
+            LlmResilience resilience, StructuredOutputParser structuredOutputParser, ObjectMapper objectMapper) {
         this.openAiWebClient = openAiWebClient;
+        this.rateGovernor = rateGovernor;
+        this.resilience = resilience;
+        this.structuredOutputParser = structuredOutputParser;
+        this.objectMapper = objectMapper;
     }
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(OpenAiClient.class);
+    private static final String STREAM_DONE = "[DONE]";
+    private static final String CIRCUIT_CHAT = "openai-chat";
 
-    @SuppressWarnings("unchecked")
+    // 블로킹 호출. 요청 스레드에서 한 번만 기다리는 진입점에서만 사용한다.
+    // lane을 지정하지 않은 호출은 BACKGROUND. INTERACTIVE는 사용자가 응답을 기다리는 hedged 호출만 쓴다.
     public String chatCompletion(Map<String, Object> body) {
+        return chatCompletion(body, OpenAiRateGovernor.Lane.BACKGROUND);
+    }
+
+    public String chatCompletion(Map<String, Object> body, OpenAiRateGovernor.Lane lane) {
+        return chatCompletionAsync(body, lane).block();
+    }
+
+    // 사용자가 기다리는 지연 민감 호출. hedgeKey(호출 용도)별 p95 지연이 지나도 응답이 없으면 한 번 더 보낸다.
+    public String chatCompletionHedged(String hedgeKey, Map<String, Object> body) {
+        return request(body, OpenAiRateGovernor.Lane.INTERACTIVE, null, hedgeKey).block();
+    }
+
+    public Mono<String> chatCompletionAsync(Map<String, Object> body) {
+        return chatCompletionAsync(body, OpenAiRateGovernor.Lane.BACKGROUND);
+    }
+
+    public Mono<String> chatCompletionAsync(Map<String, Object> body, OpenAiRateGovernor.Lane lane) {
+        return chatCompletionAsync(body, lane, null);
+    }
+
+    // 논블로킹 호출. 요청 예산(lane 우선순위)이 확보되면 요청을 보내고 첫 번째 choice의 message.content를 내보낸다.
+    // timeout은 예산 대기와 재시도를 모두 포함한 전체 마감 시간이다 (null이면 시도마다 커넥션 응답 타임아웃만 적용).
+    // 429/5xx/시간 초과는 마감 안에서 재시도하며 재시도마다 예산을 다시 받는다.
+    public Mono<String> chatCompletionAsync(Map<String, Object> body, OpenAiRateGovernor.Lane lane, Duration timeout) {
+        return request(body, lane, timeout, null);
+    }
+
+    private Mono<String> request(Map<String, Object> body, OpenAiRateGovernor.Lane lane, Duration timeout,
+            String hedgeKey) {
         // log.debug("Calling OpenAI API with body: {}", body);
+        int estimatedTokens = rateGovernor.estimateTokens(body);
+        return withTimeout(resilience.call(CIRCUIT_CHAT, hedgeKey, () -> rateGovernor.acquire(lane, estimatedTokens)
+                .then(resilience.guard(CIRCUIT_CHAT, hedgeKey, send(body)))), timeout);
+    }
 
-        return openAiWebClient.post()
+    @SuppressWarnings("unchecked")
+    private Mono<String> send(Map<String, Object> body) {
+        return Mono.defer(() -> openAiWebClient.post()
                 .uri("/chat/completions")
                 .bodyValue(body)
                 .retrieve()
                 .onStatus(
                         status -> status.isError(),
-                        response -> response.bodyToMono(String.class)
-                                .flatMap(errorBody -> {
-                                    log.error("OpenAI API Error: Status={}, Body={}", response.statusCode(), errorBody);
-                                    return Mono
-                                            .error(new RuntimeException("OpenAI API 호출 실패: " + response.statusCode()));
-                                }))
+                        this::toError)
                 .bodyToMono(Map.class)
                 .map(res -> {
                     List<Map<String, Object>> choices = (List<Map<String, Object>>) res.get("choices");
@@ -52,7 +105,80 @@ public class OpenAiClient {
                     // log.debug("OpenAI API Response content received (length: {})",
                     // content.length());
                     return content;
-                })
+                }));
+    }
+
+    // 구조화 출력 호출. schema(JSON Schema, strict)를 response_format으로 보내고 응답을 type으로 바로 바인딩한다.
+    // schema가 null이면 json_object 모드. purpose는 스키마 이름과 파싱 지표 태그로 쓴다.
+    public <T> T structuredCompletion(String purpose, Map<String, Object> body, Map<String, Object> schema,
+            Class<T> type) {
+        return structuredCompletionAsync(purpose, body, schema, type, OpenAiRateGovernor.Lane.BACKGROUND, null)
                 .block();
     }
+
+    public <T> Mono<T> structuredCompletionAsync(String purpose, Map<String, Object> body, Map<String, Object> schema,
+            Class<T> type, OpenAiRateGovernor.Lane lane, Duration timeout) {
+        return chatCompletionAsync(StructuredOutputParser.withResponseFormat(body, purpose, schema), lane, timeout)
+                .map(content -> structuredOutputParser.parse(purpose, content, type));
+    }
+
+    public CompletableFuture<String> chatCompletionFuture(Map<String, Object> body) {
+        return chatCompletionAsync(body).toFuture();
+    }
+
+    // stream=true 호출. 응답 청크의 delta.content만 순서대로 내보낸다.
+    public Flux<String> chatCompletionStream(Map<String, Object> body) {
+        Map<String, Object> streamBody = new LinkedHashMap<>(body);
+        streamBody.put("stream", true);
+
+        int estimatedTokens = rateGovernor.estimateTokens(body);
+        return resilience.stream(CIRCUIT_CHAT, () -> rateGovernor
+                .acquire(OpenAiRateGovernor.Lane.INTERACTIVE, estimatedTokens)
+                .thenMany(resilience.guard(CIRCUIT_CHAT, Flux.defer(() -> openAiWebClient.post()
+                        .uri("/chat/completions")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .bodyValue(streamBody)
+                        .retrieve()
+                        .onStatus(
+                                status -> status.isError(),
+                                this::toError)
+                        .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                        })
+                        .map(event -> event.data() == null ? "" : event.data().trim())
+                        .takeWhile(data -> !STREAM_DONE.equals(data))
+                        .<String>handle((data, sink) -> {
+                            if (data.isEmpty()) {
+                                return;
+                            }
+                            try {
+                                JsonNode content = objectMapper.readTree(data).path("choices").path(0).path("delta")
+                                        .path("content");
+                                if (content.isTextual() && !content.asText().isEmpty()) {
+                                    sink.next(content.asText());
+                                }
+                            } catch (Exception e) {
+                                sink.error(new RuntimeException("OpenAI 스트림 응답 파싱 실패", e));
+                            }
+                        })))));
+    }
+
+    private Mono<String> withTimeout(Mono<String> call, Duration timeout) {
+        return timeout == null ? call : call.timeout(timeout);
+    }
+
+    // 429는 조절기에 알려 Retry-After 동안 다른 호출도 멈추게 한다
+    private Mono<? extends Throwable> toError(ClientResponse response) {
+        int status = response.statusCode().value();
+        Duration retryAfter = LlmResilience.parseRetryAfter(
+                response.headers().asHttpHeaders().getFirst("Retry-After"));
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            rateGovernor.onThrottled(retryAfter == null ? Duration.ofSeconds(1) : retryAfter);
+        }
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(errorBody -> {
+                    log.error("OpenAI API Error: Status={}, Body={}", response.statusCode(), errorBody);
+                    return Mono.error(new OpenAiApiException(status, retryAfter));
+                });
+    }
 }
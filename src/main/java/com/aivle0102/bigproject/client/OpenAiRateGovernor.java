@@ -0,0 +1,306 @@
+package com.aivle0102.bigproject.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// OpenAI 호출 전 분당 요청 수/토큰 수 예산을 토큰 버킷으로 지키는 클라이언트 측 조절기.
+// 대기열은 우선순위별로 나뉘며(INTERACTIVE 먼저), 가득 차면 실패 대신 자리가 날 때까지 호출을 늦춘다.
+@Component
+@RequiredArgsConstructor
+public class OpenAiRateGovernor {
+
+    public enum Lane {
+        // 사용자가 화면에서 기다리는 호출 (타깃 추천, 재료 추출 등)
+        INTERACTIVE,
+        // 작업/일괄 처리 호출 (페르소나 생성/평가, 최종 평가 생성 등)
+        BACKGROUND
+    }
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(OpenAiRateGovernor.class);
+    private static final long QUEUE_FULL_RETRY_MS = 200;
+    private static final long MIN_DRAIN_DELAY_MS = 10;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.rate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${openai.rate.requests-per-minute:500}")
+    private int requestsPerMinute;
+
+    @Value("${openai.rate.tokens-per-minute:200000}")
+    private int tokensPerMinute;
+
+    @Value("${openai.rate.interactive-queue-capacity:100}")
+    private int interactiveQueueCapacity;
+
+    @Value("${openai.rate.background-queue-capacity:200}")
+    private int backgroundQueueCapacity;
+
+    // 대기열 자리 기다림 + 예산 기다림을 합친 최대 시간
+    @Value("${openai.rate.max-wait-seconds:300}")
+    private long maxWaitSeconds;
+
+    // 이 시간 이상 기다린 BACKGROUND 호출은 INTERACTIVE보다 먼저 보낸다 (기아 방지)
+    @Value("${openai.rate.background-boost-seconds:30}")
+    private long backgroundBoostSeconds;
+
+    // max_tokens가 없는 요청의 응답 토큰 추정치
+    @Value("${openai.rate.default-completion-tokens:1000}")
+    private int defaultCompletionTokens;
+
+    private final Deque<Waiter> interactive = new ArrayDeque<>();
+    private final Deque<Waiter> background = new ArrayDeque<>();
+    private double availableRequests;
+    private double availableTokens;
+    private long refilledAt;
+    private long pausedUntil;
+    private boolean drainScheduled;
+
+    @PostConstruct
+    public void init() {
+        requestsPerMinute = Math.max(1, requestsPerMinute);
+        tokensPerMinute = Math.max(1, tokensPerMinute);
+        availableRequests = requestsPerMinute;
+        availableTokens = tokensPerMinute;
+        refilledAt = System.nanoTime();
+        pausedUntil = refilledAt;
+        for (Lane lane : Lane.values()) {
+            Gauge.builder("openai.rate.queue.depth", this, governor -> governor.queueDepth(lane))
+                    .description("OpenAI calls waiting for rate budget")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    // 예산이 확보되면 완료되는 Mono. 구독을 취소하면 대기열에서 빠진다.
+    public Mono<Void> acquire(Lane lane, int estimatedTokens) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        // 한 번에 채울 수 없는 큰 요청은 버킷 전체를 쓰는 것으로 본다
+        int cost = Math.min(Math.max(1, estimatedTokens), tokensPerMinute);
+        return Mono.<Void>create(sink -> enqueue(new Waiter(lane, cost, sink, System.nanoTime())))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(QUEUE_FULL_RETRY_MS))
+                        .filter(QueueFullException.class::isInstance))
+                .timeout(Duration.ofSeconds(Math.max(1, maxWaitSeconds)),
+                        Mono.error(() -> new IllegalStateException("OpenAI 호출 대기 시간이 초과되었습니다.")));
+    }
+
+    // 429 응답을 받으면 Retry-After 동안 모든 호출을 멈춘다
+    public void onThrottled(Duration retryAfter) {
+        Counter.builder("openai.rate.throttled")
+                .description("OpenAI 429 responses received")
+                .register(meterRegistry)
+                .increment();
+        long until = System.nanoTime() + Math.max(1, retryAfter.toMillis()) * 1_000_000L;
+        synchronized (this) {
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        }
+        log.warn("OpenAI 요청 한도 초과(429): {}ms 동안 호출 중지", retryAfter.toMillis());
+        drain();
+    }
+
+    // 입력 토큰 추정: 영문 4자당 1토큰, 한글 등 비ASCII 1자당 1토큰으로 보수적으로 계산하고 응답 토큰을 더한다
+    public int estimateTokens(Map<String, Object> body) {
+        long tokens = 0;
+        if (body.get("messages") instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Map<?, ?> map && map.get("content") != null) {
+                    tokens += estimateTextTokens(map.get("content").toString()) + 4;
+                }
+            }
+        }
+        Object maxTokens = body.get("max_tokens");
+        tokens += maxTokens instanceof Number number ? number.longValue() : defaultCompletionTokens;
+        return (int) Math.min(Integer.MAX_VALUE, tokens);
+    }
+
+    private long estimateTextTokens(String text) {
+        long ascii = 0;
+        long other = 0;
+        for (int i = 0; i < text.length(); i += 1) {
+            if (text.charAt(i) < 128) {
+                ascii += 1;
+            } else {
+                other += 1;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+
+    private void enqueue(Waiter waiter) {
+        waiter.sink().onCancel(() -> {
+            waiter.cancel();
+            synchronized (this) {
+                queue(waiter.lane()).remove(waiter);
+            }
+        });
+        boolean accepted;
+        synchronized (this) {
+            Deque<Waiter> queue = queue(waiter.lane());
+            accepted = queue.size() < capacity(waiter.lane());
+            if (accepted) {
+                queue.add(waiter);
+            }
+        }
+        if (!accepted) {
+            Counter.builder("openai.rate.queue.full")
+                    .description("OpenAI calls delayed because the lane queue was full")
+                    .tag("lane", waiter.lane().name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+            waiter.sink().error(new QueueFullException());
+            return;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+            long delayMs = 0;
+            Waiter next;
+            while ((next = peekNext(now)) != null) {
+                if (next.isCancelled()) {
+                    queue(next.lane()).remove(next);
+                    continue;
+                }
+                if (pausedUntil - now > 0) {
+                    delayMs = TimeUnit.NANOSECONDS.toMillis(pausedUntil - now);
+                    break;
+                }
+                if (availableRequests < 1 || availableTokens < next.cost()) {
+                    delayMs = refillDelayMs(next.cost());
+                    break;
+                }
+                availableRequests -= 1;
+                availableTokens -= next.cost();
+                queue(next.lane()).remove(next);
+                granted.add(next);
+            }
+            if (next != null && !drainScheduled) {
+                drainScheduled = true;
+                Schedulers.parallel().schedule(() -> {
+                    synchronized (this) {
+                        drainScheduled = false;
+                    }
+                    drain();
+                }, Math.max(MIN_DRAIN_DELAY_MS, delayMs), TimeUnit.MILLISECONDS);
+            }
+        }
+        for (Waiter waiter : granted) {
+            Timer.builder("openai.rate.wait")
+                    .description("Time OpenAI calls waited for rate budget")
+                    .tag("lane", waiter.lane().name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - waiter.enqueuedAt(), TimeUnit.NANOSECONDS);
+            waiter.sink().success();
+        }
+    }
+
+    private Waiter peekNext(long now) {
+        Waiter waitingBackground = background.peek();
+        if (waitingBackground != null
+                && now - waitingBackground.enqueuedAt() >= TimeUnit.SECONDS.toNanos(Math.max(1, backgroundBoostSeconds))) {
+            return waitingBackground;
+        }
+        Waiter waitingInteractive = interactive.peek();
+        return waitingInteractive != null ? waitingInteractive : waitingBackground;
+    }
+
+    private void refill(long now) {
+        double elapsedMinutes = (now - refilledAt) / 60_000_000_000.0;
+        refilledAt = now;
+        availableRequests = Math.min(requestsPerMinute, availableRequests + elapsedMinutes * requestsPerMinute);
+        availableTokens = Math.min(tokensPerMinute, availableTokens + elapsedMinutes * tokensPerMinute);
+    }
+
+    private long refillDelayMs(int cost) {
+        double requestDeficit = Math.max(0, 1 - availableRequests);
+        double tokenDeficit = Math.max(0, cost - availableTokens);
+        double minutes = Math.max(requestDeficit / requestsPerMinute, tokenDeficit / tokensPerMinute);
+        return (long) Math.ceil(minutes * 60_000);
+    }
+
+    private Deque<Waiter> queue(Lane lane) {
+        return lane == Lane.INTERACTIVE ? interactive : background;
+    }
+
+    private int capacity(Lane lane) {
+        return Math.max(1, lane == Lane.INTERACTIVE ? interactiveQueueCapacity : backgroundQueueCapacity);
+    }
+
+    private synchronized int queueDepth(Lane lane) {
+        return queue(lane).size();
+    }
+
+    private static final class Waiter {
+
+        private final Lane lane;
+        private final int cost;
+        private final MonoSink<Void> sink;
+        private final long enqueuedAt;
+        private volatile boolean cancelled;
+
+        Waiter(Lane lane, int cost, MonoSink<Void> sink, long enqueuedAt) {
+            this.lane = lane;
+            this.cost = cost;
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        Lane lane() {
+            return lane;
+        }
+
+        int cost() {
+            return cost;
+        }
+
+        MonoSink<Void> sink() {
+            return sink;
+        }
+
+        long enqueuedAt() {
+            return enqueuedAt;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class QueueFullException extends RuntimeException {
+
+        QueueFullException() {
+            super("OpenAI 호출 대기열이 가득 찼습니다.", null, false, false);
+        }
+    }
+}
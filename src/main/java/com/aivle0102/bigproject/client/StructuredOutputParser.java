@@ -0,0 +1,161 @@
+package com.aivle0102.bigproject.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LLM 구조화 출력(JSON) 파서. 코드펜스/앞뒤 설명을 건너뛰고 Jackson 스트리밍 파서로 토큰을 읽어 바로 대상 타입으로 바인딩한다.
+// 응답이 잘리거나 중간에 깨지면 거기까지 읽은 토큰을 살려 열린 괄호를 닫는 복구를 한 번만 시도한다.
+// 지표: llm.structured.parse (purpose, result = ok / repaired / failed)
+@Component
+public class StructuredOutputParser {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(StructuredOutputParser.class);
+    // 이보다 깊게 열린 채 끊긴 응답은 복구하지 않는다
+    private static final int MAX_REPAIR_DEPTH = 16;
+
+    private final ObjectMapper mapper;
+    private final MeterRegistry meterRegistry;
+
+    // 애플리케이션 ObjectMapper(모듈/날짜 설정)를 복사해 쓴다.
+    // 대상 타입에 없는 필드는 무시 (스키마 밖 필드 때문에 호출 결과를 버리지 않도록)
+    public StructuredOutputParser(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.mapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record Parsed<T>(T value, boolean repaired) {
+    }
+
+    // 요청 본문에 response_format을 붙인다. schema가 있으면 strict json_schema, 없으면 json_object 모드.
+    // name은 영문/숫자/-/_만 쓴다 (OpenAI 제약).
+    public static Map<String, Object> withResponseFormat(Map<String, Object> body, String name, Map<String, Object> schema) {
+        Map<String, Object> request = new LinkedHashMap<>(body);
+        if (schema == null) {
+            request.put("response_format", Map.of("type", "json_object"));
+        } else {
+            request.put("response_format", Map.of(
+                    "type", "json_schema",
+                    "json_schema", Map.of(
+                            "name", name,
+                            "strict", true,
+                            "schema", schema)));
+        }
+        return request;
+    }
+
+    public <T> T parse(String purpose, String content, Class<T> type) {
+        return parseDetailed(purpose, content, mapper.getTypeFactory().constructType(type)).value();
+    }
+
+    public <T> T parse(String purpose, String content, TypeReference<T> type) {
+        return this.<T>parseDetailed(purpose, content, mapper.getTypeFactory().constructType(type)).value();
+    }
+
+    public <T> Parsed<T> parseDetailed(String purpose, String content, Class<T> type) {
+        return parseDetailed(purpose, content, mapper.getTypeFactory().constructType(type));
+    }
+
+    public <T> Parsed<T> parseDetailed(String purpose, String content, TypeReference<T> type) {
+        return parseDetailed(purpose, content, mapper.getTypeFactory().constructType(type));
+    }
+
+    // 해석하지 못하면 IllegalStateException
+    public <T> Parsed<T> parseDetailed(String purpose, String content, JavaType type) {
+        int start = jsonStart(content);
+        if (start < 0) {
+            count(purpose, "failed");
+            throw new IllegalStateException("AI 응답에 JSON이 없습니다: " + purpose);
+        }
+        try (JsonParser parser = mapper.getFactory().createParser(content.substring(start));
+             TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+            boolean repaired = !copyRoot(parser, buffer);
+            T value = mapper.readValue(buffer.asParser(), type);
+            if (value == null) {
+                throw new IllegalStateException("AI 응답 JSON이 비어 있습니다: " + purpose);
+            }
+            if (repaired) {
+                log.debug("잘린 AI 응답 JSON 복구 ({})", purpose);
+            }
+            count(purpose, repaired ? "repaired" : "ok");
+            return new Parsed<>(value, repaired);
+        } catch (IOException | RuntimeException e) {
+            count(purpose, "failed");
+            log.warn("AI 응답 JSON 해석 실패 ({}): {}", purpose, e.getMessage());
+            throw new IllegalStateException("AI 응답을 JSON으로 해석하지 못했습니다: " + purpose, e);
+        }
+    }
+
+    // 최상위 객체/배열 하나를 버퍼로 옮긴다. 끝까지 읽었으면 true, 잘린 부분을 복구했으면 false.
+    // 루트가 닫힌 뒤의 내용(코드펜스, 설명 문장)은 읽지 않는다.
+    private boolean copyRoot(JsonParser parser, TokenBuffer out) throws IOException {
+        Deque<JsonToken> open = new ArrayDeque<>();
+        JsonToken last = null;
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                out.copyCurrentEvent(parser);
+                last = token;
+                if (token.isStructStart()) {
+                    open.push(token);
+                } else if (token.isStructEnd()) {
+                    open.pop();
+                }
+                if (open.isEmpty()) {
+                    return true;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            if (open.isEmpty() || open.size() > MAX_REPAIR_DEPTH) {
+                throw e;
+            }
+        }
+        // 값이 없는 마지막 키는 null로 채우고, 열린 배열/객체를 안쪽부터 닫는다
+        if (last == JsonToken.FIELD_NAME) {
+            out.writeNull();
+        }
+        while (!open.isEmpty()) {
+            if (open.pop() == JsonToken.START_OBJECT) {
+                out.writeEndObject();
+            } else {
+                out.writeEndArray();
+            }
+        }
+        return false;
+    }
+
+    private int jsonStart(String content) {
+        if (content == null) {
+            return -1;
+        }
+        int object = content.indexOf('{');
+        int array = content.indexOf('[');
+        if (object < 0) {
+            return array;
+        }
+        return array < 0 ? object : Math.min(object, array);
+    }
+
+    private void count(String purpose, String result) {
+        Counter.builder("llm.structured.parse")
+                .description("Structured LLM output parse attempts by outcome")
+                .tag("purpose", purpose)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
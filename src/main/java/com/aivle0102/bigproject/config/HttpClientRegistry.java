@@ -0,0 +1,189 @@
+package com.aivle0102.bigproject.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// 외부 HTTP 호출용 이름별 클라이언트 모음 (haccp, openai, openai-image, serpapi, analysis-engine, gradio, image-download).
+// 이름마다 커넥션 풀과 타임아웃을 따로 두고 http.clients.<이름>.* 속성으로 조정한다.
+// 지표: http.client.outbound(응답 헤더까지 걸린 시간), http.client.pool.*(호스트별 풀 사용량/대기 수).
+@Component
+@RequiredArgsConstructor
+public class HttpClientRegistry {
+
+    private static final String PREFIX = "http.clients.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    // baseUrl, 기본 헤더, 코덱 설정 등은 호출하는 쪽에서 이어서 붙인다
+    public WebClient.Builder webClientBuilder(String name) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(name)))
+                .filter(timing(name));
+    }
+
+    public RestTemplate restTemplate(String name) {
+        ReactorClientHttpRequestFactory requestFactory = new ReactorClientHttpRequestFactory(httpClient(name));
+        requestFactory.setReadTimeout(Duration.ofSeconds(readTimeoutSeconds(name)));
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            long startedAt = System.nanoTime();
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                record(name, request.getMethod(), String.valueOf(response.getStatusCode().value()), startedAt);
+                return response;
+            } catch (IOException e) {
+                record(name, request.getMethod(), "IO_ERROR", startedAt);
+                throw e;
+            }
+        });
+        return restTemplate;
+    }
+
+    public HttpClient httpClient(String name) {
+        return clients.computeIfAbsent(name, this::createHttpClient);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private HttpClient createHttpClient(String name) {
+        ConnectionProvider provider = providers.computeIfAbsent(name, this::createProvider);
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.max(1, intProperty(name, "connect-timeout-ms", 5000)))
+                .responseTimeout(Duration.ofSeconds(readTimeoutSeconds(name)));
+        long writeTimeoutSeconds = longProperty(name, "write-timeout-seconds", 0);
+        if (writeTimeoutSeconds > 0) {
+            httpClient = httpClient.doOnConnected(conn ->
+                    conn.addHandlerLast(new WriteTimeoutHandler(writeTimeoutSeconds, TimeUnit.SECONDS)));
+        }
+        if (booleanProperty(name, "follow-redirects", false)) {
+            httpClient = httpClient.followRedirect(true);
+        }
+        return httpClient;
+    }
+
+    // Reactor Netty 풀은 원격 호스트(route)별로 나뉘므로 max-connections는 호스트당 최대 연결 수다.
+    // 대기열이 가득 차거나 획득 대기 시간을 넘기면 바로 실패시킨다.
+    private ConnectionProvider createProvider(String name) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(Math.max(1, intProperty(name, "max-connections", 20)))
+                .pendingAcquireMaxCount(Math.max(1, intProperty(name, "pending-acquire-max-count", 100)))
+                .pendingAcquireTimeout(Duration.ofSeconds(Math.max(1, longProperty(name, "pending-acquire-timeout-seconds", 30))))
+                .maxIdleTime(Duration.ofSeconds(Math.max(1, longProperty(name, "max-idle-seconds", 30))))
+                .maxLifeTime(Duration.ofSeconds(Math.max(1, longProperty(name, "max-life-seconds", 300))))
+                .evictInBackground(Duration.ofSeconds(Math.max(1, longProperty(name, "evict-interval-seconds", 30))))
+                .metrics(true, () -> new PoolMeters(name))
+                .build();
+    }
+
+    private ExchangeFilterFunction timing(String name) {
+        return (request, next) -> {
+            long startedAt = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(name, request.method(),
+                            response == null ? "NONE" : String.valueOf(response.statusCode().value()), startedAt))
+                    .doOnError(error -> record(name, request.method(), "IO_ERROR", startedAt));
+        };
+    }
+
+    private void record(String name, HttpMethod method, String status, long startedAt) {
+        Timer.builder("http.client.outbound")
+                .description("Outbound HTTP call latency until response headers, by named client")
+                .tag("client", name)
+                .tag("method", method.name())
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private long readTimeoutSeconds(String name) {
+        return Math.max(1, longProperty(name, "read-timeout-seconds", 30));
+    }
+
+    private int intProperty(String name, String key, int defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, Integer.class, defaultValue);
+    }
+
+    private long longProperty(String name, String key, long defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, Long.class, defaultValue);
+    }
+
+    private boolean booleanProperty(String name, String key, boolean defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, Boolean.class, defaultValue);
+    }
+
+    // 풀(호스트)별 사용 중/유휴/대기 연결 수를 애플리케이션 MeterRegistry에 직접 올린다 (max 대비 active/pending으로 포화 판단)
+    private final class PoolMeters implements ConnectionProvider.MeterRegistrar {
+
+        private final String client;
+
+        PoolMeters(String client) {
+            this.client = client;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            Tags tags = tags(id, remoteAddress);
+            gauge("http.client.pool.active", "Connections in use", tags, metrics, ConnectionPoolMetrics::acquiredSize);
+            gauge("http.client.pool.idle", "Idle pooled connections", tags, metrics, ConnectionPoolMetrics::idleSize);
+            gauge("http.client.pool.pending", "Requests waiting for a pooled connection", tags, metrics,
+                    ConnectionPoolMetrics::pendingAcquireSize);
+            gauge("http.client.pool.max", "Maximum connections per route", tags, metrics,
+                    ConnectionPoolMetrics::maxAllocatedSize);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            Tags tags = tags(id, remoteAddress);
+            for (String meter : new String[] {"http.client.pool.active", "http.client.pool.idle",
+                    "http.client.pool.pending", "http.client.pool.max"}) {
+                meterRegistry.find(meter).tags(tags).meters().forEach(meterRegistry::remove);
+            }
+        }
+
+        private Tags tags(String id, SocketAddress remoteAddress) {
+            return Tags.of("client", client, "remote", String.valueOf(remoteAddress), "id", id);
+        }
+
+        private void gauge(String meter, String description, Tags tags, ConnectionPoolMetrics metrics,
+                ToDoubleFunction<ConnectionPoolMetrics> value) {
+            Gauge.builder(meter, metrics, value)
+                    .description(description)
+                    .tags(tags)
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+}
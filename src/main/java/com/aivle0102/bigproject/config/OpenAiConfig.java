@@ -4,23 +4,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
 
-import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 
 @Configuration
 public class OpenAiConfig {
 
+    // 텍스트 호출 전용 커넥션 풀(http.clients.openai.*). 응답 타임아웃은 읽기 사이 간격 기준이라 스트리밍 응답에도 그대로 적용된다
     @Bean
     public WebClient openAiWebClient(
             @Value("${openai.base-url}") String baseUrl,
-            @Value("${openai.api-key}") String apiKey
+            @Value("${openai.api-key}") String apiKey,
+            HttpClientRegistry httpClientRegistry
     ) {
-        return WebClient.builder()
+        return httpClientRegistry.webClientBuilder("openai")
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -30,7 +29,8 @@ public class OpenAiConfig {
     @Bean
     public WebClient openAiImageWebClient(
             @Value("${openai.base-url}") String baseUrl,
-            @Value("${openai.api-key}") String apiKey
+            @Value("${openai.api-key}") String apiKey,
+            HttpClientRegistry httpClientRegistry
     ) {
         int maxInMemory = 30 * 1024 * 1024;
 
@@ -38,16 +38,8 @@ public class OpenAiConfig {
                 .codecs(c -> c.defaultCodecs().maxInMemorySize(maxInMemory))
                 .build();
 
-        HttpClient httpClient = HttpClient.create()
-                .responseTimeout(Duration.ofSeconds(180))
-                .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS, 15_000)
-                .doOnConnected(conn -> conn
-                        .addHandlerLast(new io.netty.handler.timeout.ReadTimeoutHandler(180))
-                        .addHandlerLast(new io.netty.handler.timeout.WriteTimeoutHandler(180)));
-
-        return WebClient.builder()
+        return httpClientRegistry.webClientBuilder("openai-image")
                 .baseUrl(baseUrl)
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(strategies)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .build();
@@ -0,0 +1,36 @@
+package com.aivle0102.bigproject.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+// 목록 API 페이지 크기 설정
+@Component
+public class PaginationConfig {
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxSize;
+
+    @Value("${app.pagination.stream-chunk-size:25}")
+    private int streamChunkSize;
+
+    // size가 없으면 기본 크기, 최대 크기를 넘지 않도록 제한 (전체 목록 조회 없음)
+    public int resolveSize(Integer requested) {
+        int size = requested == null || requested <= 0 ? defaultSize : requested;
+        return Math.max(1, Math.min(size, maxSize));
+    }
+
+    // 응답 스트리밍 시 한 번에 변환(썸네일 조회 등)할 항목 수
+    public int streamChunkSize() {
+        return Math.max(1, streamChunkSize);
+    }
+
+    // 키셋 조건으로 위치를 잡으므로 항상 첫 페이지. Slice 조회가 한 건 더 읽어 다음 페이지 여부를 판단한다.
+    public Pageable firstPage(int size) {
+        return PageRequest.of(0, size);
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.aivle0102.bigproject.dto.CursorPage;
 import com.aivle0102.bigproject.security.CsrfCookieFilter;
 import com.aivle0102.bigproject.security.JwtAuthenticationFilter;
 import com.aivle0102.bigproject.security.oauth.CustomOAuth2UserService;
@@ -71,6 +72,9 @@ public class SecurityConfig {
                                                 .requestMatchers("/ws/**").permitAll()
                                                 .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
                                                 .requestMatchers("/error").permitAll()
+                                                // 지표/회로 차단기 상태는 로그인 사용자만, 헬스 체크는 공개
+                                                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                                                .requestMatchers("/actuator/**").authenticated()
                                                 .anyRequest().permitAll())
                                 .oauth2Login(oauth2 -> oauth2
                                                 .authorizationEndpoint(auth -> auth
@@ -101,6 +105,9 @@ public class SecurityConfig {
                                                 .requestMatchers("/api/auth/**").permitAll()
                                                 .requestMatchers("/ws/**").permitAll()
                                                 .requestMatchers("/error").permitAll()
+                                                // 지표/회로 차단기 상태는 로그인 사용자만, 헬스 체크는 공개
+                                                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                                                .requestMatchers("/actuator/**").authenticated()
                                                 .anyRequest().permitAll());
 
                 return http.build();
@@ -112,6 +119,7 @@ public class SecurityConfig {
                 configuration.setAllowedOrigins(allowedOrigins);
                 configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
                 configuration.setAllowedHeaders(List.of("*"));
+                configuration.setExposedHeaders(List.of(CursorPage.NEXT_CURSOR_HEADER, "ETag"));
                 configuration.setAllowCredentials(true);
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -8,8 +8,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class SerpApiConfig {
     @Bean
-    public WebClient serpApiWebClient(@Value("${serpapi.base-url}") String baseUrl) {
-        return WebClient.builder()
+    public WebClient serpApiWebClient(@Value("${serpapi.base-url}") String baseUrl,
+            HttpClientRegistry httpClientRegistry) {
+        return httpClientRegistry.webClientBuilder("serpapi")
                 .baseUrl(baseUrl)
                 .build();
     }
@@ -2,6 +2,7 @@ package com.aivle0102.bigproject.controller;
 
 // 파일 설명: Gradio 서버(/ai/recipe/**)로 요청을 프록시하는 컨트롤러
 
+import com.aivle0102.bigproject.config.HttpClientRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
@@ -24,9 +25,9 @@ public class AiRecipeProxyController {
     private final WebClient webClient;
     private final String gradioBaseUrl;
 
-    public AiRecipeProxyController(WebClient.Builder webClientBuilder,
+    public AiRecipeProxyController(HttpClientRegistry httpClientRegistry,
             @Value("${ai.gradio.base-url}") String gradioBaseUrl) {
-        this.webClient = webClientBuilder.build();
+        this.webClient = httpClientRegistry.webClientBuilder("gradio").build();
         this.gradioBaseUrl = gradioBaseUrl;
     }
 
@@ -2,21 +2,136 @@ package com.aivle0102.bigproject.controller;
 
 import com.aivle0102.bigproject.dto.ImageGenerateRequest;
 import com.aivle0102.bigproject.dto.ImageGenerateResponse;
+import com.aivle0102.bigproject.repository.ImageBlobRepository;
+import com.aivle0102.bigproject.service.ImageStoreService;
 import com.aivle0102.bigproject.service.InfluencerImageGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/images")
 public class ImageController {
     private final InfluencerImageGenerationService influencerImageGenerationService;
+    private final ImageStoreService imageStoreService;
+
+    // 내용 주소(해시) 기반이므로 한 번 받은 이미지는 변경되지 않음
+    private static final CacheControl IMAGE_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+    private static final int STREAM_CHUNK_BYTES = 256 * 1024;
 
     @PostMapping("/generate")
     public ImageGenerateResponse generate(@RequestBody ImageGenerateRequest req) {
         return influencerImageGenerationService.generate(req);
     }
+
+    // 이미지 본문은 구간 단위로 읽어 그대로 흘려보낸다 (단일 Range 요청은 206으로 해당 구간만)
+    @GetMapping("/{hash:[0-9a-f]+}")
+    public ResponseEntity<StreamingResponseBody> get(
+            @PathVariable("hash") String hash,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader) {
+        if (hash.length() != 64) {
+            return ResponseEntity.notFound().build();
+        }
+        if (matchesEtag(ifNoneMatch, hash) && imageStoreService.exists(hash)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(hash)
+                    .cacheControl(IMAGE_CACHE)
+                    .build();
+        }
+        ImageBlobRepository.ImageMetaView meta = imageStoreService.findMeta(hash).orElse(null);
+        if (meta == null) {
+            return ResponseEntity.notFound().build();
+        }
+        long size = meta.getSizeBytes();
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        HttpRange range = parseSingleRange(rangeHeader);
+        if (range != null && size > 0) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+                status = HttpStatus.PARTIAL_CONTENT;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .eTag(meta.getHash())
+                .cacheControl(IMAGE_CACHE)
+                .contentType(parseMediaType(meta.getContentType()))
+                .contentLength(end - start + 1)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long from = start;
+        long to = end;
+        return builder.body(out -> {
+            long offset = from;
+            while (offset <= to) {
+                int length = (int) Math.min(STREAM_CHUNK_BYTES, to - offset + 1);
+                byte[] chunk = imageStoreService.readChunk(hash, offset, length);
+                if (chunk.length == 0) {
+                    break;
+                }
+                out.write(chunk);
+                offset += chunk.length;
+            }
+        });
+    }
+
+    // 여러 구간을 요청하면 전체를 내려준다
+    private HttpRange parseSingleRange(String rangeHeader) {
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String hash) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .map(tag -> tag.replace("\"", ""))
+                .anyMatch(tag -> tag.equals("*") || tag.equals(hash));
+    }
+
+    private MediaType parseMediaType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (Exception e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
 }
@@ -6,11 +6,13 @@ import com.aivle0102.bigproject.dto.NoticeRequest;
 import com.aivle0102.bigproject.dto.NoticeResponse;
 import com.aivle0102.bigproject.exception.CustomException;
 import com.aivle0102.bigproject.service.NoticeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.List;
@@ -21,11 +23,16 @@ import java.util.List;
 public class NoticeController {
 
     private final NoticeService noticeService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<NoticeResponse>> getNotices(Principal principal) {
+    public ResponseEntity<StreamingResponseBody> getNotices(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            Principal principal
+    ) {
         String userId = principal == null ? null : principal.getName();
-        return ResponseEntity.ok(noticeService.getNotices(userId));
+        return noticeService.getNotices(userId, cursor, size).toResponse(objectMapper);
     }
 
     @GetMapping("/{noticeId}")
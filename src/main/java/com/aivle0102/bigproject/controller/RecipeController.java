@@ -1,28 +1,34 @@
 package com.aivle0102.bigproject.controller;
 
 import com.aivle0102.bigproject.dto.RecipeCreateRequest;
+import com.aivle0102.bigproject.dto.RecipeJobResponse;
 import com.aivle0102.bigproject.dto.RecipePublishRequest;
-import com.aivle0102.bigproject.dto.RecipeListResponse;
 import com.aivle0102.bigproject.dto.RecipeResponse;
 import com.aivle0102.bigproject.dto.RecipeTargetRecommendRequest;
 import com.aivle0102.bigproject.dto.RecipeTargetRecommendResponse;
 import com.aivle0102.bigproject.dto.VisibilityUpdateRequest;
 import com.aivle0102.bigproject.service.RecipeService;
 import com.aivle0102.bigproject.service.RecipeTargetRecommendationService;
+import com.aivle0102.bigproject.service.ReportJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.security.Principal;
-import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,34 +37,68 @@ public class RecipeController {
 
     private final RecipeService recipeService;
     private final RecipeTargetRecommendationService recipeTargetRecommendationService;
+    private final ReportJobService reportJobService;
+    private final ObjectMapper objectMapper;
 
+    // 보고서/평가까지 끝난 뒤 응답하는 동기 등록. 새 화면은 POST /api/recipes/jobs를 쓴다.
+    @Deprecated
     @PostMapping
-    public ResponseEntity<RecipeResponse> create(@RequestBody RecipeCreateRequest request, Principal principal) {
+    public ResponseEntity<RecipeResponse> create(
+            @RequestBody RecipeCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        RecipeResponse response = recipeService.create(principal.getName(), request);
+        RecipeResponse response = recipeService.create(principal.getName(), request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
+    // 비동기 등록: 레시피를 저장하고 보고서 작업을 등록한 뒤 바로 반환. 진행률은 /api/reports/progress/{jobId}
+    @PostMapping("/jobs")
+    public ResponseEntity<RecipeJobResponse> createJob(
+            @RequestBody RecipeCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        RecipeJobResponse response = reportJobService.submitRecipe(principal.getName(), request, idempotencyKey);
+        if (response.getJob() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/report-jobs/" + response.getJob().getJobId()))
+                .body(response);
+    }
+
     @GetMapping
-    public ResponseEntity<List<RecipeListResponse>> getAll(Principal principal) {
+    public ResponseEntity<StreamingResponseBody> getAll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            Principal principal) {
         String requester = principal == null ? null : principal.getName();
-        return ResponseEntity.ok(recipeService.getAllForList(requester));
+        return recipeService.getAllForList(requester, cursor, size).toResponse(objectMapper);
     }
 
     @GetMapping("/me")
-    public ResponseEntity<List<RecipeListResponse>> getMine(Principal principal) {
+    public ResponseEntity<StreamingResponseBody> getMine(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            Principal principal) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(recipeService.getByAuthorForList(principal.getName()));
+        return recipeService.getByAuthorForList(principal.getName(), cursor, size).toResponse(objectMapper);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RecipeResponse> getOne(@PathVariable("id") Long id, Principal principal) {
+    public ResponseEntity<RecipeResponse> getOne(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Principal principal) {
         String requester = principal == null ? null : principal.getName();
-        return ResponseEntity.ok(recipeService.getOne(id, requester));
+        return recipeService.getOne(id, requester, ifNoneMatch).toResponse();
     }
 
     @PutMapping("/{id}/publish")
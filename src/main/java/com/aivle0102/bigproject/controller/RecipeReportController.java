@@ -2,11 +2,14 @@ package com.aivle0102.bigproject.controller;
 
 import com.aivle0102.bigproject.dto.ReportCreateRequest;
 import com.aivle0102.bigproject.dto.ReportDetailResponse;
+import com.aivle0102.bigproject.dto.ReportJobResponse;
 import com.aivle0102.bigproject.dto.ReportListItem;
 import com.aivle0102.bigproject.dto.RecipePublishRequest;
 import com.aivle0102.bigproject.dto.VisibilityUpdateRequest;
 import com.aivle0102.bigproject.service.RecipeService;
+import com.aivle0102.bigproject.service.ReportJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +17,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
+import java.net.URI;
 import java.security.Principal;
 import java.util.List;
 
@@ -24,7 +29,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RecipeReportController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final RecipeService recipeService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/api/recipes/{id}/reports")
     public ResponseEntity<List<ReportListItem>> getReports(@PathVariable("id") Long id, Principal principal) {
@@ -32,22 +40,53 @@ public class RecipeReportController {
         return ResponseEntity.ok(recipeService.getReports(id, requester));
     }
 
+    // 생성이 끝날 때까지 요청을 잡는 동기 경로. 새 화면은 /api/recipes/{id}/reports/jobs를 쓴다.
+    @Deprecated
     @PostMapping("/api/recipes/{id}/reports")
     public ResponseEntity<ReportDetailResponse> createReport(
             @PathVariable("id") Long id,
             @RequestBody(required = false) ReportCreateRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(recipeService.createReport(id, principal.getName(), request, idempotencyKey));
+    }
+
+    // 비동기 생성: jobId를 바로 반환하고 진행률은 /api/reports/progress/{jobId}, 결과는 /api/report-jobs/{jobId}
+    @PostMapping("/api/recipes/{id}/reports/jobs")
+    public ResponseEntity<ReportJobResponse> submitReportJob(
+            @PathVariable("id") Long id,
+            @RequestBody(required = false) ReportCreateRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             Principal principal
     ) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(recipeService.createReport(id, principal.getName(), request));
+        ReportJobResponse job = reportJobService.submit(id, principal.getName(), request, idempotencyKey);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/report-jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/api/report-jobs/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable("jobId") String jobId, Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(reportJobService.get(jobId, principal.getName()));
     }
 
     @GetMapping("/api/reports/{reportId}")
-    public ResponseEntity<ReportDetailResponse> getReportDetail(@PathVariable("reportId") Long reportId, Principal principal) {
+    public ResponseEntity<ReportDetailResponse> getReportDetail(
+            @PathVariable("reportId") Long reportId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Principal principal) {
         String requester = principal == null ? null : principal.getName();
-        return ResponseEntity.ok(recipeService.getReportDetail(reportId, requester));
+        return recipeService.getReportDetail(reportId, requester, ifNoneMatch).toResponse();
     }
 
     @PutMapping("/api/reports/{reportId}/visibility")
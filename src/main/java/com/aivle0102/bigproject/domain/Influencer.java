@@ -39,9 +39,13 @@ public class Influencer {
     @Column(name = "influencer_info", columnDefinition = "TEXT")
     private String influencerInfo;
 
+    // 이미지 저장소 이관 전 데이터만 사용 (신규 저장은 influencerImageHash)
     @Column(name = "influencer_image", columnDefinition = "TEXT")
     private String influencerImage;
 
+    @Column(name = "influencer_image_hash", length = 64)
+    private String influencerImageHash;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
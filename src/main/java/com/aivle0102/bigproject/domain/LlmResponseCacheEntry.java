@@ -0,0 +1,48 @@
+package com.aivle0102.bigproject.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// LLM 응답 캐시(2단계). 키는 모델/메시지/temperature/response_format 해시이며 만료 시각이 지나면 사용하지 않는다.
+@Entity
+@Table(name = "llm_response_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LlmResponseCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    // 호출 위치 구분 (ingredient-extraction, summary 등)
+    @Column(name = "purpose", nullable = false, length = 50)
+    private String purpose;
+
+    @Column(name = "model", length = 100)
+    private String model;
+
+    @Column(name = "response", nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    // 원래 호출에 걸린 시간. 적중 시 절약한 지연 시간으로 기록한다.
+    @Column(name = "latency_ms", nullable = false)
+    private long latencyMs;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -45,6 +45,10 @@ public class MarketReport {
     @Column(name = "summary", columnDefinition = "TEXT")
     private String summary;
 
+    // 섹션/요약/평가별 입력 해시 JSON. 재생성 시 해시가 같은 부분은 다시 만들지 않는다.
+    @Column(name = "input_fingerprints", columnDefinition = "TEXT")
+    private String inputFingerprints;
+
     @Column(name = "open_yn", nullable = false, length = 1, columnDefinition = "CHAR(1)")
     private String openYn;
 
@@ -37,9 +37,13 @@ public class Recipe {
     @Column(name = "steps", columnDefinition = "TEXT")
     private String steps;
 
+    // 이미지 저장소 이관 전 데이터만 사용 (신규 저장은 imageHash)
     @Column(name = "image_base64", columnDefinition = "TEXT")
     private String imageBase64;
 
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     @Column(name = "status", nullable = false, length = 20)
     private String status;
 
@@ -63,4 +67,9 @@ public class Recipe {
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // 하위 행(재료/보고서/피드백/인플루언서/알레르기) 변경 시 DB에서 올리는 응답 버전 (엔티티 저장으로는 덮어쓰지 않음)
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0")
+    private Long contentVersion;
 }
@@ -0,0 +1,65 @@
+package com.aivle0102.bigproject.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 보고서별 국가 평가 집계 (평가 저장 시점에 1회 계산)
+@Entity
+@Table(name = "report_evaluation_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportEvaluationSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "summary_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "report_id", nullable = false)
+    private MarketReport report;
+
+    @Column(name = "country", nullable = false, length = 50)
+    private String country;
+
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder;
+
+    @Column(name = "total_score", nullable = false)
+    private Integer totalScore;
+
+    @Column(name = "taste_score", nullable = false)
+    private Integer tasteScore;
+
+    @Column(name = "price_score", nullable = false)
+    private Integer priceScore;
+
+    @Column(name = "health_score", nullable = false)
+    private Integer healthScore;
+
+    // 국가별 대표 피드백 (최대 10건, JSON 배열)
+    @Column(name = "feedbacks", columnDefinition = "TEXT")
+    private String feedbacks;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
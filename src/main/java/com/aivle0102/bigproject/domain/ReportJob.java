@@ -0,0 +1,79 @@
+package com.aivle0102.bigproject.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 오래 걸리는 생성 작업 큐. 워커가 SKIP LOCKED로 가져가 임대(lease)를 갱신하며 실행한다.
+@Entity
+@Table(name = "report_job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @Column(name = "job_id", length = 64)
+    private String id;
+
+    @Column(name = "job_type", nullable = false, length = 30)
+    private String jobType;
+
+    @Column(name = "owner_id", nullable = false, length = 50)
+    private String ownerId;
+
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    // 작업 입력 JSON (보고서 생성 요청, 최종 평가 대상 보고서 ID 등)
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    // 같은 입력의 중복 작업 판별용 해시
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_after", nullable = false)
+    private LocalDateTime runAfter;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "result_report_id")
+    private Long resultReportId;
+
+    // 저장 단계가 커밋된 보고서. 이후 단계에서 실패해 재시도하면 보고서를 다시 만들지 않고 이어서 실행한다.
+    @Column(name = "saved_report_id")
+    private Long savedReportId;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,65 @@
+package com.aivle0102.bigproject.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// 키셋 페이지 결과. 본문은 기존과 같은 배열로 내려주고 다음 커서는 헤더로 전달한다.
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // 청크 단위로 지연 변환되는 항목 (응답 작성 시 한 번만 소비)
+    private Stream<T> items;
+    private String next;
+
+    // 페이지 크기만큼만 읽은 Slice: 다음 페이지가 있으면 마지막 항목 기준으로 다음 커서 생성
+    public static <E, T> CursorPage<T> of(Slice<E> slice, int chunkSize, Function<E, String> cursorOf,
+            Function<List<E>, List<T>> mapper) {
+        List<E> page = slice.getContent();
+        String next = slice.hasNext() && !page.isEmpty() ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        List<List<E>> chunks = new ArrayList<>();
+        int step = Math.max(1, chunkSize);
+        for (int i = 0; i < page.size(); i += step) {
+            chunks.add(page.subList(i, Math.min(page.size(), i + step)));
+        }
+        return new CursorPage<>(chunks.stream().flatMap(chunk -> mapper.apply(chunk).stream()), next);
+    }
+
+    // 변환된 항목을 JsonGenerator로 바로 기록해 전체 응답 리스트를 메모리에 올리지 않는다.
+    public ResponseEntity<StreamingResponseBody> toResponse(ObjectMapper objectMapper) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out);
+                    Stream<T> stream = items) {
+                generator.writeStartArray();
+                stream.forEachOrdered(item -> {
+                    try {
+                        objectMapper.writeValue(generator, item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (next != null) {
+            builder.header(NEXT_CURSOR_HEADER, next);
+        }
+        return builder.body(body);
+    }
+}
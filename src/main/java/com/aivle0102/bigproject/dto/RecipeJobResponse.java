@@ -0,0 +1,12 @@
+package com.aivle0102.bigproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 비동기 레시피 등록 결과. 보고서를 고르지 않았으면 job은 null
+@Getter
+@AllArgsConstructor
+public class RecipeJobResponse {
+    private RecipeResponse recipe;
+    private ReportJobResponse job;
+}
@@ -21,7 +21,9 @@ public class RecipeResponse {
     private Map<String, Object> allergen;
     private String summary;
     private List<Map<String, Object>> influencers;
+    // 이관 전 데이터의 base64 원본 (저장소로 옮겨진 이미지는 influencerImageUrl만 채워짐)
     private String influencerImageBase64;
+    private String influencerImageUrl;
     private String status;
     private String openYn;
     @JsonProperty("user_id")
@@ -29,4 +31,9 @@ public class RecipeResponse {
     @JsonProperty("user_name")
     private String userName;
     private LocalDateTime createdAt;
+
+    // 레시피 이미지는 img src에 바로 쓰이므로 imageBase64에 URL(이관 전이면 data URI)을 그대로 내려줌
+    public String getImageUrl() {
+        return imageBase64;
+    }
 }
@@ -25,7 +25,9 @@ public class ReportDetailResponse {
     private String summary;
     private String content;
     private List<Map<String, Object>> influencers;
+    // 이관 전 데이터의 base64 원본 (저장소로 옮겨진 이미지는 influencerImageUrl만 채워짐)
     private String influencerImageBase64;
+    private String influencerImageUrl;
     private String reportType;
     private String reportOpenYn;
     private String recipeOpenYn;
@@ -33,7 +35,13 @@ public class ReportDetailResponse {
     private String recipeUserId;
     private LocalDateTime createdAt;
 
-    public static ReportDetailResponse from(MarketReport report) {
+    // 레시피 이미지는 img src에 바로 쓰이므로 imageBase64에 URL(이관 전이면 data URI)을 그대로 내려줌
+    public String getImageUrl() {
+        return imageBase64;
+    }
+
+    // recipeImage는 서비스 계층에서 이미지 저장소 URL로 풀어서 넘긴다
+    public static ReportDetailResponse from(MarketReport report, String recipeImage) {
         Recipe recipe = report == null ? null : report.getRecipe();
         return new ReportDetailResponse(
                 report == null ? null : report.getId(),
@@ -42,13 +50,14 @@ public class ReportDetailResponse {
                 recipe == null ? null : recipe.getDescription(),
                 null,
                 null,
-                recipe == null ? null : recipe.getImageBase64(),
+                recipeImage,
                 null,
                 null,
                 report == null ? null : report.getSummary(),
                 report == null ? null : report.getContent(),
                 null,
                 null,
+                null,
                 report == null ? null : report.getReportType(),
                 report == null ? null : report.getOpenYn(),
                 recipe == null ? null : recipe.getOpenYn(),
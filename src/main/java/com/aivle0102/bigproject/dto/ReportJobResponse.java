@@ -0,0 +1,22 @@
+package com.aivle0102.bigproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 생성 작업 상태. 완료(SUCCEEDED) 시 result에 생성된 보고서 상세가 채워진다.
+@Getter
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String jobId;
+    private String jobType;
+    private String status;
+    private int attempts;
+    private Long recipeId;
+    private Long reportId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private ReportDetailResponse result;
+}
@@ -0,0 +1,52 @@
+package com.aivle0102.bigproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// 상세 응답 + 버전 태그(ETag). If-None-Match와 같으면 body 없이 304로 응답한다.
+@Getter
+@AllArgsConstructor
+public class VersionedResponse<T> {
+
+    private String etag;
+    private T body;
+
+    public static <T> VersionedResponse<T> notModified(String etag) {
+        return new VersionedResponse<>(etag, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+
+    // 약한 비교: W/ 접두어를 무시하고 목록 중 하나라도 같으면 일치
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String expected = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || stripWeak(value).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public ResponseEntity<T> toResponse() {
+        // 브라우저가 저장은 하되 매번 재검증하도록 no-cache
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+
+    private static String stripWeak(String value) {
+        return value.startsWith("W/") ? value.substring(2) : value;
+    }
+}
@@ -51,6 +51,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(e.getStatus()).body(response);
     }
 
+    @ExceptionHandler(LlmUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleLlmUnavailableException(LlmUnavailableException e) {
+        log.warn("LLM 회로 차단: {}", e.getCircuit());
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("message", e.getMessage());
+        response.put("errorCode", "LLM_UNAVAILABLE");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException e) {
         log.warn("검증 오류: {}", e.getMessage());
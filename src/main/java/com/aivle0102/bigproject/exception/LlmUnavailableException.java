@@ -0,0 +1,15 @@
+package com.aivle0102.bigproject.exception;
+
+import lombok.Getter;
+
+// 회로 차단기가 열려 LLM 호출을 보내지 않고 바로 실패시킨 경우. 작업 큐에서는 재시도 대상이다.
+@Getter
+public class LlmUnavailableException extends RuntimeException {
+
+    private final String circuit;
+
+    public LlmUnavailableException(String circuit) {
+        super("AI 서비스 응답이 불안정해 잠시 호출을 중단했습니다. 잠시 후 다시 시도해주세요.");
+        this.circuit = circuit;
+    }
+}
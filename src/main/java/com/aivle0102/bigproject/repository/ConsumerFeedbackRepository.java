@@ -8,4 +8,5 @@ import java.util.List;
 public interface ConsumerFeedbackRepository extends JpaRepository<ConsumerFeedback, Long> {
     void deleteByReport_Id(Long reportId);
     List<ConsumerFeedback> findByReport_IdOrderByIdAsc(Long reportId);
+    boolean existsByReport_Id(Long reportId);
 }
@@ -0,0 +1,38 @@
+package com.aivle0102.bigproject.repository;
+
+import com.aivle0102.bigproject.domain.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+    @Query("select b.contentType from ImageBlob b where b.hash = :hash")
+    Optional<String> findContentTypeByHash(String hash);
+
+    // 본문(data) 없이 응답 헤더에 필요한 정보만
+    @Query("select b.hash as hash, b.contentType as contentType, b.sizeBytes as sizeBytes"
+            + " from ImageBlob b where b.hash = :hash")
+    Optional<ImageMetaView> findMetaByHash(String hash);
+
+    // 같은 해시를 동시에 저장해도 한 건만 남도록 충돌 시 무시 (1 = 새로 저장, 0 = 이미 있음)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO image_blob (hash, content_type, size_bytes, data, created_at)"
+            + " VALUES (:hash, :contentType, :sizeBytes, :data, now())"
+            + " ON CONFLICT (hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(String hash, String contentType, long sizeBytes, byte[] data);
+
+    // 이미지 전송용 부분 조회 (offset은 0부터)
+    @Query(value = "SELECT substring(data FROM :offset + 1 FOR :length) FROM image_blob WHERE hash = :hash",
+            nativeQuery = true)
+    byte[] readChunk(String hash, int offset, int length);
+
+    interface ImageMetaView {
+        String getHash();
+        String getContentType();
+        Long getSizeBytes();
+    }
+}
@@ -8,4 +8,7 @@ import java.util.List;
 public interface InfluencerRepository extends JpaRepository<Influencer, Long> {
     List<Influencer> findByReport_IdOrderByIdAsc(Long reportId);
     void deleteByReport_Id(Long reportId);
+
+    // 이미지 저장소 이관용 (id 기준 순차 배치)
+    List<Influencer> findTop50ByIdGreaterThanAndInfluencerImageIsNotNullOrderByIdAsc(Long id);
 }
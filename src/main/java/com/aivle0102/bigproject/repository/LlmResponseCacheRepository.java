@@ -0,0 +1,17 @@
+package com.aivle0102.bigproject.repository;
+
+import com.aivle0102.bigproject.domain.LlmResponseCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface LlmResponseCacheRepository extends JpaRepository<LlmResponseCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from LlmResponseCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
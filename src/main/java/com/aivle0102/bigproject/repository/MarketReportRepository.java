@@ -1,9 +1,13 @@
 package com.aivle0102.bigproject.repository;
 
 import com.aivle0102.bigproject.domain.MarketReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +21,15 @@ public interface MarketReportRepository extends JpaRepository<MarketReport, Long
     List<MarketReport> findByRecipe_IdAndOpenYnOrderByCreatedAtDesc(Long recipeId, String openYn);
     boolean existsByRecipe_IdAndOpenYn(Long recipeId, String openYn);
     boolean existsByRecipe_IdAndReportTypeAndOpenYn(Long recipeId, String reportType, String openYn);
-    List<MarketReport> findAllByOrderByCreatedAtDesc();
-    List<MarketReport> findByRecipe_CompanyIdOrderByCreatedAtDesc(Long companyId);
+
+    // 목록 키셋 페이지: (created_at, id) 내림차순. 레시피가 없는 보고서도 목록에 남도록 left join
+    @Query("select r from MarketReport r left join fetch r.recipe"
+            + " where (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    Slice<MarketReport> findPage(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query("select r from MarketReport r join fetch r.recipe rc where rc.companyId = :companyId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    Slice<MarketReport> findPageByCompanyId(Long companyId, LocalDateTime createdAt, Long id, Pageable pageable);
 }
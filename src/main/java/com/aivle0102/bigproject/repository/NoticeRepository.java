@@ -1,11 +1,23 @@
 package com.aivle0102.bigproject.repository;
 
 import com.aivle0102.bigproject.domain.Notice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
-    List<Notice> findAllByOrderByCreatedAtDesc();
-    List<Notice> findByCompanyIdOrCompanyIdIsNullOrderByCreatedAtDesc(Long companyId);
+    // 목록 키셋 페이지: (created_at, id) 내림차순
+    @Query("select n from Notice n"
+            + " where (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))"
+            + " order by n.createdAt desc, n.id desc")
+    Slice<Notice> findPage(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query("select n from Notice n where (n.companyId = :companyId or n.companyId is null)"
+            + " and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))"
+            + " order by n.createdAt desc, n.id desc")
+    Slice<Notice> findPageForCompany(Long companyId, LocalDateTime createdAt, Long id, Pageable pageable);
 }
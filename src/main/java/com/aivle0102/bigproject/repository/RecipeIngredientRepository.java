@@ -6,12 +6,24 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
     List<RecipeIngredient> findByRecipe_IdOrderByIdAsc(Long recipeId);
+
+    // 목록 화면용: 여러 레시피의 재료명을 한 번에 조회
+    @Query("select r.recipe.id as recipeId, r.ingredientName as ingredientName from RecipeIngredient r"
+            + " where r.recipe.id in :recipeIds order by r.id asc")
+    List<IngredientNameView> findNamesByRecipeIds(Collection<Long> recipeIds);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
     @Query("delete from RecipeIngredient r where r.recipe.id = :recipeId")
     void deleteByRecipe_Id(Long recipeId);
+
+    interface IngredientNameView {
+        Long getRecipeId();
+        String getIngredientName();
+    }
 }
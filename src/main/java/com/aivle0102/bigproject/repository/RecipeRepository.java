@@ -1,8 +1,14 @@
 package com.aivle0102.bigproject.repository;
 
 import com.aivle0102.bigproject.domain.Recipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
@@ -13,4 +19,32 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
     List<Recipe> findByUserIdOrderByCreatedAtDesc(String userId);
     List<Recipe> findByUserIdAndStatusOrderByCreatedAtDesc(String userId, String status);
+
+    // 응답 캐시/ETag 버전: 변경 트랜잭션과 함께 커밋되므로 모든 인스턴스가 같은 값을 본다
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE recipe SET content_version = content_version + 1 WHERE recipe_id = :recipeId",
+            nativeQuery = true)
+    int incrementContentVersion(Long recipeId);
+
+    // 목록 키셋 페이지: (created_at, id) 내림차순, 커서 위치 이후만 조회
+    String OPEN_REPORT_EXISTS = "exists (select 1 from MarketReport m where m.recipe = r"
+            + " and m.reportType = :reportType and m.openYn = :openYn)";
+    String KEYSET_AFTER = "(r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))";
+    String KEYSET_ORDER = " order by r.createdAt desc, r.id desc";
+
+    @Query("select r from Recipe r where " + OPEN_REPORT_EXISTS + " and " + KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Recipe> findOpenPage(String reportType, String openYn, LocalDateTime createdAt, Long id,
+            Pageable pageable);
+
+    @Query("select r from Recipe r where r.companyId = :companyId and " + OPEN_REPORT_EXISTS
+            + " and " + KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Recipe> findOpenPageByCompanyId(Long companyId, String reportType, String openYn,
+            LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query("select r from Recipe r where r.userId = :userId and " + KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Recipe> findPageByUserId(String userId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // 이미지 저장소 이관용 (id 기준 순차 배치)
+    List<Recipe> findTop50ByIdGreaterThanAndImageBase64IsNotNullOrderByIdAsc(Long id);
 }
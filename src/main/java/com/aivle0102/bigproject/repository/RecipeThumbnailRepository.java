@@ -0,0 +1,22 @@
+package com.aivle0102.bigproject.repository;
+
+import com.aivle0102.bigproject.domain.RecipeThumbnail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RecipeThumbnailRepository extends JpaRepository<RecipeThumbnail, Long> {
+    List<RecipeThumbnail> findByRecipeIdInAndWidthAndFormat(Collection<Long> recipeIds, Integer width, String format);
+
+    @Query("select distinct t.recipeId from RecipeThumbnail t where t.recipeId in :recipeIds")
+    List<Long> findRecipeIdsWithThumbnails(Collection<Long> recipeIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("delete from RecipeThumbnail t where t.recipeId = :recipeId")
+    void deleteByRecipeId(Long recipeId);
+}
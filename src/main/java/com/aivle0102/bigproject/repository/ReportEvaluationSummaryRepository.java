@@ -0,0 +1,46 @@
+package com.aivle0102.bigproject.repository;
+
+import com.aivle0102.bigproject.domain.ReportEvaluationSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ReportEvaluationSummaryRepository extends JpaRepository<ReportEvaluationSummary, Long> {
+
+    // 집계가 있는 레시피의 가장 최근 보고서 (보고서 본문은 읽지 않음)
+    @Query("select r.id from ReportEvaluationSummary s join s.report r"
+            + " where r.recipe.id = :recipeId and r.reportType = :reportType"
+            + " order by r.createdAt desc, r.id desc")
+    List<Long> findReportIdsWithSummary(Long recipeId, String reportType, Pageable pageable);
+
+    // 화면 응답에 필요한 집계 컬럼만 조회
+    @Query("select s.country as country, s.totalScore as totalScore, s.tasteScore as tasteScore,"
+            + " s.priceScore as priceScore, s.healthScore as healthScore, s.feedbacks as feedbacks"
+            + " from ReportEvaluationSummary s where s.report.id = :reportId order by s.sortOrder asc")
+    List<SummaryView> findViewsByReportId(Long reportId);
+
+    boolean existsByReport_Id(Long reportId);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("delete from ReportEvaluationSummary s where s.report.id = :reportId")
+    void deleteByReportId(Long reportId);
+
+    // 백필 대상: 피드백은 있으나 집계가 없는 보고서
+    @Query("select distinct f.report.id from ConsumerFeedback f"
+            + " where not exists (select 1 from ReportEvaluationSummary s where s.report = f.report)")
+    List<Long> findReportIdsMissingSummary();
+
+    interface SummaryView {
+        String getCountry();
+        Integer getTotalScore();
+        Integer getTasteScore();
+        Integer getPriceScore();
+        Integer getHealthScore();
+        String getFeedbacks();
+    }
+}
@@ -0,0 +1,77 @@
+package com.aivle0102.bigproject.repository;
+
+import com.aivle0102.bigproject.domain.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    // 실행 가능한 작업(대기 시간이 지난 QUEUED, 임대가 만료된 RUNNING)을 다른 노드와 겹치지 않게 잠근다
+    @Query(value = "SELECT * FROM report_job"
+            + " WHERE (status = 'QUEUED' AND run_after <= :now)"
+            + " OR (status = 'RUNNING' AND lease_expires_at < :now)"
+            + " ORDER BY run_after, created_at"
+            + " LIMIT :limit"
+            + " FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReportJob> lockClaimable(LocalDateTime now, int limit);
+
+    // 하트비트: 아직 이 노드가 임대 중인 작업만 연장
+    @Modifying
+    @Transactional
+    @Query("update ReportJob j set j.leaseExpiresAt = :until, j.updatedAt = :now"
+            + " where j.id in :ids and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int extendLeases(Collection<String> ids, String owner, LocalDateTime until, LocalDateTime now);
+
+    // 완료/실패/재시도 예약. 임대를 잃은(다른 노드가 다시 가져간) 작업은 갱신하지 않는다.
+    @Modifying
+    @Transactional
+    @Query("update ReportJob j set j.status = :status, j.resultReportId = :reportId, j.error = :error,"
+            + " j.runAfter = :runAfter, j.leaseOwner = null, j.leaseExpiresAt = null, j.updatedAt = :now"
+            + " where j.id = :id and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int release(String id, String owner, String status, Long reportId, String error,
+                LocalDateTime runAfter, LocalDateTime now);
+
+    // 작업 등록. jobId가 이미 있거나 같은 사용자/입력의 대기·실행 중 작업이 있으면(uq_report_job_active_request)
+    // 넣지 않는다 (1 = 등록, 0 = 기존 작업 있음)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO report_job (job_id, job_type, owner_id, recipe_id, payload, request_hash, status,"
+            + " attempts, max_attempts, run_after, created_at, updated_at)"
+            + " VALUES (:id, :jobType, :ownerId, :recipeId, :payload, :requestHash, 'QUEUED',"
+            + " 0, :maxAttempts, :now, :now, :now)"
+            + " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(String id, String jobType, String ownerId, Long recipeId, String payload, String requestHash,
+                       int maxAttempts, LocalDateTime now);
+
+    // 보고서 저장과 같은 트랜잭션에서 기록 (재시도 시 중복 보고서 방지)
+    @Modifying
+    @Transactional
+    @Query("update ReportJob j set j.savedReportId = :reportId, j.updatedAt = :now"
+            + " where j.id = :id and j.status = 'RUNNING'")
+    int markReportSaved(String id, Long reportId, LocalDateTime now);
+
+    // 같은 사용자의 같은 입력으로 대기/실행 중인 작업
+    Optional<ReportJob> findFirstByOwnerIdAndRequestHashAndStatusInOrderByCreatedAtDesc(
+            String ownerId, String requestHash, Collection<String> statuses);
+
+    // 같은 입력으로 최근 완료된 작업
+    Optional<ReportJob> findFirstByOwnerIdAndRequestHashAndStatusAndUpdatedAtAfterOrderByUpdatedAtDesc(
+            String ownerId, String requestHash, String status, LocalDateTime since);
+
+    long countByStatus(String status);
+
+    @Query("select min(j.createdAt) from ReportJob j where j.status = 'QUEUED'")
+    LocalDateTime findOldestQueuedCreatedAt();
+
+    @Modifying
+    @Transactional
+    @Query("delete from ReportJob j where j.status in ('SUCCEEDED', 'FAILED') and j.updatedAt < :threshold")
+    int deleteFinishedBefore(LocalDateTime threshold);
+}
@@ -2,6 +2,7 @@ package com.aivle0102.bigproject.security.oauth;
 
 import com.aivle0102.bigproject.domain.UserInfo;
 import com.aivle0102.bigproject.repository.UserInfoRepository;
+import com.aivle0102.bigproject.service.UserIdentityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +23,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserInfoRepository userInfoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -87,7 +89,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                 .providerId(profile.providerId())
                 .build();
 
-        return userInfoRepository.save(userInfo);
+        UserInfo saved = userInfoRepository.save(userInfo);
+        userIdentityService.invalidate(saved.getUserId());
+        return saved;
     }
 
     @SuppressWarnings("unchecked")
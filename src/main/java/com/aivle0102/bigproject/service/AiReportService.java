@@ -1,17 +1,30 @@
 package com.aivle0102.bigproject.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
+import com.aivle0102.bigproject.client.StructuredOutputParser;
 import com.aivle0102.bigproject.dto.ReportRequest;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 @Service
 @RequiredArgsConstructor
@@ -19,8 +32,28 @@ public class AiReportService {
 
     @Value("${openai.model}")
     private String model;
+
+    // single: 전체 섹션을 한 번에 생성, per-section: 섹션별 요청을 동시에 보냄
+    @Value("${app.report.generation-mode:single}")
+    private String generationMode;
+
+    @Value("${app.report.section-concurrency:7}")
+    private int sectionConcurrency;
+
+    @Value("${app.report.section-timeout-seconds:90}")
+    private long sectionTimeoutSeconds;
+
+    @Value("${app.report.section-retries:1}")
+    private int sectionRetries;
+
+    private static final String MODE_PER_SECTION = "per-section";
+    private static final TypeReference<Map<String, Object>> REPORT_TYPE = new TypeReference<>() {
+    };
+    private static final Logger log = LoggerFactory.getLogger(AiReportService.class);
+
     private final OpenAiClient openAiClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmResponseCacheService llmResponseCacheService;
+    private final StructuredOutputParser structuredOutputParser;
     private static final List<String> REPORT_SECTION_ORDER = List.of(
             "executiveSummary",
             "marketSnapshot",
@@ -32,9 +65,123 @@ public class AiReportService {
     );
 
     public Map<String, Object> generateReport(ReportRequest req) {
+        return generateReport(req, section -> {
+        });
+    }
+
+    public Map<String, Object> generateReport(ReportRequest req, Consumer<String> onSection) {
+        return generateReport(req, OpenAiRateGovernor.Lane.BACKGROUND, onSection);
+    }
+
+    // onSection: 섹션 하나가 끝날 때마다 호출 (single 모드에서는 전체 응답 후 섹션 순서대로 호출)
+    public Map<String, Object> generateReport(ReportRequest req, OpenAiRateGovernor.Lane lane,
+            Consumer<String> onSection) {
+        List<String> sections = resolveSections(req.getSections());
+        if (MODE_PER_SECTION.equalsIgnoreCase(generationMode) && sections.size() > 1) {
+            return generateReportBySection(req, sections, lane, onSection);
+        }
+        Map<String, Object> report = generateReportOnce(req, lane);
+        for (String section : sections) {
+            if (report.containsKey(section)) {
+                onSection.accept(section);
+            }
+        }
+        // 응답이 잘렸으면 완성된 섹션은 그대로 쓰고 빠진 섹션만 섹션별로 다시 요청한다.
+        // 완성된 섹션이 하나도 없으면 전체 섹션을 섹션별로 다시 요청한다.
+        List<String> missing = sections.stream().filter(section -> !report.containsKey(section)).toList();
+        if (!missing.isEmpty()) {
+            log.warn("리포트 응답에 빠진 섹션만 다시 생성: {}", missing);
+            report.putAll(generateReportBySection(req, missing, lane, onSection));
+            Map<String, Object> ordered = new LinkedHashMap<>();
+            for (String section : sections) {
+                ordered.put(section, report.get(section));
+            }
+            report.forEach(ordered::putIfAbsent);
+            return ordered;
+        }
+        return report;
+    }
+
+    // 섹션별로 작은 요청을 동시에 보내고 응답을 기존과 같은 Map 형태로 합친다. 실패한 섹션만 다시 요청한다.
+    // 응답 대기 중에는 스레드를 잡지 않고, 호출 스레드는 전체 섹션이 끝날 때 한 번만 기다린다.
+    private Map<String, Object> generateReportBySection(ReportRequest req, List<String> sections,
+            OpenAiRateGovernor.Lane lane, Consumer<String> onSection) {
+        Map<String, Object> generated = new ConcurrentHashMap<>();
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        Flux.fromIterable(sections)
+                .flatMap(section -> generateSection(req, section, lane)
+                        .doOnError(e -> log.warn("리포트 섹션 생성 실패: {} - {}", section, e.getMessage()))
+                        // 전송 오류(429/5xx/시간 초과)는 OpenAiClient가 마감 안에서 이미 재시도하므로
+                        // 여기서는 응답을 해석하지 못한 경우(IllegalStateException)만 다시 요청한다
+                        .retryWhen(Retry.max(Math.max(0, sectionRetries))
+                                .filter(e -> e instanceof IllegalStateException))
+                        // 진행률 전송 등 콜백이 네트워크 스레드를 막지 않도록 넘긴다
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(value -> {
+                            generated.put(section, value);
+                            onSection.accept(section);
+                        })
+                        .onErrorResume(e -> {
+                            failed.add(section);
+                            return Mono.empty();
+                        }), Math.max(1, sectionConcurrency))
+                .then()
+                .block();
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("리포트 섹션 생성에 실패했습니다: " + failed);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (String section : sections) {
+            report.put(section, generated.get(section));
+        }
+        return report;
+    }
+
+    private Mono<Object> generateSection(ReportRequest req, String section, OpenAiRateGovernor.Lane lane) {
+        ReportRequest sectionRequest = new ReportRequest();
+        sectionRequest.setRecipe(req.getRecipe());
+        sectionRequest.setTargetCountry(req.getTargetCountry());
+        sectionRequest.setTargetPersona(req.getTargetPersona());
+        sectionRequest.setPriceRange(req.getPriceRange());
+        sectionRequest.setSections(List.of(section));
+        return openAiClient.chatCompletionAsync(reportBody(sectionRequest), lane,
+                        Duration.ofSeconds(Math.max(1, sectionTimeoutSeconds)))
+                .map(content -> {
+                    Object value = parseJson("report-section", content).get(section);
+                    if (value == null) {
+                        throw new IllegalStateException("AI 응답에 섹션이 없습니다: " + section);
+                    }
+                    return value;
+                });
+    }
+
+    private Map<String, Object> generateReportOnce(ReportRequest req, OpenAiRateGovernor.Lane lane) {
+        String content = openAiClient.chatCompletion(reportBody(req), lane);
+        return parseJson("report", content);
+    }
+
+    // 토큰 단위 스트리밍. 조립된 전체 응답은 parseReport로 검증한다.
+    public Flux<String> streamReport(ReportRequest req) {
+        return openAiClient.chatCompletionStream(reportBody(req));
+    }
+
+    public Flux<String> streamSummary(String fullReport) {
+        return openAiClient.chatCompletionStream(summaryBody(fullReport));
+    }
+
+    public Flux<String> streamFinalEvaluation(List<Map<String, Object>> reportInputs) {
+        return openAiClient.chatCompletionStream(finalEvaluationBody(reportInputs));
+    }
+
+    public Map<String, Object> parseReport(String content) {
+        return parseJson("report", content);
+    }
+
+    // 섹션 구성이 요청마다 달라 스키마 대신 json_object 모드로 JSON 응답만 강제한다 (스트리밍 호출도 동일)
+    private Map<String, Object> reportBody(ReportRequest req) {
         String prompt = buildPrompt(req);
 
-        Map<String, Object> body = Map.of(
+        return StructuredOutputParser.withResponseFormat(Map.of(
                 "model", model,
                 "messages", List.of(
                         Map.of("role", "system", "content",
@@ -42,16 +189,18 @@ public class AiReportService {
                         Map.of("role", "user", "content", prompt)
                 ),
                 "temperature", 0.4
-        );
-
-        String content = openAiClient.chatCompletion(body);
-        return parseJson(content);
+        ), "report", null);
     }
 
     public String generateSummary(String fullReport) {
+        // 같은 보고서 JSON의 요약은 재사용
+        return llmResponseCacheService.chatCompletion("summary", summaryBody(fullReport));
+    }
+
+    private Map<String, Object> summaryBody(String fullReport) {
         String prompt = buildSummaryPrompt(fullReport);
 
-        Map<String, Object> body = Map.of(
+        return Map.of(
                 "model", model,
                 "messages", List.of(
                         Map.of("role", "system", "content",
@@ -60,13 +209,19 @@ public class AiReportService {
                 ),
                 "temperature", 0.4
         );
-
-        return openAiClient.chatCompletion(body);
     }
 
     public String generateFinalEvaluation(List<Map<String, Object>> reportInputs) {
+        return generateFinalEvaluation(reportInputs, OpenAiRateGovernor.Lane.BACKGROUND);
+    }
+
+    public String generateFinalEvaluation(List<Map<String, Object>> reportInputs, OpenAiRateGovernor.Lane lane) {
+        return openAiClient.chatCompletion(finalEvaluationBody(reportInputs), lane);
+    }
+
+    private Map<String, Object> finalEvaluationBody(List<Map<String, Object>> reportInputs) {
         String prompt = buildFinalEvaluationPrompt(reportInputs);
-        Map<String, Object> body = Map.of(
+        return Map.of(
                 "model", model,
                 "messages", List.of(
                         Map.of("role", "system", "content",
@@ -75,26 +230,23 @@ public class AiReportService {
                 ),
                 "temperature", 0.2
         );
-        return openAiClient.chatCompletion(body);
     }
 
-    private Map<String, Object> parseJson(String content) {
-        String trimmed = content == null ? "" : content.trim();
-        String json = trimmed;
-        if (trimmed.startsWith("```")) {
-            json = trimmed.replaceFirst("^```[a-zA-Z]*\\s*", "");
-            json = json.replaceFirst("\\s*```$", "");
-        }
-        int start = json.indexOf('{');
-        int end = json.lastIndexOf('}');
-        if (start >= 0 && end > start) {
-            json = json.substring(start, end + 1);
-        }
+    // 펜스/설명 문장을 건너뛰고 읽는다. 잘린 응답은 복구하되 마지막 섹션은 미완성이므로 버린다.
+    private Map<String, Object> parseJson(String purpose, String content) {
+        StructuredOutputParser.Parsed<Map<String, Object>> parsed;
         try {
-            return objectMapper.readValue(json, new TypeReference<>() {});
-        } catch (Exception e) {
+            parsed = structuredOutputParser.parseDetailed(purpose, content, REPORT_TYPE);
+        } catch (IllegalStateException e) {
             throw new IllegalStateException("AI가 반환한 리포트 JSON이 유효하지 않습니다: " + content, e);
         }
+        Map<String, Object> report = new LinkedHashMap<>(parsed.value());
+        if (parsed.repaired() && !report.isEmpty()) {
+            String truncated = new ArrayList<>(report.keySet()).get(report.size() - 1);
+            report.remove(truncated);
+            log.warn("잘린 리포트 응답에서 미완성 섹션 제외: {}", truncated);
+        }
+        return report;
     }
 
     private String buildPrompt(ReportRequest r) {
@@ -127,7 +279,7 @@ public class AiReportService {
         );
     }
 
-    private String buildSchema(List<String> sections) {
+    private List<String> resolveSections(List<String> sections) {
         List<String> requested = sections == null || sections.isEmpty()
                 ? REPORT_SECTION_ORDER
                 : sections.stream()
@@ -135,10 +287,11 @@ public class AiReportService {
                     .filter(s -> !s.isBlank())
                     .filter(REPORT_SECTION_ORDER::contains)
                     .toList();
-        if (requested.isEmpty()) {
-            requested = REPORT_SECTION_ORDER;
-        }
-        return requested.stream()
+        return requested.isEmpty() ? REPORT_SECTION_ORDER : requested;
+    }
+
+    private String buildSchema(List<String> sections) {
+        return resolveSections(sections).stream()
                 .map(this::schemaForSection)
                 .filter(v -> v != null && !v.isBlank())
                 .collect(java.util.stream.Collectors.joining(",\n"));
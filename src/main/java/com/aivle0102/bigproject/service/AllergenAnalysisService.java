@@ -14,12 +14,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.aivle0102.bigproject.client.HaccpCertImgClient;
 import com.aivle0102.bigproject.config.AllergenCatalogLoader;
@@ -31,7 +26,6 @@ import com.aivle0102.bigproject.dto.IngredientEvidence;
 import com.aivle0102.bigproject.dto.ReportRequest;
 import com.aivle0102.bigproject.util.RecipeIngredientExtractor;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -45,20 +39,25 @@ public class AllergenAnalysisService {
     private static final Logger LOGGER = Logger.getLogger(AllergenAnalysisService.class.getName());
     private static final int MAX_EVIDENCE_ITEMS = 5;
     private static final int PRDKIND_NUM_OF_ROWS = 3;
+    private static final Map<String, Object> KEYWORDS_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("keywords"),
+            "properties", Map.of(
+                    "keywords", Map.of(
+                            "type", "array",
+                            "items", Map.of("type", "string"))));
 
     private final AllergenCatalogLoader allergenCatalogLoader;
     private final AllergenMatcher allergenMatcher;
     private final HaccpCertImgClient haccpClient;
     private final ProcessedFoodsCatalogLoader processedFoodsCatalogLoader;
     private final RawProduceCatalogLoader rawProduceCatalogLoader;
-
-    @Value("${openai.api-key}")
-    private String openAiApiKey;
+    private final LlmResponseCacheService llmResponseCacheService;
 
     @Value("${openai.model:gpt-4.1-mini}")
     private String openAiModel;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private String normalizeCountryCode(String raw) {
         if (raw == null || raw.isBlank()) return "";
         String trimmed = raw.trim();
@@ -94,8 +93,6 @@ public class AllergenAnalysisService {
         }
     }
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
     public AllergenAnalysisResponse analyze(ReportRequest request) {
         // 입력 레시피에서 재료를 추출하고 국가별 의무 알레르기 목록 로드
         String recipe = request.getRecipe();
@@ -525,7 +522,7 @@ public class AllergenAnalysisService {
                 + "- 짧은 명사형 제품명만 반환\n"
                 + "- 기존 재료명에 덧붙이는 식이 아닌 다른 유의어, 동의어로 생성할 것 (예: 달걀, 계란, 반숙란과 같이 변형되었으나 동일한 의미를 가지는 형태)"
                 + "- HACCP, 인증, 기준, 관리, 적용, 제품, 식품, 안전 같은 단어 포함 금지\n"
-                + "- 결과는 JSON 배열만 반환";
+                + "- 결과는 keywords 배열로 반환";
 
         return callOpenAiForJsonArray(prompt);
     }
@@ -541,66 +538,33 @@ public class AllergenAnalysisService {
                 + "- 재료와 무관한 부재료는 제외\n"
                 + "- 재료와 관련된 알레르기 키워드의 경우 재료(구성성분) 또는, 재료[구성성분], 재료-구성성분 과 같은 형태로 존재함."
                 + "- 복합 제품이면 재료(예: 고추장) 구성 성분만 선택\n"
-                + "결과는 JSON 배열만 반환";
+                + "결과는 keywords 배열로 반환";
 
         return callOpenAiForJsonArray(prompt);
     }
 
     private List<String> callOpenAiForJsonArray(String prompt) {
-        // OpenAI 호출 후 JSON 배열 형태로 파싱
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openAiApiKey);
-
+        // OpenAI 구조화 출력({"keywords": [...]})으로 호출 (요청 한도 조절/응답 캐시를 거친다)
         Map<String, Object> body = Map.of(
                 "model", openAiModel,
                 "temperature", 0.2,
                 "max_tokens", 200,
                 "messages", List.of(
                         Map.of("role", "system", "content",
-                                "한국어로 JSON 배열만 반환하세요. 설명 금지."),
+                                "한국어로 JSON만 반환하세요. 설명 금지."),
                         Map.of("role", "user", "content", prompt)
                 )
         );
 
-        HttpEntity<Map<String, Object>> req = new HttpEntity<>(body, headers);
-        ResponseEntity<String> resp = restTemplate.postForEntity(
-                "https://api.openai.com/v1/chat/completions",
-                req,
-                String.class
-        );
-
-        String content = extractContent(resp.getBody());
-        return postProcessCandidates(parseJsonArray(content));
-    }
-
-    private String extractContent(String body) {
-        if (body == null || body.isBlank()) return "[]";
-        try {
-            JsonNode root = objectMapper.readTree(body);
-            return root.path("choices").path(0).path("message").path("content").asText("[]");
-        } catch (Exception e) {
-            return "[]";
-        }
-    }
-
-    private List<String> parseJsonArray(String content) {
-        if (content == null || content.isBlank()) return List.of();
+        // 같은 재료/원재료 문자열은 반복해서 들어오므로 응답을 캐시한다
+        // max_tokens가 작아 잘린 응답도 완성된 항목까지는 살려 쓴다
         try {
-            JsonNode node = objectMapper.readTree(content);
-            if (node.isArray()) {
-                List<String> out = new ArrayList<>();
-                for (JsonNode n : node) {
-                    if (n.isTextual()) {
-                        String v = n.asText().trim();
-                        if (!v.isEmpty()) out.add(v);
-                    }
-                }
-                return out;
-            }
-        } catch (Exception ignored) {
+            KeywordList result = llmResponseCacheService.structuredCompletion(
+                    "allergen-keywords", body, KEYWORDS_SCHEMA, KeywordList.class, false);
+            return postProcessCandidates(result.keywords());
+        } catch (IllegalStateException e) {
+            return List.of();
         }
-        return List.of();
     }
 
     private List<String> postProcessCandidates(List<String> raw) {
@@ -846,4 +810,7 @@ public class AllergenAnalysisService {
             case OTHER -> false;
         };
     }
+
+    private record KeywordList(List<String> keywords) {
+    }
 }
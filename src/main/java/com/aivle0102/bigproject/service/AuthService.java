@@ -37,6 +37,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordResetCodeService passwordResetCodeService;
+    private final UserIdentityService userIdentityService;
     private static final int MAX_LOGIN_FAILURES = 5;
     private static final int SEQUENTIAL_LENGTH = 3;
     private static final int PASSWORD_EXPIRY_MONTHS = 6;
@@ -80,6 +81,7 @@ public class AuthService {
                 .build();
 
         userInfoRepository.save(userInfo);
+        userIdentityService.invalidate(userInfo.getUserId());
 
         return toUserResponse(userInfo, null);
     }
@@ -125,6 +127,7 @@ public class AuthService {
         }
 
         userInfoRepository.save(userInfo);
+        userIdentityService.invalidate(userInfo.getUserId());
         String accessToken = jwtTokenProvider.createToken(userInfo.getUserId(), userInfo.getUserName());
         return toUserResponse(userInfo, accessToken);
     }
@@ -268,6 +271,7 @@ public class AuthService {
 
         userInfo.setUserState("0");
         userInfoRepository.save(userInfo);
+        userIdentityService.invalidate(userId);
     }
 
     public UserResponse getCurrentUser(String userId) {
@@ -330,6 +334,7 @@ public class AuthService {
         }
 
         userInfoRepository.save(userInfo);
+        userIdentityService.invalidate(userId);
         return toUserResponse(userInfo, null);
     }
 
@@ -1,8 +1,13 @@
 package com.aivle0102.bigproject.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,29 +15,64 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
 import com.aivle0102.bigproject.domain.ConsumerFeedback;
 import com.aivle0102.bigproject.domain.MarketReport;
 import com.aivle0102.bigproject.domain.VirtualConsumer;
 import com.aivle0102.bigproject.repository.ConsumerFeedbackRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.aivle0102.bigproject.util.AsyncLimiter;
+import com.aivle0102.bigproject.util.TimedTasks;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 public class EvaluationService {
 
+    private static final Map<String, Object> EVALUATION_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("country", "ageGroup", "personaName", "totalScore", "tasteScore", "priceScore",
+                    "healthScore", "positiveFeedback", "negativeFeedback", "purchaseIntent"),
+            "properties", Map.of(
+                    "country", Map.of("type", "string"),
+                    "ageGroup", Map.of("type", "string"),
+                    "personaName", Map.of("type", "string"),
+                    "totalScore", Map.of("type", "integer"),
+                    "tasteScore", Map.of("type", "integer"),
+                    "priceScore", Map.of("type", "integer"),
+                    "healthScore", Map.of("type", "integer"),
+                    "positiveFeedback", Map.of("type", "string"),
+                    "negativeFeedback", Map.of("type", "string"),
+                    "purchaseIntent", Map.of("type", "string", "enum", List.of("YES", "NO", "MAYBE"))));
+
     private final OpenAiClient openAiClient;
-    private final ObjectMapper objectMapper;
     private final ConsumerFeedbackRepository consumerFeedbackRepository;
+    private final EvaluationSummaryService evaluationSummaryService;
+    private final MeterRegistry meterRegistry;
     private static final Logger log = LoggerFactory.getLogger(EvaluationService.class);
 
     @Value("${google.maps.api-key:dummy-google-maps-key}")
     private String googleMapsApiKey;
 
+    // 1이면 기존처럼 순차 평가
+    @Value("${app.evaluation.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.evaluation.persona-timeout-seconds:90}")
+    private long personaTimeoutSeconds;
+
+    // 동시 호출 수 제한. 응답을 기다리는 동안 스레드를 잡지 않는다.
+    private AsyncLimiter evaluationLimiter;
+
     @PostConstruct
     public void init() {
+        evaluationLimiter = new AsyncLimiter(concurrency);
+
         if (googleMapsApiKey == null || googleMapsApiKey.isEmpty() || googleMapsApiKey.contains("dummy")) {
             log.warn(
                     "🚨 [CONFIG] Google Maps API Key is MISSING or set to DUMMY value. Map features in frontend may not work.");
@@ -59,53 +99,89 @@ public class EvaluationService {
         return null;
     }
 
-    // 각 AI 심사위원에게 생성한 보고서를 토대로 평가 진행
-    public List<ConsumerFeedback> evaluate(List<VirtualConsumer> personas, String report) {
+    // 평가 대상 수 기준 최악의 평가 시간 (동시 호출 수만큼씩 나눠 실행)
+    public Duration evaluationBudget(int personas) {
+        int limit = Math.max(1, concurrency);
+        long waves = (Math.max(1, personas) + limit - 1) / limit;
+        return Duration.ofSeconds(waves * Math.max(1, personaTimeoutSeconds));
+    }
 
-        List<ConsumerFeedback> results = new ArrayList<>();
+    // 각 AI 심사위원에게 생성한 보고서를 토대로 평가 진행. 실패한 페르소나는 로그만 남기고 제외한다.
+    public List<ConsumerFeedback> evaluate(List<VirtualConsumer> personas, String report) {
+        if (personas == null || personas.isEmpty()) {
+            return List.of();
+        }
+        boolean parallel = concurrency > 1 && personas.size() > 1;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<ConsumerFeedback> results = evaluateAll(personas, report);
+        sample.stop(Timer.builder("evaluation.personas.duration")
+                .description("Wall time to evaluate all personas of one report")
+                .tag("mode", parallel ? "parallel" : "sequential")
+                .register(meterRegistry));
+        return results;
+    }
 
+    // 동시 실행 수는 concurrency로 제한(1이면 순차), 결과는 입력 순서대로 모은다. 호출 스레드는 여기서 한 번만 기다린다.
+    private List<ConsumerFeedback> evaluateAll(List<VirtualConsumer> personas, String report) {
+        List<CompletableFuture<ConsumerFeedback>> futures = new ArrayList<>();
         for (VirtualConsumer persona : personas) {
+            futures.add(evaluateAsync(persona, report));
+        }
+        List<ConsumerFeedback> results = new ArrayList<>();
+        for (int i = 0; i < personas.size(); i += 1) {
             try {
-                ConsumerFeedback evaluation = evaluateOnePersona(persona, report);
-                evaluation.setConsumer(persona);
-
+                ConsumerFeedback evaluation = futures.get(i).join();
+                evaluation.setConsumer(personas.get(i));
                 results.add(evaluation);
-
-            } catch (Exception e) {
-                log.error("[평가 실패] 국가: {}, 페르소나: {}, 원인: {}",
-                        persona.getCountry(), persona.getPersonaName(), e.getMessage());
+            } catch (CompletionException | CancellationException ignored) {
+                // evaluateAsync에서 이미 로그를 남김
             }
         }
-
         return results;
     }
 
+    // 페르소나 한 명 평가를 시작한다. 실패/시간 초과는 로그를 남기고 예외로 완료된다.
+    public CompletableFuture<ConsumerFeedback> evaluateAsync(VirtualConsumer persona, String report) {
+        CompletableFuture<ConsumerFeedback> future = evaluationLimiter.submit(
+                () -> evaluateOnePersona(persona, report).toFuture());
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                logFailure(persona, TimedTasks.cause(error));
+            }
+        });
+        return future;
+    }
+
+    private void logFailure(VirtualConsumer persona, Throwable e) {
+        String cause = e instanceof TimeoutException ? "시간 초과" : e.getMessage();
+        log.error("[평가 실패] 국가: {}, 페르소나: {}, 원인: {}",
+                persona.getCountry(), persona.getPersonaName(), cause);
+    }
+
     // 심사의원 평가 저장
     public List<ConsumerFeedback> evaluateAndSave(MarketReport report, List<VirtualConsumer> personas,
             String reportText) {
         if (report == null || report.getId() == null || personas == null || personas.isEmpty()) {
             return List.of();
         }
-        List<ConsumerFeedback> results = new ArrayList<>();
-        for (VirtualConsumer persona : personas) {
-            try {
-                ConsumerFeedback evaluation = evaluateOnePersona(persona, reportText);
-                evaluation.setReport(report);
-                evaluation.setConsumer(persona);
-                results.add(evaluation);
-            } catch (Exception e) {
-                log.error("[평가 및 저장 실패] 국가: {}, 페르소나: {}, 에러: {}",
-                        persona.getCountry(), persona.getPersonaName(), e.getMessage());
-            }
+        return saveEvaluations(report, evaluate(personas, reportText));
+    }
+
+    // evaluate() 결과 저장. LLM 호출 없이 짧은 트랜잭션 안에서 호출한다.
+    public List<ConsumerFeedback> saveEvaluations(MarketReport report, List<ConsumerFeedback> results) {
+        if (report == null || report.getId() == null || results == null || results.isEmpty()) {
+            return List.of();
         }
-        if (!results.isEmpty()) {
-            consumerFeedbackRepository.saveAll(results);
+        for (ConsumerFeedback result : results) {
+            result.setReport(report);
         }
+        consumerFeedbackRepository.saveAll(results);
+        evaluationSummaryService.refresh(report);
         return results;
     }
 
     // 한명의 심사의원 평가 prompt
-    private ConsumerFeedback evaluateOnePersona(VirtualConsumer persona, String report) throws Exception {
+    private Mono<ConsumerFeedback> evaluateOnePersona(VirtualConsumer persona, String report) {
 
         String prompt = buildEvaluationPrompt(persona, report);
 
@@ -115,10 +191,10 @@ public class EvaluationService {
                         Map.of("role", "user", "content", prompt)),
                 "temperature", 0.2);
 
-        String raw = openAiClient.chatCompletion(body);
-        String json = extractJson(raw);
-
-        return objectMapper.readValue(json, ConsumerFeedback.class);
+        // 작업 안에서 도는 일괄 호출이라 화면 요청보다 뒤로 미룬다
+        return openAiClient.structuredCompletionAsync("persona-evaluation", body, EVALUATION_SCHEMA,
+                ConsumerFeedback.class, OpenAiRateGovernor.Lane.BACKGROUND,
+                Duration.ofSeconds(Math.max(1, personaTimeoutSeconds)));
     }
 
     // 생성한 보고서를 토대로 평가 진행 프롬프트
@@ -198,14 +274,4 @@ public class EvaluationService {
                         p.getAttitudeToKFood(),
                         p.getEvaluationPerspective());
     }
-
-    // JSON만 추출
-    private String extractJson(String text) {
-        int start = text.indexOf("{");
-        int end = text.lastIndexOf("}");
-        if (start == -1 || end == -1) {
-            throw new RuntimeException("JSON 응답 아님");
-        }
-        return text.substring(start, end + 1);
-    }
 }
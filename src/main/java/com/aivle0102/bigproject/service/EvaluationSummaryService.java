@@ -0,0 +1,375 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.ConsumerFeedback;
+import com.aivle0102.bigproject.domain.MarketReport;
+import com.aivle0102.bigproject.domain.ReportEvaluationSummary;
+import com.aivle0102.bigproject.repository.ConsumerFeedbackRepository;
+import com.aivle0102.bigproject.repository.MarketReportRepository;
+import com.aivle0102.bigproject.repository.ReportEvaluationSummaryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+// 보고서별 국가 평가 점수를 평가 저장 시점에 계산해 report_evaluation_summary에 보관한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EvaluationSummaryService {
+
+    private static final String REPORT_TYPE_AI = "AI";
+    private static final TypeReference<List<Map<String, Object>>> FEEDBACK_LIST = new TypeReference<>() {
+    };
+
+    private final ReportEvaluationSummaryRepository reportEvaluationSummaryRepository;
+    private final ConsumerFeedbackRepository consumerFeedbackRepository;
+    private final MarketReportRepository marketReportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.evaluation-summary.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    // 평가 저장 직후 호출: 보고서의 전체 피드백으로 국가별 집계를 다시 만든다.
+    @Transactional
+    public void refresh(MarketReport report) {
+        if (report == null || report.getId() == null) {
+            return;
+        }
+        reportEvaluationSummaryRepository.deleteByReportId(report.getId());
+        List<CountryScore> scores = aggregate(consumerFeedbackRepository.findByReport_IdOrderByIdAsc(report.getId()));
+        List<ReportEvaluationSummary> rows = new ArrayList<>();
+        for (int i = 0; i < scores.size(); i += 1) {
+            CountryScore score = scores.get(i);
+            rows.add(ReportEvaluationSummary.builder()
+                    .report(report)
+                    .country(score.country)
+                    .sortOrder(i)
+                    .totalScore(score.totalScore)
+                    .tasteScore(score.tasteScore)
+                    .priceScore(score.priceScore)
+                    .healthScore(score.healthScore)
+                    .feedbacks(writeFeedbacks(score.feedbacks))
+                    .build());
+        }
+        if (!rows.isEmpty()) {
+            reportEvaluationSummaryRepository.saveAll(rows);
+        }
+    }
+
+    public void delete(Long reportId) {
+        if (reportId != null) {
+            reportEvaluationSummaryRepository.deleteByReportId(reportId);
+        }
+    }
+
+    // 보고서 집계가 없으면 같은 레시피의 가장 최근 AI 보고서 집계를 사용
+    public List<Map<String, Object>> findResults(Long reportId, Long recipeId) {
+        if (reportId == null) {
+            return List.of();
+        }
+        if (recipeId == null) {
+            return legacyResults(reportId, null);
+        }
+        Long selected = reportId;
+        if (!reportEvaluationSummaryRepository.existsByReport_Id(reportId)) {
+            List<Long> latest = reportEvaluationSummaryRepository
+                    .findReportIdsWithSummary(recipeId, REPORT_TYPE_AI, PageRequest.of(0, 1));
+            if (latest.isEmpty()) {
+                // 백필 전 데이터
+                return legacyResults(reportId, recipeId);
+            }
+            selected = latest.get(0);
+        }
+        return reportEvaluationSummaryRepository.findViewsByReportId(selected).stream()
+                .map(this::toResult)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    // 피드백은 있으나 집계가 없는 기존 보고서를 채운다.
+    public int backfill() {
+        int created = 0;
+        for (Long reportId : reportEvaluationSummaryRepository.findReportIdsMissingSummary()) {
+            try {
+                MarketReport report = marketReportRepository.findById(reportId).orElse(null);
+                if (report != null) {
+                    refresh(report);
+                    created += 1;
+                }
+            } catch (Exception e) {
+                log.warn("평가 집계 백필 실패: reportId={}, 원인={}", reportId, e.getMessage());
+            }
+        }
+        log.info("평가 집계 백필 완료: {}건", created);
+        return created;
+    }
+
+    private List<Map<String, Object>> legacyResults(Long reportId, Long recipeId) {
+        List<ConsumerFeedback> feedbacks = consumerFeedbackRepository.findByReport_IdOrderByIdAsc(reportId);
+        if ((feedbacks == null || feedbacks.isEmpty()) && recipeId != null) {
+            List<MarketReport> candidates = marketReportRepository
+                    .findByRecipe_IdAndReportTypeOrderByCreatedAtDesc(recipeId, REPORT_TYPE_AI);
+            for (MarketReport candidate : candidates) {
+                if (candidate == null || candidate.getId() == null || candidate.getId().equals(reportId)) {
+                    continue;
+                }
+                feedbacks = consumerFeedbackRepository.findByReport_IdOrderByIdAsc(candidate.getId());
+                if (feedbacks != null && !feedbacks.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return aggregate(feedbacks).stream()
+                .map(score -> toResult(score.country, score.totalScore, score.tasteScore, score.priceScore,
+                        score.healthScore, score.feedbacks))
+                .toList();
+    }
+
+    private Map<String, Object> toResult(ReportEvaluationSummaryRepository.SummaryView row) {
+        return toResult(row.getCountry(), row.getTotalScore(), row.getTasteScore(), row.getPriceScore(),
+                row.getHealthScore(), readFeedbacks(row.getFeedbacks()));
+    }
+
+    private Map<String, Object> toResult(String country, int totalScore, int tasteScore, int priceScore,
+            int healthScore, List<Map<String, Object>> feedbacks) {
+        return Map.of(
+                "country", country,
+                "totalScore", totalScore,
+                "tasteScore", tasteScore,
+                "priceScore", priceScore,
+                "healthScore", healthScore,
+                "feedbacks", feedbacks);
+    }
+
+    private List<CountryScore> aggregate(List<ConsumerFeedback> feedbacks) {
+        if (feedbacks == null || feedbacks.isEmpty()) {
+            return List.of();
+        }
+        Map<String, FeedbackAggregate> aggregates = new LinkedHashMap<>();
+        for (ConsumerFeedback feedback : feedbacks) {
+            String country = feedback.getCountry();
+            if (country == null || country.isBlank()) {
+                continue;
+            }
+            FeedbackAggregate agg = aggregates.computeIfAbsent(country, k -> new FeedbackAggregate());
+            if (feedback.getTotalScore() != null) {
+                agg.totalScoreSum += feedback.getTotalScore();
+                agg.totalScoreCount += 1;
+            }
+            if (feedback.getTasteScore() != null) {
+                agg.tasteScoreSum += feedback.getTasteScore();
+                agg.tasteScoreCount += 1;
+            }
+            if (feedback.getPriceScore() != null) {
+                agg.priceScoreSum += feedback.getPriceScore();
+                agg.priceScoreCount += 1;
+            }
+            if (feedback.getHealthScore() != null) {
+                agg.healthScoreSum += feedback.getHealthScore();
+                agg.healthScoreCount += 1;
+            }
+            if (agg.feedbacks.size() < 10) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("personaName", feedback.getPersonaName());
+                item.put("positiveFeedback", feedback.getPositiveFeedback());
+                item.put("negativeFeedback", feedback.getNegativeFeedback());
+                agg.feedbacks.add(item);
+            }
+        }
+        List<CountryScore> scores = aggregates.entrySet().stream()
+                .map(entry -> {
+                    FeedbackAggregate agg = entry.getValue();
+                    int avgScore = agg.totalScoreCount == 0 ? 0
+                            : (int) Math.round((double) agg.totalScoreSum / agg.totalScoreCount);
+                    int avgTaste = agg.tasteScoreCount == 0 ? 0
+                            : (int) Math.round((double) agg.tasteScoreSum / agg.tasteScoreCount);
+                    int avgPrice = agg.priceScoreCount == 0 ? 0
+                            : (int) Math.round((double) agg.priceScoreSum / agg.priceScoreCount);
+                    int avgHealth = agg.healthScoreCount == 0 ? 0
+                            : (int) Math.round((double) agg.healthScoreSum / agg.healthScoreCount);
+                    return new CountryScore(
+                            entry.getKey(),
+                            avgScore,
+                            avgTaste,
+                            avgPrice,
+                            avgHealth,
+                            agg.feedbacks);
+                })
+                .toList();
+        enforceScoreSpread(scores);
+        return scores;
+    }
+
+    private String writeFeedbacks(List<Map<String, Object>> feedbacks) {
+        try {
+            return objectMapper.writeValueAsString(feedbacks);
+        } catch (Exception e) {
+            log.warn("평가 피드백 직렬화 실패: {}", e.getMessage());
+            return "[]";
+        }
+    }
+
+    private List<Map<String, Object>> readFeedbacks(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(value, FEEDBACK_LIST);
+        } catch (Exception e) {
+            log.warn("평가 피드백 파싱 실패: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void enforceScoreSpread(List<CountryScore> scores) {
+        if (scores == null || scores.size() < 2) {
+            return;
+        }
+        applyScoreSpread(scores, item -> item.totalScore, (item, value) -> item.totalScore = value);
+        applyScoreSpread(scores, item -> item.tasteScore, (item, value) -> item.tasteScore = value);
+        applyScoreSpread(scores, item -> item.priceScore, (item, value) -> item.priceScore = value);
+        applyScoreSpread(scores, item -> item.healthScore, (item, value) -> item.healthScore = value);
+    }
+
+    private void applyScoreSpread(
+            List<CountryScore> scores,
+            ToIntFunction<CountryScore> getter,
+            BiConsumer<CountryScore, Integer> setter) {
+        if (scores.size() < 2) {
+            return;
+        }
+        int min = scores.stream().mapToInt(getter).min().orElse(0);
+        int max = scores.stream().mapToInt(getter).max().orElse(0);
+        int range = max - min;
+        Set<Integer> seen = new HashSet<>();
+        boolean hasDuplicates = scores.stream()
+                .mapToInt(getter)
+                .anyMatch(value -> !seen.add(value));
+        if (range >= 8 && !hasDuplicates) {
+            return;
+        }
+
+        List<CountryScore> ordered = new ArrayList<>(scores);
+        ordered.sort(Comparator.comparingInt(item -> stableHash(item.country)));
+        double avg = scores.stream().mapToInt(getter).average().orElse(0);
+        int count = ordered.size();
+        int targetRange = Math.min(24, Math.max(10, count * 2));
+        int step = count <= 1 ? 0 : Math.max(2, Math.round((float) targetRange / (count - 1)));
+        int start = -step * (count - 1) / 2;
+
+        List<Integer> proposed = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 1) {
+            proposed.add((int) Math.round(avg + start + step * i));
+        }
+        int minNew = proposed.stream().min(Integer::compareTo).orElse(0);
+        int maxNew = proposed.stream().max(Integer::compareTo).orElse(0);
+        int shift = 0;
+        if (minNew < 0) {
+            shift = -minNew;
+        }
+        if (maxNew + shift > 100) {
+            shift -= (maxNew + shift - 100);
+        }
+        if (shift != 0) {
+            for (int i = 0; i < proposed.size(); i += 1) {
+                proposed.set(i, proposed.get(i) + shift);
+            }
+        }
+
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < count; i += 1) {
+            int value = clampScore(proposed.get(i));
+            int tweak = 1;
+            while (used.contains(value) && tweak <= 5) {
+                int plus = clampScore(value + tweak);
+                if (!used.contains(plus)) {
+                    value = plus;
+                    break;
+                }
+                int minus = clampScore(value - tweak);
+                if (!used.contains(minus)) {
+                    value = minus;
+                    break;
+                }
+                tweak += 1;
+            }
+            used.add(value);
+            setter.accept(ordered.get(i), value);
+        }
+    }
+
+    private int clampScore(int value) {
+        return Math.max(0, Math.min(100, value));
+    }
+
+    private int stableHash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int hash = 0;
+        for (int i = 0; i < value.length(); i += 1) {
+            hash = 31 * hash + Character.toLowerCase(value.charAt(i));
+        }
+        return hash;
+    }
+
+    private static final class CountryScore {
+        private final String country;
+        private int totalScore;
+        private int tasteScore;
+        private int priceScore;
+        private int healthScore;
+        private final List<Map<String, Object>> feedbacks;
+
+        private CountryScore(
+                String country,
+                int totalScore,
+                int tasteScore,
+                int priceScore,
+                int healthScore,
+                List<Map<String, Object>> feedbacks) {
+            this.country = country;
+            this.totalScore = totalScore;
+            this.tasteScore = tasteScore;
+            this.priceScore = priceScore;
+            this.healthScore = healthScore;
+            this.feedbacks = feedbacks == null ? List.of() : feedbacks;
+        }
+    }
+
+    private static final class FeedbackAggregate {
+        private int totalScoreSum;
+        private int totalScoreCount;
+        private int tasteScoreSum;
+        private int tasteScoreCount;
+        private int priceScoreSum;
+        private int priceScoreCount;
+        private int healthScoreSum;
+        private int healthScoreCount;
+        private final List<Map<String, Object>> feedbacks = new ArrayList<>();
+    }
+}
@@ -0,0 +1,296 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
+import com.aivle0102.bigproject.domain.MarketReport;
+import com.aivle0102.bigproject.repository.MarketReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 여러 보고서를 비교하는 최종 평가 보고서 생성/저장 (요청 스레드와 작업 큐 워커가 함께 사용)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FinalEvaluationService {
+
+    public static final String REPORT_TYPE_FINAL = "FINAL_EVALUATION";
+
+    private final AiReportService aiReportService;
+    private final MarketReportRepository marketReportRepository;
+    private final RecipeService recipeService;
+    private final ResponseCacheService responseCacheService;
+
+    // 평가 보충 -> 최종 평가 생성 -> 저장. 저장된 최종 보고서 ID를 반환한다.
+    public Long run(List<MarketReport> selectedReports) {
+        String content = aiReportService.generateFinalEvaluation(prepareInputs(selectedReports),
+                OpenAiRateGovernor.Lane.BACKGROUND);
+        MarketReport saved = save(selectedReports, content);
+        return saved == null ? null : saved.getId();
+    }
+
+    public List<Map<String, Object>> prepareInputs(List<MarketReport> selectedReports) {
+        // 2. 각 보고서의 evaluation 필드가 비어있다면 새로 생성
+        recipeService.ensureEvaluationForReports(selectedReports);
+
+        // Prepare report inputs for LLM
+        return selectedReports.stream()
+                .map(report -> {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("reportId", report.getId());
+                    item.put("recipeId", report.getRecipe() == null ? "" : report.getRecipe().getId());
+                    item.put("recipeTitle", report.getRecipe() == null ? "" : report.getRecipe().getRecipeName());
+                    item.put("summary", safeTrim(report.getSummary(), 1200));
+                    item.put("content", safeTrim(report.getContent(), 2000));
+                    return item;
+                })
+                .toList();
+    }
+
+    public MarketReport save(List<MarketReport> selectedReports, String content) {
+        String summary = buildFinalSummary(selectedReports);
+
+        MarketReport targetReport = selectFinalReportTarget(selectedReports, content);
+        if (targetReport == null || targetReport.getRecipe() == null) {
+            return null;
+        }
+        MarketReport saved = marketReportRepository.save(MarketReport.builder()
+                .recipe(targetReport.getRecipe())
+                .reportType(REPORT_TYPE_FINAL)
+                .content(content)
+                .summary(summary)
+                .openYn("Y")
+                .build());
+        responseCacheService.invalidateRecipe(targetReport.getRecipe().getId());
+        return saved;
+    }
+
+    private String countSectionMarkers(String content) {
+        if (content == null || content.isBlank()) {
+            return "none";
+        }
+        int[] counts = new int[8];
+        for (int i = 1; i <= 7; i += 1) {
+            String marker = i + ")";
+            int idx = 0;
+            int found = 0;
+            while (idx >= 0) {
+                idx = content.indexOf(marker, idx);
+                if (idx >= 0) {
+                    found += 1;
+                    idx += marker.length();
+                }
+            }
+            counts[i] = found;
+        }
+        return String.format("1)=%d,2)=%d,3)=%d,4)=%d,5)=%d,6)=%d,7)=%d",
+                counts[1], counts[2], counts[3], counts[4], counts[5], counts[6], counts[7]);
+    }
+
+    private String safeTrim(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() <= maxLength) {
+            return trimmed;
+        }
+        return trimmed.substring(0, maxLength) + "...";
+    }
+
+    private MarketReport selectFinalReportTarget(List<MarketReport> reports, String content) {
+        if (reports == null || reports.isEmpty()) {
+            return null;
+        }
+        String recommendedTitle = extractRecommendedTitle(content);
+        MarketReport matched = findReportByTitle(reports, recommendedTitle);
+        if (matched != null) {
+            return matched;
+        }
+        String haystack = content == null ? "" : content.toLowerCase();
+        for (MarketReport report : reports) {
+            if (report == null || report.getRecipe() == null) {
+                continue;
+            }
+            String title = report.getRecipe().getRecipeName();
+            if (title != null && !title.isBlank() && haystack.contains(title.toLowerCase())) {
+                return report;
+            }
+        }
+        return reports.stream()
+                .filter(r -> r != null && r.getRecipe() != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private MarketReport findReportByTitle(List<MarketReport> reports, String title) {
+        if (reports == null || reports.isEmpty() || title == null || title.isBlank()) {
+            return null;
+        }
+        String normalizedTarget = normalizeTitle(title);
+        if (normalizedTarget.isBlank()) {
+            return null;
+        }
+        for (MarketReport report : reports) {
+            if (report == null || report.getRecipe() == null) {
+                continue;
+            }
+            String candidate = report.getRecipe().getRecipeName();
+            if (candidate == null || candidate.isBlank()) {
+                continue;
+            }
+            String normalizedCandidate = normalizeTitle(candidate);
+            if (normalizedCandidate.isBlank()) {
+                continue;
+            }
+            if (normalizedTarget.equals(normalizedCandidate)
+                    || normalizedTarget.contains(normalizedCandidate)
+                    || normalizedCandidate.contains(normalizedTarget)) {
+                return report;
+            }
+        }
+        return null;
+    }
+
+    private String normalizeTitle(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return "";
+        }
+        String normalized = trimmed.toLowerCase();
+        normalized = normalized.replaceAll("[\\s\\\"'\\[\\]\\(\\)]+", "");
+        return normalized;
+    }
+
+    private String extractRecommendedTitle(String content) {
+        if (content == null || content.isBlank()) {
+            return null;
+        }
+        String raw = content;
+        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
+                "(?m)^\\s*1\\)\\s*최종\\s*추천\\s*레시피\\s*[:\\-]?\\s*(.+)$");
+        java.util.regex.Matcher matcher = pattern.matcher(raw);
+        if (!matcher.find()) {
+            return null;
+        }
+        String extracted = matcher.group(1);
+        if (extracted == null) {
+            return null;
+        }
+        String cleaned = extracted.trim();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        cleaned = cleaned.replaceAll("\\s*\\(([^)]*)\\)\\s*$", "").trim();
+        cleaned = cleaned.replaceAll("^[-:\\s]+", "").trim();
+        if (cleaned.equalsIgnoreCase("n/a") || cleaned.equalsIgnoreCase("na") || cleaned.equalsIgnoreCase("없음")) {
+            return null;
+        }
+        return cleaned;
+    }
+
+    private String buildFinalSummary(List<MarketReport> reports) {
+        if (reports == null || reports.isEmpty()) {
+            return "비교 보고서 정보가 없습니다.";
+        }
+        List<String> titles = reports.stream()
+                .map(report -> report.getRecipe() == null ? null : report.getRecipe().getRecipeName())
+                .filter(title -> title != null && !title.isBlank())
+                .distinct()
+                .toList();
+        if (titles.isEmpty()) {
+            return "비교 보고서 정보가 없습니다.";
+        }
+        List<Long> reportIds = reports.stream()
+                .map(MarketReport::getId)
+                .filter(id -> id != null)
+                .distinct()
+                .toList();
+        List<Long> recipeIds = reports.stream()
+                .map(report -> report.getRecipe() == null ? null : report.getRecipe().getId())
+                .filter(id -> id != null)
+                .distinct()
+                .toList();
+        String meta = String.format("||reports=%s;recipes=%s",
+                joinIds(reportIds),
+                joinIds(recipeIds));
+        return "비교 보고서: " + String.join(" · ", titles) + " " + meta;
+    }
+
+    private String joinIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return "";
+        }
+        return ids.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(","));
+    }
+
+    private List<Long> parseReportIdsFromSummary(String summary) {
+        if (summary == null || summary.isBlank()) {
+            return List.of();
+        }
+        int metaIndex = summary.indexOf("||");
+        if (metaIndex < 0) {
+            return List.of();
+        }
+        String meta = summary.substring(metaIndex + 2);
+        for (String token : meta.split(";")) {
+            if (token.startsWith("reports=")) {
+                String ids = token.substring("reports=".length());
+                if (ids.isBlank()) {
+                    return List.of();
+                }
+                return java.util.Arrays.stream(ids.split(","))
+                        .map(String::trim)
+                        .filter(v -> !v.isEmpty())
+                        .map(Long::valueOf)
+                        .toList();
+            }
+        }
+        return List.of();
+    }
+
+    public String regenerateContent(MarketReport report, Long companyId) {
+        List<Long> reportIds = parseReportIdsFromSummary(report == null ? null : report.getSummary());
+        if (reportIds.isEmpty()) {
+            log.warn("최종 보고서 요약에 보고서 ID 없음: id={}, summary={}",
+                    report == null ? null : report.getId(),
+                    report == null ? null : safeTrim(report.getSummary(), 400));
+            return null;
+        }
+        List<MarketReport> reports = marketReportRepository.findAllById(reportIds);
+        if (companyId != null) {
+            reports = reports.stream()
+                    .filter(r -> r.getRecipe() != null && companyId.equals(r.getRecipe().getCompanyId()))
+                    .toList();
+        }
+        if (reports.isEmpty()) {
+            log.warn("최종 보고서 재생성: 원본 보고서 못찾음. id={}, reportIds={}",
+                    report == null ? null : report.getId(),
+                    reportIds);
+            return null;
+        }
+        List<Map<String, Object>> reportInputs = reports.stream()
+                .map(r -> {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("reportId", r.getId());
+                    item.put("recipeId", r.getRecipe() == null ? "" : r.getRecipe().getId());
+                    item.put("recipeTitle", r.getRecipe() == null ? "" : r.getRecipe().getRecipeName());
+                    item.put("summary", safeTrim(r.getSummary(), 1200));
+                    item.put("content", safeTrim(r.getContent(), 2000));
+                    return item;
+                })
+                .toList();
+        try {
+            return aiReportService.generateFinalEvaluation(reportInputs, OpenAiRateGovernor.Lane.BACKGROUND);
+        } catch (Exception e) {
+            log.error("최종 보고서 생성 실패: id={}", report == null ? null : report.getId(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.ImageBlob;
+import com.aivle0102.bigproject.domain.Influencer;
+import com.aivle0102.bigproject.domain.Recipe;
+import com.aivle0102.bigproject.repository.ImageBlobRepository;
+import com.aivle0102.bigproject.repository.InfluencerRepository;
+import com.aivle0102.bigproject.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 레시피/인플루언서 이미지를 SHA-256 내용 주소로 저장하고 URL로 노출한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStoreService {
+
+    public static final String URL_PREFIX = "/api/images/";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Pattern IMAGE_URL = Pattern.compile("/api/images/([0-9a-f]{64})$");
+    private static final Pattern DATA_URI = Pattern.compile("^data:([^;,]+)?(;base64)?,", Pattern.CASE_INSENSITIVE);
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final RecipeRepository recipeRepository;
+    private final InfluencerRepository influencerRepository;
+
+    @Value("${app.image-store.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    // data URI/base64 문자열 또는 기존 이미지 URL을 받아 저장 후 해시 반환
+    public String store(String imageValue) {
+        if (imageValue == null || imageValue.isBlank()) {
+            return null;
+        }
+        String value = imageValue.trim();
+        Matcher urlMatcher = IMAGE_URL.matcher(value);
+        if (urlMatcher.find()) {
+            // 조회 응답의 URL을 그대로 되돌려 보낸 경우 (이미지 변경 없음)
+            String hash = urlMatcher.group(1);
+            return imageBlobRepository.existsById(hash) ? hash : null;
+        }
+
+        String contentType = null;
+        String base64Data = value;
+        Matcher dataMatcher = DATA_URI.matcher(value);
+        if (dataMatcher.find()) {
+            contentType = dataMatcher.group(1);
+            base64Data = value.substring(dataMatcher.end());
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(base64Data);
+        } catch (IllegalArgumentException e) {
+            log.warn("이미지 base64 디코딩 실패: length={}", value.length());
+            return null;
+        }
+        return store(bytes, contentType);
+    }
+
+    public String store(byte[] bytes, String contentType) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        String hash = sha256(bytes);
+        // 존재 확인 후 저장하면 동시 요청끼리 같은 해시로 충돌하므로 INSERT ... ON CONFLICT DO NOTHING 한 번으로 처리
+        if (!imageBlobRepository.existsById(hash)) {
+            imageBlobRepository.insertIfAbsent(hash, resolveContentType(bytes, contentType), bytes.length, bytes);
+        }
+        return hash;
+    }
+
+    public Optional<ImageBlob> find(String hash) {
+        if (hash == null || hash.isBlank()) {
+            return Optional.empty();
+        }
+        return imageBlobRepository.findById(hash);
+    }
+
+    public Optional<ImageBlobRepository.ImageMetaView> findMeta(String hash) {
+        if (hash == null || hash.isBlank()) {
+            return Optional.empty();
+        }
+        return imageBlobRepository.findMetaByHash(hash);
+    }
+
+    // 전송 시 이미지 전체를 메모리에 올리지 않도록 구간 단위로 읽는다
+    public byte[] readChunk(String hash, long offset, int length) {
+        byte[] chunk = imageBlobRepository.readChunk(hash, Math.toIntExact(offset), length);
+        return chunk == null ? new byte[0] : chunk;
+    }
+
+    public boolean exists(String hash) {
+        return hash != null && !hash.isBlank() && imageBlobRepository.existsById(hash);
+    }
+
+    public String toUrl(String hash) {
+        if (hash == null || hash.isBlank()) {
+            return null;
+        }
+        return URL_PREFIX + hash;
+    }
+
+    // 신규 데이터는 URL, 이관 전 데이터는 기존 base64 그대로
+    public String resolveRecipeImage(Recipe recipe) {
+        if (recipe == null) {
+            return null;
+        }
+        String url = toUrl(recipe.getImageHash());
+        return url != null ? url : recipe.getImageBase64();
+    }
+
+    // 인플루언서 이미지는 URL(influencerImageUrl)과 이관 전 base64(influencerImageBase64)를 따로 내려준다
+    public String influencerImageUrl(Influencer influencer) {
+        return influencer == null ? null : toUrl(influencer.getInfluencerImageHash());
+    }
+
+    public String legacyInfluencerImage(Influencer influencer) {
+        if (influencer == null || influencer.getInfluencerImageHash() != null) {
+            return null;
+        }
+        return influencer.getInfluencerImage();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            migrateLegacyImages();
+        }
+    }
+
+    // TEXT 컬럼(base64)에 남아 있는 이미지를 저장소로 옮기고 원본 컬럼을 비운다.
+    public int migrateLegacyImages() {
+        int migrated = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<Recipe> batch = recipeRepository.findTop50ByIdGreaterThanAndImageBase64IsNotNullOrderByIdAsc(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Recipe recipe : batch) {
+                lastId = recipe.getId();
+                String hash = store(recipe.getImageBase64());
+                if (hash == null) {
+                    log.warn("레시피 이미지 이관 실패: recipeId={}", recipe.getId());
+                    continue;
+                }
+                recipe.setImageHash(hash);
+                recipe.setImageBase64(null);
+                migrated += 1;
+            }
+            recipeRepository.saveAll(batch);
+        }
+
+        lastId = 0L;
+        while (true) {
+            List<Influencer> batch = influencerRepository
+                    .findTop50ByIdGreaterThanAndInfluencerImageIsNotNullOrderByIdAsc(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Influencer influencer : batch) {
+                lastId = influencer.getId();
+                String hash = store(influencer.getInfluencerImage());
+                if (hash == null) {
+                    log.warn("인플루언서 이미지 이관 실패: influencerId={}", influencer.getId());
+                    continue;
+                }
+                influencer.setInfluencerImageHash(hash);
+                influencer.setInfluencerImage(null);
+                migrated += 1;
+            }
+            influencerRepository.saveAll(batch);
+        }
+        log.info("이미지 저장소 이관 완료: {}건", migrated);
+        return migrated;
+    }
+
+    private String resolveContentType(byte[] bytes, String declared) {
+        if (declared != null && !declared.isBlank()) {
+            return declared.trim().toLowerCase();
+        }
+        try {
+            String guessed = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(bytes));
+            return guessed == null ? DEFAULT_CONTENT_TYPE : guessed;
+        } catch (Exception e) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+    }
+
+    private String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 계산에 실패했습니다.", e);
+        }
+    }
+}
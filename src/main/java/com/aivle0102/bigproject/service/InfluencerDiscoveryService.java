@@ -7,7 +7,6 @@ import com.aivle0102.bigproject.dto.InfluencerRecommendRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -21,14 +20,37 @@ public class InfluencerDiscoveryService {
 
     private static final Logger log = LoggerFactory.getLogger(InfluencerDiscoveryService.class);
 
+    private static final Map<String, Object> PROFILE_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("name", "platform", "profileUrl", "imageUrl", "rationale", "riskNotes",
+                    "confidenceNote", "source"),
+            "properties", Map.of(
+                    "name", Map.of("type", "string"),
+                    "platform", Map.of("type", "string"),
+                    "profileUrl", Map.of("type", "string"),
+                    "imageUrl", Map.of("type", "string"),
+                    "rationale", Map.of("type", "string"),
+                    "riskNotes", Map.of("type", "string"),
+                    "confidenceNote", Map.of("type", "string"),
+                    "source", Map.of("type", "string")));
+
+    private static final Map<String, Object> RECOMMENDATION_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("recommendations"),
+            "properties", Map.of(
+                    "recommendations", Map.of(
+                            "type", "array",
+                            "items", PROFILE_SCHEMA)));
+
     private final SerpApiClient serpApiClient;
     private final OpenAiClient openAiClient;   // ✅ WebClient 대신 이걸 주입
+    private final ObjectMapper objectMapper;
 
     @Value("${openai.model}")
     private String textModel;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     public List<InfluencerProfile> recommend(InfluencerRecommendRequest req) {
         String q = buildSerpQuery(req);
         JsonNode serp = serpApiClient.googleSearch(q);
@@ -120,22 +142,7 @@ public class InfluencerDiscoveryService {
                 1) '실존' 인플루언서를 3~5명 추천하라.
                 2) 각 추천은 name/platform/profileUrl/imageUrl(가능하면 thumbnail)/rationale/riskNotes/confidenceNote/source 를 채워라.
                 3) 외부 실데이터(팔로워 수 등)는 확정할 수 없으니 "검증 필요"로 표기하고, 과장하지 마라.
-                4) 출력은 반드시 JSON 객체로 반환하라. (마크다운 금지)
-                   예시:
-                   {
-                     "recommendations": [
-                       {
-                         "name": "...",
-                         "platform": "...",
-                         "profileUrl": "...",
-                         "imageUrl": "...",
-                         "rationale": "...",
-                         "riskNotes": "...",
-                         "confidenceNote": "...",
-                         "source": "OpenAI + SerpApi"
-                       }
-                     ]
-                   }
+                4) source는 "OpenAI + SerpApi"로 채워라. 알 수 없는 값은 빈 문자열로 둔다.
 
                 타겟:
                 - 국가: %s
@@ -161,30 +168,20 @@ public class InfluencerDiscoveryService {
                         Map.of("role", "system", "content", "You are a precise assistant that outputs strict JSON only."),
                         Map.of("role", "user", "content", instructions)
                 ),
-                "response_format", Map.of("type", "json_object"),
                 "temperature", 0.2
         );
 
-        // ✅ 여기만 핵심 변경: WebClient 직접 호출 제거
-        String json = openAiClient.chatCompletion(body);
-        String cleaned = sanitizeJson(json);
-
+        // 출력 형식은 strict JSON schema로 강제하고 응답을 바로 바인딩
         try {
-            JsonNode root = objectMapper.readTree(cleaned);
-            if (root != null && root.isObject() && root.has("error")) {
-                log.warn("OpenAI 오류 응답: {}", root.get("error"));
-                throw new IllegalStateException("OpenAI 오류 응답");
+            RecommendationList result = openAiClient.structuredCompletion("influencer-recommendations", body,
+                    RECOMMENDATION_SCHEMA, RecommendationList.class);
+            if (result == null || result.recommendations() == null) {
+                throw new IllegalArgumentException("추천 목록이 비어있습니다");
             }
-            JsonNode arr = root;
-            if (root != null && root.isObject()) {
-                arr = root.get("recommendations");
-            }
-            if (arr != null && arr.isArray()) {
-                return objectMapper.convertValue(arr, new TypeReference<List<InfluencerProfile>>() {});
-            }
-            throw new IllegalArgumentException("예상치 못한 JSON 형태: " + cleaned);
-        } catch (Exception e) {
-            log.warn("LLM 파싱 실패: raw={}", json);
+            return result.recommendations();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // 호출 실패(네트워크/서킷)는 그대로 전파하고, 응답을 해석하지 못한 경우만 대체 결과를 돌려준다
+            log.warn("LLM 추천 결과 처리 실패: {}", e.getMessage());
             return List.of(new InfluencerProfile(
                     "N/A", nn(req.getPlatform()), "",
                     "",
@@ -201,19 +198,6 @@ public class InfluencerDiscoveryService {
         catch (Exception e) { return "[]"; }
     }
 
-    private String sanitizeJson(String raw) {
-        if (raw == null) return "";
-        String s = raw.trim();
-        if (s.startsWith("```")) {
-            int firstNewline = s.indexOf('\n');
-            int lastFence = s.lastIndexOf("```");
-            if (firstNewline >= 0 && lastFence > firstNewline) {
-                s = s.substring(firstNewline + 1, lastFence).trim();
-            }
-        }
-        return s;
-    }
-
     private String safeText(JsonNode node, String field) {
         JsonNode v = node.get(field);
         if (v == null || v.isNull()) return "";
@@ -221,4 +205,7 @@ public class InfluencerDiscoveryService {
     }
 
     private String nn(String s) { return s == null ? "" : s; }
+
+    private record RecommendationList(List<InfluencerProfile> recommendations) {
+    }
 }
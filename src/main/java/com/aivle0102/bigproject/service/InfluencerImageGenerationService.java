@@ -1,5 +1,7 @@
 package com.aivle0102.bigproject.service;
 
+import com.aivle0102.bigproject.client.LlmResilience;
+import com.aivle0102.bigproject.config.HttpClientRegistry;
 import com.aivle0102.bigproject.dto.ImageGenerateRequest;
 import com.aivle0102.bigproject.dto.ImageGenerateResponse;
 import org.slf4j.Logger;
@@ -8,36 +10,52 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
 import java.util.Base64;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 public class InfluencerImageGenerationService {
 
     private static final Logger log = LoggerFactory.getLogger(InfluencerImageGenerationService.class);
 
+    private static final String CIRCUIT_IMAGE = "openai-image";
+
+    // 인플루언서 원본 이미지 최대 크기
+    private static final int MAX_DOWNLOAD_BYTES = 20 * 1024 * 1024;
+
     private final WebClient openAiImageWebClient;
+    private final WebClient imageDownloadWebClient;
+    private final LlmResilience resilience;
 
     @Value("${openai.image-model}")
     private String imageModel;
 
     public InfluencerImageGenerationService(
-            @Qualifier("openAiImageWebClient") WebClient openAiImageWebClient
+            @Qualifier("openAiImageWebClient") WebClient openAiImageWebClient,
+            HttpClientRegistry httpClientRegistry,
+            LlmResilience resilience
     ) {
         this.openAiImageWebClient = openAiImageWebClient;
+        // 원본 이미지 다운로드 전용 풀(http.clients.image-download.*, 리다이렉트 허용)
+        this.imageDownloadWebClient = httpClientRegistry.webClientBuilder("image-download")
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(c -> c.defaultCodecs().maxInMemorySize(MAX_DOWNLOAD_BYTES))
+                        .build())
+                .build();
+        this.resilience = resilience;
     }
 
     public ImageGenerateResponse generate(ImageGenerateRequest req) {
@@ -86,13 +104,12 @@ public class InfluencerImageGenerationService {
             form.add("output_format", "png");
         }
 
-        Map<String, Object> res = openAiImageWebClient.post()
+        Map<String, Object> res = callImageApi(() -> openAiImageWebClient.post()
                 .uri("/images/edits")
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(form))
                 .retrieve()
-                .bodyToMono(Map.class)
-                .block();
+                .bodyToMono(Map.class));
 
         // OpenAI Images 응답: { data: [ { b64_json: "..." } ], ... }
         String b64 = extractB64(res);
@@ -116,13 +133,12 @@ public class InfluencerImageGenerationService {
 
         Map<String, Object> res;
         try {
-            res = openAiImageWebClient.post()
+            res = callImageApi(() -> openAiImageWebClient.post()
                     .uri("/images/generations")
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(body)
                     .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
+                    .bodyToMono(Map.class));
         } catch (WebClientResponseException e) {
             String bodyText = e.getResponseBodyAsString();
             return new ImageGenerateResponse(
@@ -151,6 +167,13 @@ public class InfluencerImageGenerationService {
         return new ImageGenerateResponse(b64, note);
     }
 
+    // 429/5xx는 재시도하고, 이미지 API가 계속 실패하면 회로 차단기로 바로 실패시킨다
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> callImageApi(Supplier<Mono<Map>> request) {
+        return (Map<String, Object>) resilience.call(CIRCUIT_IMAGE, null,
+                () -> resilience.guard(CIRCUIT_IMAGE, null, Mono.defer(request))).block();
+    }
+
     private String extractB64(Map<String, Object> res) {
         if (res == null) throw new RuntimeException("OpenAI 응답이 null입니다.");
         Object dataObj = res.get("data");
@@ -238,15 +261,7 @@ public class InfluencerImageGenerationService {
             return decodeDataUrl(url);
         }
 
-        WebClient dl = WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(
-                        HttpClient.create()
-                                .followRedirect(true)
-                                .responseTimeout(Duration.ofSeconds(30))
-                ))
-                .build();
-
-        return dl.get()
+        return imageDownloadWebClient.get()
                 .uri(url)
                 .header("User-Agent", "Mozilla/5.0")
                 .accept(MediaType.ALL)
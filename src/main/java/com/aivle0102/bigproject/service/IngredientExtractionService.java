@@ -1,8 +1,5 @@
 package com.aivle0102.bigproject.service;
 
-import com.aivle0102.bigproject.client.OpenAiClient;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -18,8 +15,16 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class IngredientExtractionService {
 
-    private final OpenAiClient openAiClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Map<String, Object> INGREDIENTS_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("ingredients"),
+            "properties", Map.of(
+                    "ingredients", Map.of(
+                            "type", "array",
+                            "items", Map.of("type", "string"))));
+
+    private final LlmResponseCacheService llmResponseCacheService;
 
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
@@ -42,15 +47,20 @@ public class IngredientExtractionService {
                 "temperature", 0.2
         );
 
-        String content = openAiClient.chatCompletion(body);
-        return postProcess(parseJsonArray(content));
+        try {
+            IngredientList result = llmResponseCacheService.structuredCompletion(
+                    "ingredient-extraction", body, INGREDIENTS_SCHEMA, IngredientList.class, true);
+            return postProcess(result.ingredients());
+        } catch (IllegalStateException e) {
+            return List.of();
+        }
     }
 
     private String buildPrompt(String stepsText) {
         return """
 조리 단계에서 실제로 사용된 재료와 용량을 추출하세요.
-반환 형식은 JSON 배열이며, 각 항목은 문자열입니다.
-한국어로 작성하세요. 설명, 마크다운, 추가 텍스트 없이 배열만 반환하세요.
+반환 형식은 JSON 객체이며, ingredients 배열의 각 항목은 문자열입니다.
+한국어로 작성하세요.
 
 조리 단계:
 %s
@@ -58,41 +68,6 @@ public class IngredientExtractionService {
                 .formatted(stepsText);
     }
 
-    private List<String> parseJsonArray(String content) {
-        if (content == null || content.isBlank()) {
-            return List.of();
-        }
-        String trimmed = content.trim();
-        String json = trimmed;
-        if (trimmed.startsWith("```")) {
-            json = trimmed.replaceFirst("^```[a-zA-Z]*\\s*", "");
-            json = json.replaceFirst("\\s*```$", "");
-        }
-        int start = json.indexOf('[');
-        int end = json.lastIndexOf(']');
-        if (start >= 0 && end > start) {
-            json = json.substring(start, end + 1);
-        }
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            if (!node.isArray()) {
-                return List.of();
-            }
-            List<String> out = new ArrayList<>();
-            for (JsonNode n : node) {
-                if (n.isTextual()) {
-                    String v = n.asText().trim();
-                    if (!v.isEmpty()) {
-                        out.add(v);
-                    }
-                }
-            }
-            return out;
-        } catch (Exception e) {
-            return List.of();
-        }
-    }
-
     private List<String> postProcess(List<String> raw) {
         if (raw == null || raw.isEmpty()) {
             return List.of();
@@ -114,4 +89,7 @@ public class IngredientExtractionService {
         }
         return out;
     }
+
+    private record IngredientList(List<String> ingredients) {
+    }
 }
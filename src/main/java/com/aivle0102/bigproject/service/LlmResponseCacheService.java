@@ -0,0 +1,241 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.client.StructuredOutputParser;
+import com.aivle0102.bigproject.domain.LlmResponseCacheEntry;
+import com.aivle0102.bigproject.repository.LlmResponseCacheRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// 입력이 같으면 같은 답을 써도 되는 LLM 호출용 캐시. 1단계 메모리 LRU, 2단계 llm_response_cache 테이블(TTL).
+// 캐시 사용 여부는 호출 위치에서 이 서비스를 거치는지로 정한다 (창작성 응답은 OpenAiClient를 직접 호출).
+@Service
+@Slf4j
+public class LlmResponseCacheService {
+
+    // 응답에 영향을 주는 요청 필드만 키에 넣는다
+    private static final List<String> KEY_FIELDS = List.of(
+            "model", "messages", "temperature", "response_format", "max_tokens");
+
+    private final OpenAiClient openAiClient;
+    private final StructuredOutputParser structuredOutputParser;
+    private final LlmResponseCacheRepository llmResponseCacheRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper keyMapper;
+
+    public LlmResponseCacheService(OpenAiClient openAiClient, StructuredOutputParser structuredOutputParser,
+            LlmResponseCacheRepository llmResponseCacheRepository, MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        this.openAiClient = openAiClient;
+        this.structuredOutputParser = structuredOutputParser;
+        this.llmResponseCacheRepository = llmResponseCacheRepository;
+        this.meterRegistry = meterRegistry;
+        // Map.of 등 순서가 없는 맵도 노드/재기동과 무관하게 같은 키가 나오도록 정렬해서 직렬화
+        this.keyMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    @Value("${app.llm-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.llm-cache.db-enabled:true}")
+    private boolean dbEnabled;
+
+    @Value("${app.llm-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.llm-cache.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${app.llm-cache.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    private Map<String, CachedResponse> memory;
+    private final AtomicLong lastPurgeAt = new AtomicLong(System.currentTimeMillis());
+
+    @PostConstruct
+    public void init() {
+        int capacity = Math.max(1, maxEntries);
+        memory = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("llm.cache.memory.size", memory, Map::size)
+                .description("LLM responses held in the in-memory cache tier")
+                .register(meterRegistry);
+    }
+
+    public String chatCompletion(String purpose, Map<String, Object> body) {
+        return getOrCompute(purpose, body, () -> openAiClient.chatCompletion(body));
+    }
+
+    // 사용자가 화면에서 기다리는 호출용. 미스일 때 지연 헤징을 켜서 호출한다.
+    public String chatCompletionHedged(String purpose, Map<String, Object> body) {
+        return getOrCompute(purpose, body, () -> openAiClient.chatCompletionHedged(purpose, body));
+    }
+
+    // 구조화 출력 호출(schema가 null이면 json_object 모드). 해석에 실패했거나 잘린 응답을 복구한 경우는 저장하지 않는다.
+    public <T> T structuredCompletion(String purpose, Map<String, Object> body, Map<String, Object> schema,
+            Class<T> type, boolean hedged) {
+        Map<String, Object> request = StructuredOutputParser.withResponseFormat(body, purpose, schema);
+        AtomicReference<T> fresh = new AtomicReference<>();
+        String cached = getOrCompute(purpose, request, () -> {
+            String content = hedged
+                    ? openAiClient.chatCompletionHedged(purpose, request)
+                    : openAiClient.chatCompletion(request);
+            StructuredOutputParser.Parsed<T> parsed = structuredOutputParser.parseDetailed(purpose, content, type);
+            fresh.set(parsed.value());
+            return parsed.repaired() ? null : content;
+        });
+        return fresh.get() != null ? fresh.get() : structuredOutputParser.parse(purpose, cached, type);
+    }
+
+    // OpenAiClient를 거치지 않는 호출(직접 HTTP 호출 등)용. call이 null/빈 값을 돌려주면 저장하지 않는다.
+    public String getOrCompute(String purpose, Map<String, Object> body, Supplier<String> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        String key = cacheKey(body);
+
+        CachedResponse cached = memory.get(key);
+        if (cached != null && !cached.isExpired()) {
+            hit(purpose, "memory", cached.latencyMs());
+            return cached.response();
+        }
+
+        LlmResponseCacheEntry stored = findStored(key);
+        if (stored != null) {
+            memory.put(key, new CachedResponse(stored.getResponse(), stored.getLatencyMs(),
+                    toEpochMillis(stored.getExpiresAt())));
+            hit(purpose, "db", stored.getLatencyMs());
+            return stored.getResponse();
+        }
+
+        count(purpose, "miss");
+        long startedAt = System.nanoTime();
+        String response = call.get();
+        long latencyMs = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        if (response != null && !response.isBlank()) {
+            store(key, purpose, body, response, latencyMs);
+        }
+        return response;
+    }
+
+    private String cacheKey(Map<String, Object> body) {
+        Map<String, Object> keyFields = new LinkedHashMap<>();
+        for (String field : KEY_FIELDS) {
+            if (body.containsKey(field)) {
+                keyFields.put(field, body.get(field));
+            }
+        }
+        try {
+            return RequestCoalescer.fingerprint(keyMapper.writeValueAsString(keyFields));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("LLM 캐시 키 계산에 실패했습니다.", e);
+        }
+    }
+
+    private LlmResponseCacheEntry findStored(String key) {
+        if (!dbEnabled) {
+            return null;
+        }
+        try {
+            return llmResponseCacheRepository.findById(key)
+                    .filter(entry -> entry.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            // 캐시 장애로 호출이 실패하지 않도록 미스로 처리
+            log.warn("LLM 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, String purpose, Map<String, Object> body, String response, long latencyMs) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(Math.max(1, ttlHours));
+        memory.put(key, new CachedResponse(response, latencyMs, toEpochMillis(expiresAt)));
+        if (!dbEnabled) {
+            return;
+        }
+        Object model = body.get("model");
+        try {
+            llmResponseCacheRepository.save(LlmResponseCacheEntry.builder()
+                    .cacheKey(key)
+                    .purpose(purpose)
+                    .model(model == null ? null : model.toString())
+                    .response(response)
+                    .latencyMs(latencyMs)
+                    .createdAt(now)
+                    .expiresAt(expiresAt)
+                    .build());
+            purgeExpiredIfDue();
+        } catch (DataAccessException e) {
+            // 다른 노드가 같은 키를 먼저 저장한 경우 포함
+            log.debug("LLM 캐시 저장 건너뜀: {}", e.getMessage());
+        }
+    }
+
+    // 별도 스케줄러 없이 저장하는 요청이 주기마다 한 번 만료 행을 정리한다
+    private void purgeExpiredIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastPurgeAt.get();
+        if (now - last < Math.max(1, purgeIntervalMinutes) * 60_000L || !lastPurgeAt.compareAndSet(last, now)) {
+            return;
+        }
+        int deleted = llmResponseCacheRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 LLM 캐시 {}건 삭제", deleted);
+        }
+    }
+
+    private void hit(String purpose, String tier, long latencyMs) {
+        count(purpose, tier + "_hit");
+        Timer.builder("llm.cache.saved.latency")
+                .description("Original LLM call latency avoided by cache hits")
+                .tag("purpose", purpose)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(latencyMs));
+    }
+
+    private void count(String purpose, String result) {
+        Counter.builder("llm.cache.requests")
+                .description("LLM response cache lookups by tier outcome")
+                .tag("purpose", purpose)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record CachedResponse(String response, long latencyMs, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
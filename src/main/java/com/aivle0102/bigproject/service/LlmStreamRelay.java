@@ -0,0 +1,85 @@
+package com.aivle0102.bigproject.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// LLM 토큰 스트림을 브라우저 SSE로 중계한다.
+// delta 이벤트로 조각을 바로 보내고, 끝나면 조립한 전체 응답을 finisher로 검증/저장한 뒤 done 이벤트로 결과를 보낸다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmStreamRelay {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.llm-stream.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    public SseEmitter relay(String stream, Flux<String> deltas, Function<String, Object> finisher) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(Math.max(1, timeoutSeconds)));
+        long startedAt = System.nanoTime();
+        AtomicBoolean firstToken = new AtomicBoolean(true);
+        StringBuilder assembled = new StringBuilder();
+
+        Disposable subscription = deltas
+                // finisher(저장 등 블로킹 작업)가 네트워크 스레드에서 돌지 않도록
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(delta -> {
+                    if (firstToken.compareAndSet(true, false)) {
+                        record("llm.stream.first-token", stream, startedAt);
+                    }
+                    assembled.append(delta);
+                    send(emitter, "delta", Map.of("text", delta));
+                })
+                .then(Mono.fromCallable(() -> finisher.apply(assembled.toString())))
+                .subscribe(
+                        result -> {
+                            record("llm.stream.duration", stream, startedAt);
+                            send(emitter, "done", result);
+                            emitter.complete();
+                        },
+                        error -> {
+                            log.warn("LLM 스트림 실패: {} - {}", stream, error.getMessage());
+                            send(emitter, "error", Map.of("message", "생성에 실패했습니다."));
+                            emitter.complete();
+                        },
+                        emitter::complete);
+
+        // 브라우저 연결이 끊기면 OpenAI 요청도 취소
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException ignored) {
+            // 이미 닫힌 연결
+        }
+    }
+
+    private void record(String metric, String stream, long startedAt) {
+        Timer.builder(metric)
+                .description("LLM token streaming latency")
+                .tag("stream", stream)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,8 +1,10 @@
 package com.aivle0102.bigproject.service;
 
+import com.aivle0102.bigproject.config.PaginationConfig;
 import com.aivle0102.bigproject.domain.Notice;
 import com.aivle0102.bigproject.domain.NoticeComment;
 import com.aivle0102.bigproject.domain.UserInfo;
+import com.aivle0102.bigproject.dto.CursorPage;
 import com.aivle0102.bigproject.dto.NoticeCommentRequest;
 import com.aivle0102.bigproject.dto.NoticeCommentResponse;
 import com.aivle0102.bigproject.dto.NoticeRequest;
@@ -11,12 +13,15 @@ import com.aivle0102.bigproject.exception.CustomException;
 import com.aivle0102.bigproject.repository.NoticeCommentRepository;
 import com.aivle0102.bigproject.repository.NoticeRepository;
 import com.aivle0102.bigproject.repository.UserInfoRepository;
+import com.aivle0102.bigproject.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,20 +30,31 @@ public class NoticeService {
     private final NoticeRepository noticeRepository;
     private final NoticeCommentRepository noticeCommentRepository;
     private final UserInfoRepository userInfoRepository;
+    private final PaginationConfig paginationConfig;
+    private final UserIdentityService userIdentityService;
 
     @Transactional(readOnly = true)
-    public List<NoticeResponse> getNotices(String userId) {
+    public CursorPage<NoticeResponse> getNotices(String userId, String cursor, Integer size) {
         Long companyId = userId == null ? null : resolveCompanyId(userId);
-        List<Notice> notices = companyId == null
-                ? noticeRepository.findAllByOrderByCreatedAtDesc()
-                : noticeRepository.findByCompanyIdOrCompanyIdIsNullOrderByCreatedAtDesc(companyId);
-        return notices
-                .stream()
-                .map(notice -> {
-                    notice.setAuthorName(resolveUserName(notice.getAuthorId()));
-                    return NoticeResponse.from(notice);
-                })
-                .toList();
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolveSize(size);
+        Slice<Notice> notices = companyId == null
+                ? noticeRepository.findPage(position.createdAt(), position.id(),
+                        paginationConfig.firstPage(pageSize))
+                : noticeRepository.findPageForCompany(companyId, position.createdAt(), position.id(),
+                        paginationConfig.firstPage(pageSize));
+        return CursorPage.of(notices, paginationConfig.streamChunkSize(),
+                notice -> KeysetCursor.encode(notice.getCreatedAt(), notice.getId()),
+                page -> {
+                    Map<String, UserIdentityService.UserIdentity> authors = userIdentityService.resolveAll(
+                            page.stream().map(Notice::getAuthorId).toList());
+                    return page.stream()
+                            .map(notice -> {
+                                notice.setAuthorName(authorName(authors, notice.getAuthorId()));
+                                return NoticeResponse.from(notice);
+                            })
+                            .toList();
+                });
     }
 
     @Transactional(readOnly = true)
@@ -79,10 +95,13 @@ public class NoticeService {
     @Transactional(readOnly = true)
     public List<NoticeCommentResponse> getComments(Long noticeId) {
         findNotice(noticeId);
-        return noticeCommentRepository.findAllByNoticeIdOrderByCreatedAtAsc(noticeId)
+        List<NoticeComment> comments = noticeCommentRepository.findAllByNoticeIdOrderByCreatedAtAsc(noticeId);
+        Map<String, UserIdentityService.UserIdentity> authors = userIdentityService.resolveAll(
+                comments.stream().map(NoticeComment::getAuthorId).toList());
+        return comments
                 .stream()
                 .map(comment -> {
-                    comment.setAuthorName(resolveUserName(comment.getAuthorId()));
+                    comment.setAuthorName(authorName(authors, comment.getAuthorId()));
                     return NoticeCommentResponse.from(comment);
                 })
                 .toList();
@@ -142,14 +161,15 @@ public class NoticeService {
     }
 
     private String resolveUserName(String userId) {
-        return userInfoRepository.findByUserId(userId)
-                .map(UserInfo::getUserName)
-                .orElse(userId);
+        return userIdentityService.resolveUserName(userId);
     }
 
     private Long resolveCompanyId(String userId) {
-        return userInfoRepository.findByUserId(userId)
-                .map(UserInfo::getCompanyId)
-                .orElse(null);
+        return userIdentityService.resolveCompanyId(userId);
+    }
+
+    private String authorName(Map<String, UserIdentityService.UserIdentity> authors, String userId) {
+        UserIdentityService.UserIdentity identity = authors.get(userId);
+        return identity == null ? userId : identity.userName();
     }
 }
@@ -1,23 +1,123 @@
 package com.aivle0102.bigproject.service;
 
 import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
 import com.aivle0102.bigproject.dto.AgeGroupResult;
 import com.aivle0102.bigproject.domain.VirtualConsumer;
+import com.aivle0102.bigproject.util.AsyncLimiter;
+import com.aivle0102.bigproject.util.TimedTasks;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PersonaService {
 
     private final OpenAiClient openAiClient;
+    private final LlmResponseCacheService llmResponseCacheService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private static final String MODE_PER_COUNTRY = "per-country";
+    private static final String MODE_BATCH = "batch";
+
+    private static final Map<String, Object> PERSONA_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("country", "ageGroup", "personaName", "lifestyle",
+                    "foodPreference", "purchaseCriteria", "HMRUsageContext",
+                    "attitudeToKFood", "evaluationPerspective"),
+            "properties", Map.of(
+                    "country", Map.of("type", "string"),
+                    "ageGroup", Map.of("type", "string"),
+                    "personaName", Map.of("type", "string"),
+                    "lifestyle", Map.of("type", "string"),
+                    "foodPreference", Map.of("type", "string"),
+                    "purchaseCriteria", Map.of(
+                            "type", "array",
+                            "items", Map.of("type", "string")),
+                    "HMRUsageContext", Map.of("type", "string"),
+                    "attitudeToKFood", Map.of("type", "string"),
+                    "evaluationPerspective", Map.of("type", "string")));
+
+    private static final Map<String, Object> PERSONA_BATCH_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("personas"),
+            "properties", Map.of(
+                    "personas", Map.of(
+                            "type", "array",
+                            "items", PERSONA_SCHEMA)));
+
+    private static final List<String> AGE_GROUPS = List.of(
+            "0-10", "11-20", "21-30", "31-40", "41-50", "51-60", "61-70", "71-80", "81-90");
+
+    // 연령대는 선택 범위 안의 값만 허용 (자유 텍스트 파싱 없이 바로 바인딩, 잘린 응답은 캐시에 남지 않음)
+    private static final Map<String, Object> AGE_GROUP_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("results"),
+            "properties", Map.of(
+                    "results", Map.of(
+                            "type", "array",
+                            "items", Map.of(
+                                    "type", "object",
+                                    "additionalProperties", false,
+                                    "required", List.of("country", "ageGroup", "reason"),
+                                    "properties", Map.of(
+                                            "country", Map.of("type", "string"),
+                                            "ageGroup", Map.of("type", "string", "enum", AGE_GROUPS),
+                                            "reason", Map.of("type", "string"))))));
+
+    // per-country: 국가별 개별 호출, batch: 한 번의 structured output 호출 (실패 항목만 개별 호출)
+    @Value("${app.persona.generation-mode:per-country}")
+    private String generationMode;
+
+    @Value("${app.persona.batch-timeout-seconds:120}")
+    private long batchTimeoutSeconds;
+
+    @Value("${app.persona.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.persona.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    // 동시 호출 수 제한. 응답을 기다리는 동안 스레드를 잡지 않는다.
+    private AsyncLimiter personaLimiter;
+
+    @PostConstruct
+    public void init() {
+        personaLimiter = new AsyncLimiter(concurrency);
+    }
+
+    // 대상 수 기준 최악의 생성 시간: 동시 호출 수만큼씩 나눠 실행, batch 모드는 일괄 호출 후 국가별 대체 호출까지
+    public Duration generationBudget(int targets) {
+        int limit = Math.max(1, concurrency);
+        long waves = (Math.max(1, targets) + limit - 1) / limit;
+        long seconds = waves * Math.max(1, timeoutSeconds);
+        if (MODE_BATCH.equalsIgnoreCase(generationMode) && targets > 1) {
+            seconds += Math.max(1, batchTimeoutSeconds);
+        }
+        return Duration.ofSeconds(seconds);
+    }
 
     // 1. 레시피에 맞는 국가별 연령대 Top1 뽑기
     public List<AgeGroupResult> selectTopAgeGroups(String recipe, List<String> countries) {
@@ -29,38 +129,100 @@ public class PersonaService {
                         Map.of("role", "user", "content", prompt)),
                 "temperature", 0.2);
 
-        String response = openAiClient.chatCompletion(body);
-
-        // System.out.println("파싱이 이상하다 뭐지..." + response);
-
-        return parseMultiCountryResult(response);
+        AgeGroupSelection selection = llmResponseCacheService.structuredCompletion("age-group-selection", body,
+                AGE_GROUP_SCHEMA, AgeGroupSelection.class, false);
+        if (selection == null || selection.results() == null) {
+            return List.of();
+        }
+        return selection.results().stream()
+                .filter(result -> result != null
+                        && result.getCountry() != null && !result.getCountry().isBlank()
+                        && AGE_GROUPS.contains(result.getAgeGroup()))
+                .toList();
     }
 
-    // 2. 국가별 Top1 연령대의 AI 페르소나 각각 생성 배치
+    // 2. 국가별 Top1 연령대의 AI 페르소나 각각 생성 배치 (동시 생성, 입력 순서 유지)
     public List<VirtualConsumer> generatePersonas(String recipeSummary, List<AgeGroupResult> targets) {
 
         List<VirtualConsumer> personas = new ArrayList<>();
         if (targets == null || targets.isEmpty())
             return personas;
 
-        for (AgeGroupResult t : targets) {
+        for (CompletableFuture<VirtualConsumer> future : generatePersonasAsync(recipeSummary, targets)) {
             try {
-                VirtualConsumer persona = generatePersonaOne(recipeSummary, t.getCountry(), t.getAgeGroup());
-                personas.add(persona);
-
-            } catch (Exception e) {
-                // 한 국가 실패해도 전체 중단하지 않기
-                System.err.println("[페르소나 생성 실패] country=" + t.getCountry() + " / " + e.getMessage());
+                personas.add(future.join());
+            } catch (CompletionException | CancellationException ignored) {
+                // generatePersonasAsync에서 이미 로그를 남김
             }
         }
 
         return personas;
     }
 
-    // 단일 국가 1명 생성
-    private VirtualConsumer generatePersonaOne(String recipeSummary, String country, String ageGroup) throws Exception {
+    // 대상별 생성 작업을 입력 순서대로 반환. 호출 측은 완료된 페르소나부터 바로 다음 단계(평가)를 이어갈 수 있다.
+    public List<CompletableFuture<VirtualConsumer>> generatePersonasAsync(String recipeSummary,
+            List<AgeGroupResult> targets) {
+        if (targets == null || targets.isEmpty()) {
+            return List.of();
+        }
+        boolean batch = MODE_BATCH.equalsIgnoreCase(generationMode) && targets.size() > 1;
+        List<CompletableFuture<VirtualConsumer>> futures = batch
+                ? generateBatchAsync(recipeSummary, targets)
+                : targets.stream().map(t -> generateOneAsync(recipeSummary, t)).toList();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> sample.stop(Timer.builder("persona.generation.duration")
+                        .description("Wall time to generate all personas of one report")
+                        .tag("mode", batch ? MODE_BATCH : MODE_PER_COUNTRY)
+                        .register(meterRegistry)));
+        return futures;
+    }
 
-        String prompt = buildPersonaPrompt(recipeSummary, country, ageGroup);
+    private CompletableFuture<VirtualConsumer> generateOneAsync(String recipeSummary, AgeGroupResult t) {
+        CompletableFuture<VirtualConsumer> future = personaLimiter.submit(
+                () -> generatePersonaOne(recipeSummary, t.getCountry(), t.getAgeGroup()).toFuture());
+        future.whenComplete((persona, error) -> {
+            if (error != null) {
+                // 한 국가 실패해도 전체 중단하지 않기
+                Throwable cause = TimedTasks.cause(error);
+                log.warn("[페르소나 생성 실패] country={} / {}", t.getCountry(),
+                        cause instanceof TimeoutException ? "시간 초과" : cause.getMessage());
+            }
+        });
+        return future;
+    }
+
+    // 전체 국가를 한 번의 structured output 호출로 생성. 검증에 실패한 항목만 국가별 호출로 다시 만든다.
+    private List<CompletableFuture<VirtualConsumer>> generateBatchAsync(String recipeSummary,
+            List<AgeGroupResult> targets) {
+        CompletableFuture<List<VirtualConsumer>> batch = personaLimiter.submit(
+                () -> generatePersonaBatch(recipeSummary, targets).toFuture());
+        List<CompletableFuture<VirtualConsumer>> futures = new ArrayList<>();
+        for (AgeGroupResult t : targets) {
+            futures.add(batch
+                    .handle((personas, error) -> {
+                        if (error != null) {
+                            Throwable cause = TimedTasks.cause(error);
+                            log.warn("[페르소나 일괄 생성 실패] country={} / {}", t.getCountry(),
+                                    cause instanceof TimeoutException ? "시간 초과" : cause.getMessage());
+                            return null;
+                        }
+                        return findValidPersona(personas, t);
+                    })
+                    .thenCompose(persona -> {
+                        if (persona != null) {
+                            return CompletableFuture.completedFuture(persona);
+                        }
+                        meterRegistry.counter("persona.generation.fallbacks").increment();
+                        return generateOneAsync(recipeSummary, t);
+                    }));
+        }
+        return futures;
+    }
+
+    private Mono<List<VirtualConsumer>> generatePersonaBatch(String recipeSummary, List<AgeGroupResult> targets) {
+
+        String prompt = buildPersonaBatchPrompt(recipeSummary, targets);
 
         Map<String, Object> body = Map.of(
                 "model", "gpt-4o-mini",
@@ -68,41 +230,74 @@ public class PersonaService {
                         Map.of("role", "user", "content", prompt)),
                 "temperature", 0.2);
 
-        String content = openAiClient.chatCompletion(body);
+        // 응답이 잘려도 완성된 페르소나까지는 살리고, 나머지 국가만 개별 호출로 대체
+        return openAiClient.structuredCompletionAsync("persona-batch", body, PERSONA_BATCH_SCHEMA,
+                        PersonaBatch.class, OpenAiRateGovernor.Lane.BACKGROUND,
+                        Duration.ofSeconds(Math.max(1, batchTimeoutSeconds)))
+                .map(this::toPersonas);
+    }
 
-        // JSON 파싱
-        return objectMapper.readValue(content, VirtualConsumer.class);
+    private List<VirtualConsumer> toPersonas(PersonaBatch batch) {
+        List<VirtualConsumer> personas = new ArrayList<>();
+        if (batch.personas() == null) {
+            return personas;
+        }
+        for (JsonNode item : batch.personas()) {
+            try {
+                personas.add(objectMapper.treeToValue(item, VirtualConsumer.class));
+            } catch (Exception e) {
+                // 잘못된 항목은 건너뛰고 해당 국가만 개별 호출로 대체
+            }
+        }
+        return personas;
     }
 
-    // 응답 데이터 파싱
-    private List<AgeGroupResult> parseMultiCountryResult(String response) {
+    // 국가/연령대가 일치하고 필수 항목이 채워진 페르소나만 인정
+    private VirtualConsumer findValidPersona(List<VirtualConsumer> personas, AgeGroupResult target) {
+        if (personas == null) {
+            return null;
+        }
+        for (VirtualConsumer persona : personas) {
+            if (persona == null
+                    || !sameText(persona.getCountry(), target.getCountry())
+                    || !sameText(persona.getAgeGroup(), target.getAgeGroup())) {
+                continue;
+            }
+            // 마지막 필드(evaluationPerspective)가 비어 있으면 잘린 응답을 복구한 항목으로 본다
+            boolean valid = !isBlank(persona.getPersonaName())
+                    && !isBlank(persona.getFoodPreference())
+                    && !isBlank(persona.getEvaluationPerspective())
+                    && persona.getPurchaseCriteria() != null
+                    && !persona.getPurchaseCriteria().isEmpty();
+            return valid ? persona : null;
+        }
+        return null;
+    }
 
-        List<AgeGroupResult> results = new ArrayList<>();
-        String[] blocks = response.split("- ");
+    private boolean sameText(String a, String b) {
+        return a != null && b != null && a.trim().equalsIgnoreCase(b.trim());
+    }
 
-        for (String block : blocks) {
-            if (block.isBlank())
-                continue;
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 
-            String country = extract(block, "국가:");
-            String ageGroup = extract(block, "연령대:");
-            String reason = extract(block, "선정 이유:");
+    // 단일 국가 1명 생성
+    private Mono<VirtualConsumer> generatePersonaOne(String recipeSummary, String country, String ageGroup) {
 
-            results.add(new AgeGroupResult(country, ageGroup, reason));
-        }
+        String prompt = buildPersonaPrompt(recipeSummary, country, ageGroup);
 
-        return results;
-    }
+        Map<String, Object> body = Map.of(
+                "model", "gpt-4o-mini",
+                "messages", List.of(
+                        Map.of("role", "user", "content", prompt)),
+                "temperature", 0.2);
 
-    // 문자열 파서
-    private String extract(String text, String key) {
-        return Arrays.stream(text.split("\n"))
-                .filter(line -> line.contains(key))
-                .findFirst()
-                .map(line -> line.replace(key, "").trim())
-                .orElse("");
+        return openAiClient.structuredCompletionAsync("persona", body, PERSONA_SCHEMA, VirtualConsumer.class,
+                OpenAiRateGovernor.Lane.BACKGROUND, Duration.ofSeconds(Math.max(1, timeoutSeconds)));
     }
 
+    // 응답 데이터 파싱
     // 국가별 연령대 선정 프롬프트
     private String buildMultiCountryAgeGroupPrompt(String recipe, List<String> countries) {
         return """
@@ -139,11 +334,10 @@ public class PersonaService {
 
 
                 [출력 형식]
-                국가별로 아래 형식을 반복 출력하라.
-
-                - 국가: 국가명
-                  연령대: 선택한 연령대
-                  선정 이유: 2~3문장 요약
+                results 배열에 국가마다 한 항목씩 담아라.
+                - country: 평가 대상 국가 목록에 적힌 국가명 그대로
+                - ageGroup: 연령대 선택 범위 중 하나
+                - reason: 선정 이유 2~3문장 요약
 
                 모든 판단은 추정 및 가설 기반임을 전제로 작성하라.
                 """
@@ -152,6 +346,37 @@ public class PersonaService {
                         String.join(", ", countries));
     }
 
+    // 여러 국가의 페르소나를 한 번에 생성하는 프롬프트 (출력 형식은 JSON schema로 강제)
+    private String buildPersonaBatchPrompt(String recipeSummary, List<AgeGroupResult> targets) {
+        StringBuilder targetLines = new StringBuilder();
+        for (AgeGroupResult t : targets) {
+            targetLines.append("- 국가: ").append(t.getCountry())
+                    .append(" / 연령대: ").append(t.getAgeGroup())
+                    .append('\n');
+        }
+        return """
+                당신은 글로벌 식품 기업에서 활용하는 소비자 페르소나 시뮬레이션 AI다.
+
+                아래 정보를 바탕으로, 대상 목록의 국가와 연령대마다
+                그 국가·연령대를 대표하는 현실적인 소비자 AI 페르소나를 1명씩 생성하라.
+                이 페르소나들은 이후 신메뉴 평가 시 "AI 심사위원" 역할을 수행한다.
+
+                [레시피 요약]
+                %s
+
+                [대상 목록]
+                %s
+                [작성 가이드]
+                - personas 배열에 대상 목록 순서대로 1명씩 작성
+                - country, ageGroup은 대상 목록의 값을 그대로 사용
+                - purchaseCriteria는 3개
+                - 과장 금지, 마케팅 문구 금지
+                - 해당 국가의 문화/식습관/구매행동을 반영
+                - 문장 어미는 "~니다" 대신 단어로 끝나는 보고서 메모 톤
+                """
+                .formatted(recipeSummary, targetLines);
+    }
+
     // AI 페르소나 1명을 생성하는 프롬프트
     private String buildPersonaPrompt(String recipeSummary, String country, String ageGroup) {
         return """
@@ -189,4 +414,10 @@ public class PersonaService {
 
                 .formatted(country, ageGroup, recipeSummary, country, ageGroup);
     }
+
+    private record PersonaBatch(List<JsonNode> personas) {
+    }
+
+    private record AgeGroupSelection(List<AgeGroupResult> results) {
+    }
 }
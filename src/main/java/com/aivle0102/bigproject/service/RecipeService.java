@@ -1,11 +1,12 @@
 package com.aivle0102.bigproject.service;
 
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
+import com.aivle0102.bigproject.config.PaginationConfig;
 import com.aivle0102.bigproject.domain.Influencer;
 import com.aivle0102.bigproject.domain.MarketReport;
 import com.aivle0102.bigproject.domain.Recipe;
 import com.aivle0102.bigproject.domain.RecipeAllergen;
 import com.aivle0102.bigproject.domain.RecipeIngredient;
-import com.aivle0102.bigproject.domain.UserInfo;
 import com.aivle0102.bigproject.domain.ConsumerFeedback;
 import com.aivle0102.bigproject.dto.*;
 import com.aivle0102.bigproject.domain.VirtualConsumer;
@@ -14,37 +15,41 @@ import com.aivle0102.bigproject.repository.MarketReportRepository;
 import com.aivle0102.bigproject.repository.RecipeAllergenRepository;
 import com.aivle0102.bigproject.repository.RecipeIngredientRepository;
 import com.aivle0102.bigproject.repository.RecipeRepository;
-import com.aivle0102.bigproject.repository.UserInfoRepository;
+import com.aivle0102.bigproject.repository.ReportJobRepository;
 import com.aivle0102.bigproject.repository.ConsumerFeedbackRepository;
 import com.aivle0102.bigproject.repository.VirtualConsumerRepository;
+import com.aivle0102.bigproject.util.KeysetCursor;
+import com.aivle0102.bigproject.util.StageGraph;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.function.BiConsumer;
-import java.util.function.ToIntFunction;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
-import javax.imageio.ImageIO;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecipeService {
@@ -79,18 +84,47 @@ public class RecipeService {
             "conceptIdeas", 12,
             "kpis", 12,
             "nextSteps", 8);
+    // 섹션별로 결과에 영향을 주는 입력. 제목/설명만 바뀌면 섹션을 다시 만들지 않는다.
+    private static final String INPUT_INGREDIENTS = "ingredients";
+    private static final String INPUT_STEPS = "steps";
+    private static final String INPUT_COUNTRY = "targetCountry";
+    private static final String INPUT_PERSONA = "targetPersona";
+    private static final String INPUT_PRICE = "priceRange";
+    private static final Map<String, List<String>> REPORT_SECTION_INPUTS = Map.of(
+            "executiveSummary", List.of(INPUT_INGREDIENTS, INPUT_STEPS, INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE),
+            "marketSnapshot", List.of(INPUT_INGREDIENTS, INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE),
+            "riskAssessment", List.of(INPUT_INGREDIENTS, INPUT_STEPS, INPUT_COUNTRY),
+            "swot", List.of(INPUT_INGREDIENTS, INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE),
+            "conceptIdeas", List.of(INPUT_INGREDIENTS, INPUT_STEPS, INPUT_PERSONA),
+            "kpis", List.of(INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE),
+            "nextSteps", List.of(INPUT_INGREDIENTS, INPUT_STEPS, INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE));
+    private static final String FINGERPRINT_SUMMARY = "_summary";
+    private static final String FINGERPRINT_PANEL = "_panel";
     private static final int WEIGHT_PREP = 5;
     private static final int WEIGHT_SUMMARY = 8;
     private static final int WEIGHT_SAVE = 7;
     private static final int WEIGHT_ALLERGEN = 6;
     private static final int WEIGHT_EVALUATION = 10;
+    private static final String STAGE_REPORT = "report";
+    private static final String STAGE_SUMMARY = "summary";
+    private static final String STAGE_ALLERGEN = "allergen";
+    private static final String STAGE_SAVE = "save";
+    private static final String STAGE_AGE_GROUPS = "ageGroups";
+    private static final String STAGE_PERSONAS = "personas";
+    private static final String STAGE_EVALUATION = "evaluation";
+    private static final String LIST_VIEW_HUB = "hub";
+    private static final String LIST_VIEW_AUTHOR = "author";
+    private static final String COALESCE_RECIPE = "recipe";
+    private static final String COALESCE_RECIPE_JOB = "recipe-job";
+    private static final String COALESCE_REPORT = "report";
 
     private final RecipeRepository recipeRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
     private final MarketReportRepository marketReportRepository;
+    private final ReportJobRepository reportJobRepository;
     private final RecipeAllergenRepository recipeAllergenRepository;
     private final InfluencerRepository influencerRepository;
-    private final UserInfoRepository userInfoRepository;
+    private final UserIdentityService userIdentityService;
     private final AiReportService aiReportService;
     private final AllergenAnalysisService allergenAnalysisService;
     private final PersonaService personaService;
@@ -99,11 +133,34 @@ public class RecipeService {
     private final EvaluationService evaluationService;
     private final RecipeCaseService recipeCaseService;
     private final ReportProgressTracker reportProgressTracker;
+    private final RecipeThumbnailService recipeThumbnailService;
+    private final ImageStoreService imageStoreService;
+    private final MeterRegistry meterRegistry;
+    private final PaginationConfig paginationConfig;
+    private final ResponseCacheService responseCacheService;
+    private final EvaluationSummaryService evaluationSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportPipelineExecutor reportPipelineExecutor;
+    private final RequestCoalescer requestCoalescer;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Transactional
     public RecipeResponse create(String authorId, RecipeCreateRequest request) {
-        String authorName = resolveUserName(authorId);
+        return create(authorId, request, null);
+    }
+
+    // 같은 내용의 중복 등록(더블 클릭/재시도)은 진행 중인 생성에 합류하거나 저장된 레시피를 돌려준다
+    // 보고서/평가가 끝날 때까지 요청 스레드를 잡으므로 작업 경로(ReportJobService.submitRecipe)를 쓴다.
+    @Deprecated
+    public RecipeResponse create(String authorId, RecipeCreateRequest request, String idempotencyKey) {
+        RequestCoalescer.Outcome outcome = requestCoalescer.execute(
+                new RequestCoalescer.Key(COALESCE_RECIPE, authorId, idempotencyKey, recipeRequestHash(request)),
+                null, null, () -> createRecipe(authorId, request));
+        return transactionTemplate.execute(status -> toResponse(recipeRepository.findById(outcome.resultId())
+                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."))));
+    }
+
+    // 보고서/요약/알레르기 분석(외부 호출)은 트랜잭션 밖에서 먼저 실행하고, 저장은 짧은 트랜잭션으로 처리
+    private Long createRecipe(String authorId, RecipeCreateRequest request) {
         Long companyId = resolveCompanyId(authorId);
         String rawTargetCountry = defaultIfBlank(request.getTargetCountry(), "US");
         String normalizedTargetCountry = normalizeCountryCode(rawTargetCountry);
@@ -163,83 +220,123 @@ public class RecipeService {
             openYn = OPEN_YN_N;
         }
 
-        Recipe recipe = Recipe.builder()
+        String recipeOpenYn = openYn;
+        String contentJson = reportJson;
+        String fingerprints = includeReportJson
+                ? reportFingerprints(reportSections, reportRequest, request.getIngredients(), request.getSteps(),
+                        reportJson, includeEvaluation)
+                : null;
+        String reportSummary = summary;
+        boolean saveReport = includeReportJson;
+        AllergenAnalysisResponse allergens = includeAllergen ? allergenResponse : null;
+        SavedRecipe saved = transactionTemplate.execute(status -> {
+            Recipe recipe = insertRecipe(authorId, companyId, request, rawTargetCountry, recipeOpenYn);
+            List<RecipeIngredient> ingredients = saveIngredients(recipe, request.getIngredients());
+            MarketReport marketReport = null;
+            if (saveReport) {
+                marketReport = marketReportRepository.save(MarketReport.builder()
+                        .recipe(recipe)
+                        .reportType(REPORT_TYPE_AI)
+                        .content(contentJson)
+                        .summary(reportSummary)
+                        .inputFingerprints(fingerprints)
+                        .openYn(OPEN_YN_N)
+                        .build());
+            }
+            if (allergens != null) {
+                saveAllergens(recipe, ingredients, allergens);
+            }
+            return new SavedRecipe(recipe, ingredients, marketReport);
+        });
+
+        if (includeEvaluation && includeReportJson && saved.report() != null && reportRequest != null) {
+            evaluateReport(saved.report(), reportRequest.getRecipe(), summary, reportJson);
+        }
+        return saved.recipe().getId();
+    }
+
+    // 비동기 등록: 레시피/재료만 저장하고 바로 반환한다. 보고서/요약/알레르기/평가는 report_job 작업이 맡는다.
+    public RecipeResponse createWithoutReport(String authorId, RecipeCreateRequest request, String idempotencyKey) {
+        RequestCoalescer.Outcome outcome = requestCoalescer.execute(
+                new RequestCoalescer.Key(COALESCE_RECIPE_JOB, authorId, idempotencyKey, recipeRequestHash(request)),
+                null, null, () -> saveRecipeOnly(authorId, request));
+        return transactionTemplate.execute(status -> toResponse(recipeRepository.findById(outcome.resultId())
+                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."))));
+    }
+
+    // 등록 요청을 보고서 작업 입력으로 변환. 보고서 섹션을 고르지 않았으면 null (작업 없음)
+    public ReportCreateRequest reportJobRequest(RecipeCreateRequest request) {
+        List<String> reportSections = normalizeReportSections(request.getReportSections());
+        if (request.getReportSections() != null && !hasAnyReportJsonSection(reportSections)) {
+            return null;
+        }
+        ReportCreateRequest reportRequest = new ReportCreateRequest();
+        reportRequest.setTargetCountry(defaultIfBlank(request.getTargetCountry(), "US"));
+        reportRequest.setTargetPersona(request.getTargetPersona());
+        reportRequest.setPriceRange(request.getPriceRange());
+        reportRequest.setReportSections(request.getReportSections());
+        // 동기 등록과 같이 보고서는 비공개로 만들고 공개 여부는 레시피 설정을 따른다
+        reportRequest.setOpenYn(OPEN_YN_N);
+        return reportRequest;
+    }
+
+    private Long saveRecipeOnly(String authorId, RecipeCreateRequest request) {
+        Long companyId = resolveCompanyId(authorId);
+        String rawTargetCountry = defaultIfBlank(request.getTargetCountry(), "US");
+        String openYn = normalizeOpenYn(request.getOpenYn());
+        String recipeOpenYn = openYn == null ? OPEN_YN_N : openYn;
+        // 보고서 없이 알레르기 분석만 고른 경우는 작업을 만들지 않으므로 여기서 분석한다
+        List<String> reportSections = normalizeReportSections(request.getReportSections());
+        boolean allergenOnly = request.getReportSections() != null
+                && !hasAnyReportJsonSection(reportSections)
+                && reportSections.contains(SECTION_ALLERGEN);
+        AllergenAnalysisResponse allergens = allergenOnly
+                ? allergenAnalysisService.analyzeIngredients(request.getIngredients(),
+                        normalizeCountryCode(rawTargetCountry))
+                : null;
+        return transactionTemplate.execute(status -> {
+            Recipe recipe = insertRecipe(authorId, companyId, request, rawTargetCountry, recipeOpenYn);
+            List<RecipeIngredient> ingredients = saveIngredients(recipe, request.getIngredients());
+            if (allergens != null) {
+                saveAllergens(recipe, ingredients, allergens);
+            }
+            return recipe.getId();
+        });
+    }
+
+    private Recipe insertRecipe(String authorId, Long companyId, RecipeCreateRequest request, String targetCountry,
+            String openYn) {
+        Recipe recipe = recipeRepository.save(Recipe.builder()
                 .recipeName(request.getTitle())
                 .description(request.getDescription())
-                .imageBase64(request.getImageBase64())
+                .imageHash(imageStoreService.store(request.getImageBase64()))
                 .steps(joinSteps(request.getSteps()))
                 .status(request.isDraft() ? STATUS_DRAFT : STATUS_PUBLISHED)
                 .openYn(openYn)
                 .userId(authorId)
                 .companyId(companyId)
-                .targetCountry(rawTargetCountry)
+                .targetCountry(targetCountry)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .build();
-
-        Recipe saved = recipeRepository.save(recipe);
-
-        List<RecipeIngredient> ingredients = saveIngredients(saved, request.getIngredients());
-        MarketReport marketReport = null;
-        if (includeReportJson) {
-            marketReport = marketReportRepository.save(MarketReport.builder()
-                    .recipe(saved)
-                    .reportType(REPORT_TYPE_AI)
-                    .content(reportJson)
-                    .summary(summary)
-                    .openYn(OPEN_YN_N)
-                    .build());
-        }
-
-        if (includeAllergen && allergenResponse != null) {
-            saveAllergens(saved, ingredients, allergenResponse);
-        }
-        if (includeEvaluation && includeReportJson && marketReport != null && reportRequest != null) {
-            List<VirtualConsumer> consumers = saveVirtualConsumers(marketReport, reportRequest.getRecipe(), summary,
-                    reportJson);
-            evaluationService.evaluateAndSave(marketReport, consumers, reportJson);
-        }
-
-        return toResponse(saved, ingredients, marketReport, authorName);
+                .build());
+        recipeThumbnailService.refresh(recipe);
+        return recipe;
     }
 
-    @Transactional
+    // createRecipe와 같은 구조: 조회는 짧은 읽기 트랜잭션, 보고서/요약/알레르기 분석(외부 호출)은 트랜잭션 밖,
+    // 저장은 TransactionTemplate, 페르소나/평가는 저장 후 별도로 실행
     public RecipeResponse update(Long id, String authorId, RecipeCreateRequest request) {
-        Recipe recipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
-        if (!recipe.getUserId().equals(authorId)) {
-            throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
-        }
-
-        boolean ingredientsChanged = request.getIngredients() != null;
-
-        recipe.setRecipeName(request.getTitle());
-        recipe.setDescription(request.getDescription());
-        recipe.setImageBase64(request.getImageBase64());
-        recipe.setSteps(joinSteps(request.getSteps()));
-        String rawTargetCountry = defaultIfBlank(request.getTargetCountry(), recipe.getTargetCountry());
+        UpdateSnapshot snapshot = transactionTemplate.execute(status -> loadUpdateSnapshot(id, authorId));
+
+        // 폼이 재료를 그대로 다시 보내는 경우는 변경으로 보지 않는다 (재료/알레르기 행 유지)
+        boolean ingredientsChanged = request.getIngredients() != null
+                && !normalizeInputList(request.getIngredients())
+                        .equals(normalizeInputList(snapshot.ingredientNames()));
+        List<String> ingredientsForAnalysis = ingredientsChanged ? request.getIngredients()
+                : snapshot.ingredientNames();
+        String rawTargetCountry = defaultIfBlank(request.getTargetCountry(), snapshot.targetCountry());
         String normalizedTargetCountry = normalizeCountryCode(rawTargetCountry);
-        recipe.setTargetCountry(rawTargetCountry);
-        String openYn = normalizeOpenYn(request.getOpenYn());
-        if (openYn != null) {
-            recipe.setOpenYn(openYn);
-        }
-        recipe.setUpdatedAt(LocalDateTime.now());
-
-        Recipe saved = recipeRepository.save(recipe);
-
-        List<RecipeIngredient> ingredients;
-        List<String> ingredientsForAnalysis;
-        if (ingredientsChanged) {
-            // 레퍼가 끊기지 않도록 재료 삭제 전에 알레르겐 행을 먼저 삭제
-            recipeAllergenRepository.deleteByRecipe_Id(saved.getId());
-            ingredients = replaceIngredients(saved, request.getIngredients());
-            ingredientsForAnalysis = request.getIngredients();
-        } else {
-            ingredients = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(saved.getId());
-            ingredientsForAnalysis = ingredients.stream().map(RecipeIngredient::getIngredientName).toList();
-        }
-        String targetCountry = rawTargetCountry;
+        String steps = joinSteps(request.getSteps());
 
         List<String> reportSections = normalizeReportSections(request.getReportSections());
         boolean hasSelection = request.getReportSections() != null;
@@ -260,110 +357,262 @@ public class RecipeService {
             includeEvaluation = false;
         }
 
-        if (hasSelection && !includeReportJson) {
-            List<MarketReport> reports = marketReportRepository.findByRecipe_IdOrderByCreatedAtDesc(saved.getId());
-            for (MarketReport report : reports) {
-                if (report.getId() != null) {
-                    influencerRepository.deleteByReport_Id(report.getId());
-                    consumerFeedbackRepository.deleteByReport_Id(report.getId());
-                    virtualConsumerRepository.deleteByReport_Id(report.getId());
-                }
+        ReportRequest reportRequest = null;
+        RegeneratedReport regenerated = null;
+        if (includeReportJson && request.isRegenerateReport()) {
+            List<String> stepsForAnalysis = request.getSteps() != null ? request.getSteps() : splitSteps(steps);
+            reportRequest = buildReportRequest(request, ingredientsForAnalysis, stepsForAnalysis, rawTargetCountry);
+            regenerated = regenerateReport(snapshot.latestReport(), snapshot.hasFeedback(), reportRequest,
+                    reportSections, includeSummary, includeEvaluation, ingredientsForAnalysis, stepsForAnalysis);
+        }
+        AllergenAnalysisResponse allergenResponse = null;
+        if (includeAllergen && (ingredientsChanged || !snapshot.hasAllergens())) {
+            allergenResponse = allergenAnalysisService.analyzeIngredients(ingredientsForAnalysis,
+                    normalizedTargetCountry);
+        }
+        String imageHash = imageStoreService.store(request.getImageBase64());
+
+        boolean removeReports = hasSelection && !includeReportJson;
+        boolean removePanel = hasSelection && includeReportJson && !includeEvaluation;
+        boolean removeAllergens = hasSelection && !includeAllergen;
+        RegeneratedReport regeneratedReport = regenerated;
+        AllergenAnalysisResponse allergens = allergenResponse;
+        MarketReport savedReport = transactionTemplate.execute(status -> {
+            Recipe recipe = recipeRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
+            responseCacheService.invalidateRecipe(id);
+            boolean imageChanged = !Objects.equals(recipe.getImageHash(), imageHash) || recipe.getImageBase64() != null;
+            recipe.setRecipeName(request.getTitle());
+            recipe.setDescription(request.getDescription());
+            recipe.setImageHash(imageHash);
+            recipe.setImageBase64(null);
+            recipe.setSteps(steps);
+            recipe.setTargetCountry(rawTargetCountry);
+            String openYn = normalizeOpenYn(request.getOpenYn());
+            if (openYn != null) {
+                recipe.setOpenYn(openYn);
             }
-            marketReportRepository.deleteAll(reports);
-        } else if (includeReportJson && request.isRegenerateReport()) {
-            List<String> stepsForAnalysis = request.getSteps() != null ? request.getSteps()
-                    : splitSteps(recipe.getSteps());
-            ReportRequest reportRequest = buildReportRequest(
-                    request,
-                    ingredientsForAnalysis,
-                    stepsForAnalysis,
-                    targetCountry);
-            reportRequest.setSections(filterReportSectionsForPrompt(reportSections));
-            String reportJson;
-            String summary = null;
-            try {
-                var report = aiReportService.generateReport(reportRequest);
-                Map<String, Object> filtered = filterReportContent(report, reportSections);
-                reportJson = writeJsonMap(filtered);
-                if (includeSummary) {
-                    summary = aiReportService.generateSummary(reportJson);
-                }
-            } catch (Exception e) {
-                throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
+            recipe.setUpdatedAt(LocalDateTime.now());
+            Recipe saved = recipeRepository.save(recipe);
+            if (imageChanged) {
+                recipeThumbnailService.refresh(saved);
             }
 
-            MarketReport marketReport = marketReportRepository.findTopByRecipe_IdOrderByCreatedAtDesc(saved.getId())
-                    .orElseGet(() -> MarketReport.builder().recipe(saved).reportType(REPORT_TYPE_AI).build());
-            marketReport.setContent(reportJson);
-            marketReport.setSummary(summary);
-            if (marketReport.getOpenYn() == null || marketReport.getOpenYn().isBlank()) {
-                marketReport.setOpenYn(OPEN_YN_N);
+            List<RecipeIngredient> ingredients;
+            if (ingredientsChanged) {
+                // 레퍼가 끊기지 않도록 재료 삭제 전에 알레르겐 행을 먼저 삭제
+                recipeAllergenRepository.deleteByRecipe_Id(saved.getId());
+                ingredients = replaceIngredients(saved, request.getIngredients());
+            } else {
+                ingredients = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(id);
             }
-            marketReportRepository.save(marketReport);
-            if (marketReport.getId() != null) {
-                influencerRepository.deleteByReport_Id(marketReport.getId());
-                consumerFeedbackRepository.deleteByReport_Id(marketReport.getId());
-                virtualConsumerRepository.deleteByReport_Id(marketReport.getId());
+
+            MarketReport report = null;
+            if (removeReports) {
+                List<MarketReport> reports = marketReportRepository.findByRecipe_IdOrderByCreatedAtDesc(saved.getId());
+                for (MarketReport item : reports) {
+                    if (item.getId() != null) {
+                        influencerRepository.deleteByReport_Id(item.getId());
+                        consumerFeedbackRepository.deleteByReport_Id(item.getId());
+                        virtualConsumerRepository.deleteByReport_Id(item.getId());
+                    }
+                }
+                marketReportRepository.deleteAll(reports);
+            } else if (regeneratedReport != null) {
+                report = saveRegeneratedReport(saved, snapshot.latestReport(), regeneratedReport);
+            } else if (removePanel) {
+                MarketReport latestReport = marketReportRepository
+                        .findTopByRecipe_IdOrderByCreatedAtDesc(saved.getId())
+                        .orElse(null);
+                if (latestReport != null && latestReport.getId() != null) {
+                    consumerFeedbackRepository.deleteByReport_Id(latestReport.getId());
+                    virtualConsumerRepository.deleteByReport_Id(latestReport.getId());
+                    evaluationSummaryService.delete(latestReport.getId());
+                }
             }
-            if (includeEvaluation) {
-                List<VirtualConsumer> consumers = saveVirtualConsumers(marketReport, reportRequest.getRecipe(), summary,
-                        reportJson);
-                evaluationService.evaluateAndSave(marketReport, consumers, reportJson);
+
+            if (removeAllergens) {
+                recipeAllergenRepository.deleteByRecipe_Id(saved.getId());
+            } else if (allergens != null) {
+                saveAllergens(saved, ingredients, allergens);
             }
-        } else if (hasSelection && includeReportJson && !includeEvaluation) {
-            MarketReport latestReport = marketReportRepository.findTopByRecipe_IdOrderByCreatedAtDesc(saved.getId())
-                    .orElse(null);
-            if (latestReport != null && latestReport.getId() != null) {
-                consumerFeedbackRepository.deleteByReport_Id(latestReport.getId());
-                virtualConsumerRepository.deleteByReport_Id(latestReport.getId());
+            return report;
+        });
+
+        if (regenerated != null && regenerated.runPanel() && savedReport != null) {
+            evaluateReport(savedReport, reportRequest.getRecipe(), regenerated.summary(), regenerated.reportJson());
+        }
+        return transactionTemplate.execute(status -> toResponse(recipeRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."))));
+    }
+
+    private UpdateSnapshot loadUpdateSnapshot(Long id, String authorId) {
+        Recipe recipe = recipeRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
+        if (!recipe.getUserId().equals(authorId)) {
+            throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
+        }
+        List<String> ingredientNames = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(id).stream()
+                .map(RecipeIngredient::getIngredientName)
+                .toList();
+        MarketReport latestReport = marketReportRepository.findTopByRecipe_IdOrderByCreatedAtDesc(id).orElse(null);
+        boolean hasFeedback = latestReport != null && latestReport.getId() != null
+                && consumerFeedbackRepository.existsByReport_Id(latestReport.getId());
+        boolean hasAllergens = !recipeAllergenRepository.findByRecipe_IdOrderByIdAsc(id).isEmpty();
+        return new UpdateSnapshot(recipe.getTargetCountry(), ingredientNames, latestReport, hasFeedback,
+                hasAllergens);
+    }
+
+    // 입력 해시가 바뀐 섹션만 다시 생성하고 나머지는 기존 내용을 쓴다.
+    // 보고서 내용이 같으면 요약을, 보고서와 입력이 같으면 페르소나/평가를 그대로 둔다.
+    // 트랜잭션 밖에서 호출되며 저장은 saveRegeneratedReport에서 한다.
+    private RegeneratedReport regenerateReport(MarketReport previousReport, boolean hasFeedback,
+            ReportRequest reportRequest, List<String> reportSections, boolean includeSummary,
+            boolean includeEvaluation, List<String> ingredients, List<String> steps) {
+        List<String> promptSections = filterReportSectionsForPrompt(reportSections);
+        Map<String, Object> inputs = reportInputs(reportRequest, ingredients, steps);
+
+        Map<String, Object> previousContent = readJsonMap(previousReport == null ? null : previousReport.getContent());
+        Map<String, String> previous = readFingerprints(
+                previousReport == null ? null : previousReport.getInputFingerprints());
+        Map<String, String> fingerprints = sectionFingerprints(promptSections, inputs);
+        List<String> changedSections = promptSections.stream()
+                .filter(section -> !previousContent.containsKey(section)
+                        || !fingerprints.get(section).equals(previous.get(section)))
+                .toList();
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        if (!changedSections.isEmpty()) {
+            reportRequest.setSections(changedSections);
+            try {
+                merged.putAll(aiReportService.generateReport(reportRequest));
+            } catch (Exception e) {
+                throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
             }
         }
+        for (String section : promptSections) {
+            if (!changedSections.contains(section)) {
+                merged.put(section, previousContent.get(section));
+            }
+        }
+        countSections("regenerated", changedSections.size());
+        countSections("reused", promptSections.size() - changedSections.size());
+        String reportJson = writeJsonMap(filterReportContent(merged, reportSections));
 
-        if (hasSelection && !includeAllergen) {
-            recipeAllergenRepository.deleteByRecipe_Id(saved.getId());
-        } else if (includeAllergen) {
-            boolean hasExistingAllergens = !recipeAllergenRepository.findByRecipe_IdOrderByIdAsc(saved.getId())
-                    .isEmpty();
-            if (ingredientsChanged || !hasExistingAllergens) {
-                AllergenAnalysisResponse allergenResponse = allergenAnalysisService.analyzeIngredients(
-                        ingredientsForAnalysis,
-                        normalizedTargetCountry);
-                saveAllergens(saved, ingredients, allergenResponse);
+        String contentFingerprint = RequestCoalescer.fingerprint(reportJson);
+        boolean contentChanged = !contentFingerprint.equals(previous.get(FINGERPRINT_SUMMARY));
+        String summary = null;
+        if (includeSummary) {
+            summary = previousReport == null ? null : previousReport.getSummary();
+            if (contentChanged || summary == null || summary.isBlank()) {
+                try {
+                    summary = aiReportService.generateSummary(reportJson);
+                } catch (Exception e) {
+                    throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
+                }
             }
         }
+        String panelFingerprint = panelFingerprint(contentFingerprint, inputs);
+        boolean keepPanel = includeEvaluation
+                && hasFeedback
+                && panelFingerprint.equals(previous.get(FINGERPRINT_PANEL));
+        return new RegeneratedReport(reportJson, summary,
+                writeFingerprints(fingerprints, contentFingerprint, includeEvaluation ? panelFingerprint : null),
+                contentChanged, keepPanel, includeEvaluation && !keepPanel);
+    }
 
-        String authorName = resolveUserName(authorId);
-        MarketReport latestReport = marketReportRepository.findTopByRecipe_IdOrderByCreatedAtDesc(saved.getId())
-                .orElse(null);
-        return toResponse(saved, ingredients, latestReport, authorName);
+    private MarketReport saveRegeneratedReport(Recipe recipe, MarketReport previousReport,
+            RegeneratedReport regenerated) {
+        MarketReport marketReport = previousReport == null || previousReport.getId() == null ? null
+                : marketReportRepository.findById(previousReport.getId()).orElse(null);
+        if (marketReport == null) {
+            marketReport = MarketReport.builder().recipe(recipe).reportType(REPORT_TYPE_AI).build();
+        }
+        marketReport.setContent(regenerated.reportJson());
+        marketReport.setSummary(regenerated.summary());
+        marketReport.setInputFingerprints(regenerated.fingerprints());
+        if (marketReport.getOpenYn() == null || marketReport.getOpenYn().isBlank()) {
+            marketReport.setOpenYn(OPEN_YN_N);
+        }
+        marketReport = marketReportRepository.save(marketReport);
+        if (regenerated.contentChanged()) {
+            influencerRepository.deleteByReport_Id(marketReport.getId());
+        }
+        if (!regenerated.keepPanel()) {
+            evaluationSummaryService.delete(marketReport.getId());
+            consumerFeedbackRepository.deleteByReport_Id(marketReport.getId());
+            virtualConsumerRepository.deleteByReport_Id(marketReport.getId());
+        }
+        return marketReport;
     }
 
     @Transactional(readOnly = true)
-    public List<RecipeListResponse> getAllForList(String requesterId) {
+    public CursorPage<RecipeListResponse> getAllForList(String requesterId, String cursor, Integer size) {
         Long companyId = requesterId == null ? null : resolveCompanyId(requesterId);
-        List<Recipe> recipes = companyId == null
-                ? recipeRepository.findAllByOrderByCreatedAtDesc()
-                : recipeRepository.findByCompanyIdOrderByCreatedAtDesc(companyId);
-
-        return recipes.stream()
-                .filter(this::isRecipeVisibleForHub)
-                .map(this::toRecipeListResponse)
-                .toList();
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolveSize(size);
+        // 허브 노출 조건(공개 AI 보고서 존재)을 쿼리에 포함해 페이지 크기를 보장
+        Slice<Recipe> recipes = companyId == null
+                ? recipeRepository.findOpenPage(REPORT_TYPE_AI, OPEN_YN_Y,
+                        position.createdAt(), position.id(), paginationConfig.firstPage(pageSize))
+                : recipeRepository.findOpenPageByCompanyId(companyId, REPORT_TYPE_AI, OPEN_YN_Y,
+                        position.createdAt(), position.id(), paginationConfig.firstPage(pageSize));
+
+        return CursorPage.of(recipes, paginationConfig.streamChunkSize(),
+                recipe -> KeysetCursor.encode(recipe.getCreatedAt(), recipe.getId()),
+                page -> toRecipeListResponses(page, LIST_VIEW_HUB));
     }
 
-    private RecipeListResponse toRecipeListResponse(Recipe recipe) {
-        String authorName = resolveUserName(recipe.getUserId());
-        String resizedImage = resizeImageIfNeeded(recipe.getImageBase64());
+    // 목록 화면용 조립: 청크 단위로 관계별 1회씩만 조회
+    // (응답 스트리밍 중 트랜잭션 밖에서 호출되므로 지연 로딩 연관을 건드리지 않는다)
+    private List<RecipeListResponse> toRecipeListResponses(List<Recipe> visible, String view) {
+        int queryCount = 1;
+        if (visible == null || visible.isEmpty()) {
+            recordListQueryCount(view, queryCount);
+            return List.of();
+        }
+        List<Long> recipeIds = visible.stream().map(Recipe::getId).toList();
 
-        List<RecipeIngredient> ingredients = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(recipe.getId());
-        List<String> ingredientNames = ingredients.stream()
-                .map(RecipeIngredient::getIngredientName)
+        List<String> userIds = visible.stream()
+                .map(Recipe::getUserId)
+                .filter(v -> v != null && !v.isBlank())
+                .distinct()
+                .toList();
+        Map<String, UserIdentityService.UserIdentity> identities = userIdentityService.resolveAll(userIds);
+        if (!userIds.isEmpty()) {
+            queryCount += 1;
+        }
+
+        Map<Long, List<String>> ingredientsByRecipeId = new HashMap<>();
+        for (RecipeIngredientRepository.IngredientNameView row : recipeIngredientRepository
+                .findNamesByRecipeIds(recipeIds)) {
+            ingredientsByRecipeId
+                    .computeIfAbsent(row.getRecipeId(), k -> new ArrayList<>())
+                    .add(row.getIngredientName());
+        }
+        queryCount += 1;
+
+        Map<Long, String> thumbnails = recipeThumbnailService.findListThumbnails(recipeIds);
+        queryCount += 1;
+
+        recordListQueryCount(view, queryCount);
+        return visible.stream()
+                .map(recipe -> toRecipeListResponse(
+                        recipe,
+                        recipeThumbnailService.resolveListImage(thumbnails, recipe),
+                        identities.containsKey(recipe.getUserId())
+                                ? identities.get(recipe.getUserId()).userName()
+                                : recipe.getUserId(),
+                        ingredientsByRecipeId.getOrDefault(recipe.getId(), List.of())))
                 .toList();
+    }
 
+    private RecipeListResponse toRecipeListResponse(Recipe recipe, String thumbnail, String authorName,
+            List<String> ingredientNames) {
         return new RecipeListResponse(
                 recipe.getId(),
                 recipe.getRecipeName(),
-                resizedImage,
+                thumbnail,
                 recipe.getDescription(),
                 recipe.getUserId(),
                 authorName,
@@ -374,53 +623,12 @@ public class RecipeService {
                 splitSteps(recipe.getSteps()));
     }
 
-    private String resizeImageIfNeeded(String originalBase64) {
-        if (originalBase64 == null || originalBase64.isBlank()) {
-            return null;
-        }
-        // If smaller than 100KB, return as is to save CPU
-        if (originalBase64.length() < 100 * 1024) {
-            return originalBase64;
-        }
-
-        try {
-            String base64Data = originalBase64;
-            String header = "";
-            if (originalBase64.contains(",")) {
-                String[] parts = originalBase64.split(",");
-                header = parts[0] + ",";
-                base64Data = parts[1];
-            }
-
-            byte[] imageBytes = Base64.getDecoder().decode(base64Data);
-            ByteArrayInputStream bis = new ByteArrayInputStream(imageBytes);
-            BufferedImage originalImage = ImageIO.read(bis);
-
-            if (originalImage == null) {
-                return originalBase64;
-            }
-
-            int targetWidth = 300; // Thumbnail width
-            if (originalImage.getWidth() <= targetWidth) {
-                return originalBase64;
-            }
-
-            int targetHeight = (int) (originalImage.getHeight() * ((double) targetWidth / originalImage.getWidth()));
-            BufferedImage resizedImage = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g = resizedImage.createGraphics();
-            g.drawImage(originalImage, 0, 0, targetWidth, targetHeight, null);
-            g.dispose();
-
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ImageIO.write(resizedImage, "jpg", bos); // Convert to JPEG for size
-            String resizedBase64 = Base64.getEncoder().encodeToString(bos.toByteArray());
-
-            return "data:image/jpeg;base64," + resizedBase64;
-        } catch (Exception e) {
-            // In case of any error, fallback to original
-            System.err.println("Image resizing failed: " + e.getMessage());
-            return originalBase64;
-        }
+    private void recordListQueryCount(String view, int queryCount) {
+        DistributionSummary.builder("recipe.list.queries")
+                .description("Repository queries issued per recipe list chunk")
+                .tag("view", view)
+                .register(meterRegistry)
+                .record(queryCount);
     }
 
     @Transactional(readOnly = true)
@@ -436,11 +644,14 @@ public class RecipeService {
     }
 
     @Transactional(readOnly = true)
-    public List<RecipeListResponse> getByAuthorForList(String authorId) {
-        return recipeRepository.findByUserIdOrderByCreatedAtDesc(authorId)
-                .stream()
-                .map(this::toRecipeListResponse)
-                .toList();
+    public CursorPage<RecipeListResponse> getByAuthorForList(String authorId, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolveSize(size);
+        Slice<Recipe> recipes = recipeRepository.findPageByUserId(authorId,
+                position.createdAt(), position.id(), paginationConfig.firstPage(pageSize));
+        return CursorPage.of(recipes, paginationConfig.streamChunkSize(),
+                recipe -> KeysetCursor.encode(recipe.getCreatedAt(), recipe.getId()),
+                page -> toRecipeListResponses(page, LIST_VIEW_AUTHOR));
     }
 
     @Transactional(readOnly = true)
@@ -452,7 +663,7 @@ public class RecipeService {
     }
 
     @Transactional(readOnly = true)
-    public RecipeResponse getOne(Long id, String requesterId) {
+    public VersionedResponse<RecipeResponse> getOne(Long id, String requesterId, String ifNoneMatch) {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
         boolean isOwner = requesterId != null && requesterId.equals(recipe.getUserId());
@@ -462,7 +673,12 @@ public class RecipeService {
         if (!isOwner && !isRecipeVisibleForHub(recipe)) {
             throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
         }
-        return toResponse(recipe);
+        // 변경이 없으면 응답 조립 없이 304
+        String etag = responseCacheService.etag(recipe, null);
+        if (VersionedResponse.matches(ifNoneMatch, etag)) {
+            return VersionedResponse.notModified(etag);
+        }
+        return new VersionedResponse<>(etag, responseCacheService.getRecipe(recipe, () -> toResponse(recipe)));
     }
 
     @Transactional(readOnly = true)
@@ -487,7 +703,7 @@ public class RecipeService {
                 .toList();
     }
 
-    @Transactional
+    // 평가(LLM 호출) 중 커넥션을 잡지 않도록 트랜잭션 없이 실행
     public void ensureEvaluationForReports(List<MarketReport> reports) {
         if (reports == null || reports.isEmpty()) {
             return;
@@ -521,27 +737,113 @@ public class RecipeService {
                 ? List.of()
                 : ingredients.stream().map(RecipeIngredient::getIngredientName).toList();
         String recipeText = buildReportRecipeFromRecipe(recipe, ingredientNames, splitSteps(recipe.getSteps()));
-        List<VirtualConsumer> consumers = saveVirtualConsumers(
-                evalReport,
-                recipeText,
-                evalReport.getSummary(),
-                evalReport.getContent());
-        if (consumers == null || consumers.isEmpty()) {
-            return;
-        }
-        evaluationService.evaluateAndSave(evalReport, consumers, evalReport.getContent());
+        evaluateReport(evalReport, recipeText, evalReport.getSummary(), evalReport.getContent());
+    }
+
+    // 작업 등록 전 권한 확인(LLM 호출 전에 빠르게 실패) 겸 중복 작업 판별용 입력 해시
+    @Transactional(readOnly = true)
+    public String reportRequestFingerprint(Long recipeId, String requesterId, ReportCreateRequest request) {
+        return reportRequestHash(loadOwnedRecipe(recipeId, requesterId), request);
     }
 
-    @Transactional
     public ReportDetailResponse createReport(Long recipeId, String requesterId, ReportCreateRequest request) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
-        if (!recipe.getUserId().equals(requesterId)) {
-            throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
-        }
+        return createReport(recipeId, requesterId, request, null);
+    }
+
+    // 같은 레시피 내용/섹션/타깃의 동시 요청은 하나의 생성에 합류하고, 창 안의 재요청은 저장된 보고서를 돌려준다.
+    // 멱등 키가 없으면 jobId를 멱등 키로 쓴다.
+    public ReportDetailResponse createReport(Long recipeId, String requesterId, ReportCreateRequest request,
+            String idempotencyKey) {
         String jobId = request == null ? null : request.getJobId();
+        SavedRecipe source = loadOwnedRecipe(recipeId, requesterId);
+        String requestKey = idempotencyKey == null || idempotencyKey.isBlank() ? jobId : idempotencyKey;
+        RequestCoalescer.Outcome outcome;
+        try {
+            outcome = requestCoalescer.execute(
+                    new RequestCoalescer.Key(COALESCE_REPORT, requesterId, requestKey,
+                            reportRequestHash(source, request)),
+                    jobId,
+                    leaderJobId -> reportProgressTracker.follow(jobId, leaderJobId),
+                    () -> runReportPipeline(recipeId, source, request).getId());
+        } catch (RuntimeException e) {
+            reportProgressTracker.fail(jobId, "failed");
+            throw e;
+        }
+        ReportDetailResponse response = transactionTemplate.execute(status -> toReportDetailResponse(
+                recipeRepository.findById(recipeId).orElse(source.recipe()),
+                marketReportRepository.findById(outcome.resultId())
+                        .orElseThrow(() -> new IllegalArgumentException("보고서를 찾을 수 없습니다."))));
+        if (outcome.shared()) {
+            reportProgressTracker.complete(jobId);
+        }
+        return response;
+    }
 
-        List<RecipeIngredient> ingredients = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(recipe.getId());
+    // 저장 단계까지 커밋된 작업의 재시도: 보고서는 다시 만들지 않고 빠진 페르소나/평가만 이어서 실행한다.
+    public ReportDetailResponse resumeReport(Long reportId, String requesterId, ReportCreateRequest request) {
+        String jobId = request == null ? null : request.getJobId();
+        ResumeTarget target = transactionTemplate.execute(status -> {
+            MarketReport report = marketReportRepository.findById(reportId)
+                    .orElseThrow(() -> new IllegalArgumentException("보고서를 찾을 수 없습니다."));
+            Recipe recipe = report.getRecipe();
+            if (recipe == null || !recipe.getUserId().equals(requesterId)) {
+                throw new IllegalArgumentException("보고서를 찾을 수 없습니다.");
+            }
+            boolean evaluated = !consumerFeedbackRepository.findByReport_IdOrderByIdAsc(reportId).isEmpty();
+            if (evaluated || !includesEvaluation(request)
+                    || report.getContent() == null || report.getContent().isBlank()) {
+                return new ResumeTarget(report, null);
+            }
+            List<String> ingredientNames = recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(recipe.getId())
+                    .stream()
+                    .map(RecipeIngredient::getIngredientName)
+                    .toList();
+            return new ResumeTarget(report,
+                    buildReportRecipeFromRecipe(recipe, ingredientNames, splitSteps(recipe.getSteps())));
+        });
+        if (target.recipeText() != null) {
+            reportProgressTracker.init(jobId, WEIGHT_EVALUATION);
+            try {
+                MarketReport report = target.report();
+                evaluateReport(report, target.recipeText(), report.getSummary(), report.getContent());
+                reportProgressTracker.step(jobId, WEIGHT_EVALUATION, "evaluation", "evaluation saved");
+            } catch (RuntimeException e) {
+                reportProgressTracker.fail(jobId, "failed");
+                throw e;
+            }
+        }
+        reportProgressTracker.complete(jobId);
+        return transactionTemplate.execute(status -> {
+            MarketReport report = marketReportRepository.findById(reportId)
+                    .orElseThrow(() -> new IllegalArgumentException("보고서를 찾을 수 없습니다."));
+            return toReportDetailResponse(report.getRecipe(), report);
+        });
+    }
+
+    private boolean includesEvaluation(ReportCreateRequest request) {
+        if (request == null || request.getReportSections() == null) {
+            return true;
+        }
+        return normalizeReportSections(request.getReportSections()).contains(SECTION_GLOBAL_MAP);
+    }
+
+    private SavedRecipe loadOwnedRecipe(Long recipeId, String requesterId) {
+        return transactionTemplate.execute(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId)
+                    .orElseThrow(() -> new IllegalArgumentException("레시피를 찾을 수 없습니다."));
+            if (!recipe.getUserId().equals(requesterId)) {
+                throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
+            }
+            return new SavedRecipe(recipe, recipeIngredientRepository.findByRecipe_IdOrderByIdAsc(recipe.getId()),
+                    null);
+        });
+    }
+
+    // LLM/외부 호출은 트랜잭션 밖에서 실행하고, 각 단계가 끝날 때 결과만 짧은 트랜잭션으로 저장한다.
+    private MarketReport runReportPipeline(Long recipeId, SavedRecipe source, ReportCreateRequest request) {
+        String jobId = request == null ? null : request.getJobId();
+        Recipe recipe = source.recipe();
+        List<RecipeIngredient> ingredients = source.ingredients();
         List<String> ingredientNames = ingredients.stream()
                 .map(RecipeIngredient::getIngredientName)
                 .toList();
@@ -554,96 +856,164 @@ public class RecipeService {
         boolean includeAllergen = hasSelection ? reportSections.contains(SECTION_ALLERGEN) : true;
         boolean includeEvaluation = hasSelection ? reportSections.contains(SECTION_GLOBAL_MAP) : true;
         if (!includeReportJson) {
-            includeSummary = false;
-            includeEvaluation = false;
+            throw new IllegalStateException("보고서가 생성되지 않았습니다.");
         }
 
-        List<String> promptSections = includeReportJson
-                ? filterReportSectionsForPrompt(reportSections)
-                : List.of();
-        if (includeReportJson && promptSections.isEmpty()) {
+        List<String> promptSections = filterReportSectionsForPrompt(reportSections);
+        if (promptSections.isEmpty()) {
             promptSections = REPORT_JSON_SECTION_KEYS;
         }
         int totalWeight = computeTotalWeight(promptSections, includeSummary, includeAllergen, includeEvaluation);
         reportProgressTracker.init(jobId, totalWeight);
         reportProgressTracker.step(jobId, WEIGHT_PREP, "prepare", "inputs ready");
 
-        ReportRequest reportRequest = null;
-        String reportJson = null;
-        String summary = null;
-        if (includeReportJson) {
-            reportRequest = buildReportRequestFromRecipe(recipe, ingredientNames, steps, request);
-            reportRequest.setSections(filterReportSectionsForPrompt(reportSections));
-            try {
-                var report = aiReportService.generateReport(reportRequest);
-                Map<String, Object> filtered = filterReportContent(report, reportSections);
-                reportJson = writeJsonMap(filtered);
-                reportProgressTracker.step(jobId, computeSectionWeight(promptSections), "report", "report generated");
-                if (includeSummary) {
-                    summary = aiReportService.generateSummary(reportJson);
+        String openYn = normalizeOpenYn(request == null ? null : request.getOpenYn());
+        String reportOpenYn = openYn == null ? OPEN_YN_N : openYn;
+        ReportRequest reportRequest = buildReportRequestFromRecipe(recipe, ingredientNames, steps, request);
+        reportRequest.setSections(filterReportSectionsForPrompt(reportSections));
+        boolean analyzeAllergen = includeAllergen
+                && recipeAllergenRepository.findByRecipe_IdOrderByIdAsc(recipe.getId()).isEmpty();
+
+        // 보고서 / 알레르기 분석 / 연령대 선정은 서로 의존하지 않으므로 동시에 시작한다.
+        StageGraph graph = reportPipelineExecutor.newGraph()
+                .stage(STAGE_REPORT, List.of(), results -> {
+                    try {
+                        // 섹션 단위로 진행률 반영 (per-section 모드에서는 섹션이 끝나는 대로)
+                        var report = aiReportService.generateReport(reportRequest, OpenAiRateGovernor.Lane.BACKGROUND,
+                                section -> reportProgressTracker.step(jobId,
+                                        REPORT_SECTION_WEIGHTS.getOrDefault(section, 0), "report",
+                                        section + " generated"));
+                        return writeJsonMap(filterReportContent(report, reportSections));
+                    } catch (Exception e) {
+                        throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
+                    }
+                });
+        if (includeSummary) {
+            graph.stage(STAGE_SUMMARY, List.of(STAGE_REPORT), results -> {
+                try {
+                    String summary = aiReportService.generateSummary(results.get(STAGE_REPORT));
                     reportProgressTracker.step(jobId, WEIGHT_SUMMARY, "summary", "summary generated");
+                    return summary;
+                } catch (Exception e) {
+                    throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
                 }
-            } catch (Exception e) {
-                reportProgressTracker.fail(jobId, "failed");
-                throw new IllegalStateException("레시피 보고서 생성에 실패했습니다.", e);
-            }
-        }
-
-        String openYn = normalizeOpenYn(request == null ? null : request.getOpenYn());
-        if (openYn == null) {
-            openYn = OPEN_YN_N;
-        }
-
-        MarketReport marketReport = null;
-        if (includeReportJson) {
-            marketReport = marketReportRepository.save(MarketReport.builder()
-                    .recipe(recipe)
-                    .reportType(REPORT_TYPE_AI)
-                    .content(reportJson)
-                    .summary(summary)
-                    .openYn(openYn)
-                    .build());
-            reportProgressTracker.step(jobId, WEIGHT_SAVE, "save", "report saved");
+            });
         }
-
-        if (includeAllergen) {
-            boolean hasExistingAllergens = !recipeAllergenRepository.findByRecipe_IdOrderByIdAsc(recipe.getId())
-                    .isEmpty();
-            if (!hasExistingAllergens) {
+        if (analyzeAllergen) {
+            graph.stage(STAGE_ALLERGEN, List.of(), results -> {
                 String targetCountry = defaultIfBlank(
                         request == null ? null : request.getTargetCountry(),
                         recipe.getTargetCountry());
-                String normalizedTargetCountry = normalizeCountryCode(targetCountry);
-                AllergenAnalysisResponse allergenResponse = allergenAnalysisService.analyzeIngredients(
+                AllergenAnalysisResponse response = allergenAnalysisService.analyzeIngredients(
                         ingredientNames,
-                        normalizedTargetCountry);
-                saveAllergens(recipe, ingredients, allergenResponse);
-                reportProgressTracker.step(jobId, WEIGHT_ALLERGEN, "allergen", "allergen saved");
+                        normalizeCountryCode(targetCountry));
+                reportProgressTracker.step(jobId, WEIGHT_ALLERGEN, "allergen", "allergen analyzed");
+                return response;
+            });
+        }
+        List<String> saveInputs = new ArrayList<>(List.of(STAGE_REPORT));
+        if (includeSummary) {
+            saveInputs.add(STAGE_SUMMARY);
+        }
+        if (analyzeAllergen) {
+            saveInputs.add(STAGE_ALLERGEN);
+        }
+        graph.stage(STAGE_SAVE, saveInputs, results -> {
+            String reportJson = results.get(STAGE_REPORT);
+            String summary = results.get(STAGE_SUMMARY);
+            AllergenAnalysisResponse allergens = results.get(STAGE_ALLERGEN);
+            MarketReport saved = transactionTemplate.execute(status -> {
+                responseCacheService.invalidateRecipe(recipeId);
+                MarketReport marketReport = marketReportRepository.save(MarketReport.builder()
+                        .recipe(recipe)
+                        .reportType(REPORT_TYPE_AI)
+                        .content(reportJson)
+                        .summary(summary)
+                        .inputFingerprints(reportFingerprints(reportSections, reportRequest, ingredientNames, steps,
+                                reportJson, includeEvaluation))
+                        .openYn(reportOpenYn)
+                        .build());
+                if (jobId != null) {
+                    reportJobRepository.markReportSaved(jobId, marketReport.getId(), LocalDateTime.now());
+                }
+                if (allergens != null && recipeAllergenRepository.findByRecipe_IdOrderByIdAsc(recipeId).isEmpty()) {
+                    saveAllergens(recipe, ingredients, allergens);
+                }
+                if (OPEN_YN_Y.equalsIgnoreCase(reportOpenYn)) {
+                    recipeRepository.findById(recipeId)
+                            .filter(current -> !OPEN_YN_Y.equalsIgnoreCase(resolveRecipeOpenYn(current)))
+                            .ifPresent(current -> {
+                                current.setOpenYn(OPEN_YN_Y);
+                                current.setUpdatedAt(LocalDateTime.now());
+                                recipeRepository.save(current);
+                            });
+                }
+                // 다른 단계가 실패했거나 이 단계가 시간 초과되어 파이프라인이 끝났으면 커밋하지 않고 롤백
+                results.ensureLive();
+                return marketReport;
+            });
+            reportProgressTracker.step(jobId, WEIGHT_SAVE, "save", "report saved");
+            return saved;
+        });
+        if (includeEvaluation) {
+            graph.stage(STAGE_AGE_GROUPS, List.of(), results -> selectPersonaTargets(reportRequest.getRecipe()));
+            List<String> personaInputs = new ArrayList<>(List.of(STAGE_AGE_GROUPS, STAGE_REPORT));
+            if (includeSummary) {
+                personaInputs.add(STAGE_SUMMARY);
             }
+            // 페르소나 생성과 평가는 저장을 기다리지 않고 진행, 결과만 저장 이후에 기록.
+            // 국가당 한 명이 최대이므로 그 수로 생성+평가 예산을 합쳐 이 단계만의 제한 시간으로 쓴다.
+            int maxPersonas = VIRTUAL_CONSUMER_COUNTRIES.size();
+            Duration panelTimeout = personaService.generationBudget(maxPersonas)
+                    .plus(evaluationService.evaluationBudget(maxPersonas));
+            graph.stage(STAGE_PERSONAS, personaInputs, panelTimeout, results -> runPanel(
+                    results.get(STAGE_AGE_GROUPS),
+                    results.get(STAGE_SUMMARY),
+                    results.get(STAGE_REPORT)));
+            graph.stage(STAGE_EVALUATION, List.of(STAGE_SAVE, STAGE_PERSONAS), results -> {
+                results.ensureLive();
+                persistPanel(results.get(STAGE_SAVE), results.get(STAGE_PERSONAS));
+                reportProgressTracker.step(jobId, WEIGHT_EVALUATION, "evaluation", "evaluation saved");
+                return null;
+            });
         }
 
-        if (includeEvaluation && includeReportJson && marketReport != null && reportRequest != null) {
-            List<VirtualConsumer> consumers = saveVirtualConsumers(marketReport, reportRequest.getRecipe(), summary,
-                    reportJson);
-            evaluationService.evaluateAndSave(marketReport, consumers, reportJson);
-            reportProgressTracker.step(jobId, WEIGHT_EVALUATION, "evaluation", "evaluation saved");
+        try {
+            MarketReport marketReport = graph.run().get(STAGE_SAVE);
+            reportProgressTracker.complete(jobId);
+            return marketReport;
+        } catch (RuntimeException e) {
+            reportProgressTracker.fail(jobId, "failed");
+            throw e;
         }
+    }
 
-        if (OPEN_YN_Y.equalsIgnoreCase(openYn) && !OPEN_YN_Y.equalsIgnoreCase(resolveRecipeOpenYn(recipe))) {
-            recipe.setOpenYn(OPEN_YN_Y);
-            recipe.setUpdatedAt(LocalDateTime.now());
-            recipeRepository.save(recipe);
+    @Transactional(readOnly = true)
+    public VersionedResponse<ReportDetailResponse> getReportDetail(Long reportId, String requesterId,
+            String ifNoneMatch) {
+        MarketReport report = findReadableReport(reportId, requesterId);
+        Recipe recipe = report.getRecipe();
+        String etag = responseCacheService.etag(recipe, report);
+        if (VersionedResponse.matches(ifNoneMatch, etag)) {
+            return VersionedResponse.notModified(etag);
         }
+        return new VersionedResponse<>(etag,
+                responseCacheService.getReport(recipe, report, () -> toReportDetailResponse(recipe, report)));
+    }
 
-        if (marketReport == null) {
-            throw new IllegalStateException("보고서가 생성되지 않았습니다.");
+    // 저장된 데이터 기준 ETag로 304 여부만 판단 (재생성 같은 비싼 처리 전에 호출). 변경됐으면 null.
+    @Transactional(readOnly = true)
+    public VersionedResponse<ReportDetailResponse> checkReportNotModified(Long reportId, String requesterId,
+            String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
         }
-        reportProgressTracker.complete(jobId);
-        return toReportDetailResponse(recipe, marketReport);
+        MarketReport report = findReadableReport(reportId, requesterId);
+        String etag = responseCacheService.etag(report.getRecipe(), report);
+        return VersionedResponse.matches(ifNoneMatch, etag) ? VersionedResponse.notModified(etag) : null;
     }
 
-    @Transactional(readOnly = true)
-    public ReportDetailResponse getReportDetail(Long reportId, String requesterId) {
+    private MarketReport findReadableReport(Long reportId, String requesterId) {
         MarketReport report = marketReportRepository.findById(reportId)
                 .orElseThrow(() -> new IllegalArgumentException("보고서를 찾을 수 없습니다."));
         Recipe recipe = report.getRecipe();
@@ -655,7 +1025,7 @@ public class RecipeService {
         if (!isOwner && !reportPublic) {
             throw new IllegalArgumentException("보고서를 찾을 수 없습니다.");
         }
-        return toReportDetailResponse(recipe, report);
+        return report;
     }
 
     @Transactional
@@ -667,6 +1037,7 @@ public class RecipeService {
         if (!recipe.getUserId().equals(requesterId)) {
             throw new IllegalArgumentException("보고서를 찾을 수 없습니다.");
         }
+        responseCacheService.invalidateReport(recipe.getId(), reportId);
         String openYn = normalizeOpenYn(request == null ? null : request.getOpenYn());
         if (openYn == null) {
             openYn = OPEN_YN_N;
@@ -692,20 +1063,22 @@ public class RecipeService {
         if (request == null) {
             return toReportDetailResponse(recipe, report);
         }
+        responseCacheService.invalidateReport(recipe.getId(), reportId);
 
+        String influencerImageHash = imageStoreService.store(request.getInfluencerImageBase64());
         influencerRepository.deleteByReport_Id(reportId);
         if (request.getInfluencers() != null && !request.getInfluencers().isEmpty()) {
             for (Map<String, Object> influencer : request.getInfluencers()) {
                 influencerRepository.save(Influencer.builder()
                         .report(report)
                         .influencerInfo(writeJsonMap(influencer))
-                        .influencerImage(request.getInfluencerImageBase64())
+                        .influencerImageHash(influencerImageHash)
                         .build());
             }
         } else if (request.getInfluencerImageBase64() != null && !request.getInfluencerImageBase64().isBlank()) {
             influencerRepository.save(Influencer.builder()
                     .report(report)
-                    .influencerImage(request.getInfluencerImageBase64())
+                    .influencerImageHash(influencerImageHash)
                     .build());
         }
 
@@ -720,7 +1093,10 @@ public class RecipeService {
         if (recipe == null || !recipe.getUserId().equals(requesterId)) {
             throw new IllegalArgumentException("Report not found");
         }
+        responseCacheService.invalidateReport(recipe.getId(), reportId);
+        requestCoalescer.evict(COALESCE_REPORT, reportId);
         influencerRepository.deleteByReport_Id(reportId);
+        evaluationSummaryService.delete(reportId);
         consumerFeedbackRepository.deleteByReport_Id(reportId);
         virtualConsumerRepository.deleteByReport_Id(reportId);
         marketReportRepository.delete(report);
@@ -735,6 +1111,7 @@ public class RecipeService {
         }
         String openYn = normalizeOpenYn(request == null ? null : request.getOpenYn());
         if (openYn != null) {
+            responseCacheService.invalidateRecipe(recipeId);
             if (OPEN_YN_N.equalsIgnoreCase(openYn)
                     && marketReportRepository.existsByRecipe_IdAndReportTypeAndOpenYn(
                             recipe.getId(),
@@ -757,10 +1134,12 @@ public class RecipeService {
             throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
         }
 
+        responseCacheService.invalidateRecipe(id);
         if (request != null) {
             MarketReport latestReport = marketReportRepository.findTopByRecipe_IdOrderByCreatedAtDesc(recipe.getId())
                     .orElse(null);
             Long reportId = latestReport == null ? null : latestReport.getId();
+            String influencerImageHash = imageStoreService.store(request.getInfluencerImageBase64());
             if (reportId != null) {
                 influencerRepository.deleteByReport_Id(reportId);
             }
@@ -771,13 +1150,13 @@ public class RecipeService {
                     influencerRepository.save(Influencer.builder()
                             .report(reportRef)
                             .influencerInfo(writeJsonMap(influencer))
-                            .influencerImage(request.getInfluencerImageBase64())
+                            .influencerImageHash(influencerImageHash)
                             .build());
                 }
             } else if (request.getInfluencerImageBase64() != null && reportId != null) {
                 influencerRepository.save(Influencer.builder()
                         .report(latestReport)
-                        .influencerImage(request.getInfluencerImageBase64())
+                        .influencerImageHash(influencerImageHash)
                         .build());
             }
         }
@@ -806,19 +1185,21 @@ public class RecipeService {
             return toResponse(recipe);
         }
 
+        responseCacheService.invalidateReport(recipe.getId(), reportId);
+        String influencerImageHash = imageStoreService.store(request.getInfluencerImageBase64());
         influencerRepository.deleteByReport_Id(reportId);
         if (request.getInfluencers() != null && !request.getInfluencers().isEmpty()) {
             for (Map<String, Object> influencer : request.getInfluencers()) {
                 influencerRepository.save(Influencer.builder()
                         .report(latestReport)
                         .influencerInfo(writeJsonMap(influencer))
-                        .influencerImage(request.getInfluencerImageBase64())
+                        .influencerImageHash(influencerImageHash)
                         .build());
             }
         } else if (request.getInfluencerImageBase64() != null) {
             influencerRepository.save(Influencer.builder()
                     .report(latestReport)
-                    .influencerImage(request.getInfluencerImageBase64())
+                    .influencerImageHash(influencerImageHash)
                     .build());
         }
 
@@ -832,14 +1213,19 @@ public class RecipeService {
         if (!recipe.getUserId().equals(requesterId)) {
             throw new IllegalArgumentException("레시피를 찾을 수 없습니다.");
         }
+        responseCacheService.invalidateRecipe(id);
+        requestCoalescer.evict(COALESCE_RECIPE, id);
         // FK 제약 위반 => 연관되는 행 안전하게 삭제
         recipeAllergenRepository.deleteByRecipe_Id(id);
         recipeIngredientRepository.deleteByRecipe_Id(id);
+        recipeThumbnailService.delete(id);
 
         List<MarketReport> reports = marketReportRepository.findByRecipe_IdOrderByCreatedAtDesc(id);
         for (MarketReport report : reports) {
             if (report.getId() != null) {
+                requestCoalescer.evict(COALESCE_REPORT, report.getId());
                 influencerRepository.deleteByReport_Id(report.getId());
+                evaluationSummaryService.delete(report.getId());
             }
         }
         marketReportRepository.deleteAll(reports);
@@ -890,7 +1276,7 @@ public class RecipeService {
         // 🔹 3. 기본 데이터 읽기
         Map<String, Object> allergenMap = buildAllergenResponse(recipe);
         List<Map<String, Object>> influencers = readInfluencers(primaryReport);
-        String influencerImage = influencers.isEmpty() ? null : readInfluencerImage(primaryReport);
+        Influencer influencerImage = influencers.isEmpty() ? null : readInfluencerImage(primaryReport);
 
         // 🔹 4. Draft 상태에서 섹션 기준 필터링
         if (STATUS_DRAFT.equalsIgnoreCase(recipe.getStatus())) {
@@ -909,12 +1295,13 @@ public class RecipeService {
                 recipe.getDescription(),
                 ingredientNames,
                 splitSteps(recipe.getSteps()),
-                recipe.getImageBase64(),
+                imageStoreService.resolveRecipeImage(recipe),
                 reportMap,
                 allergenMap,
                 primaryReport == null ? null : primaryReport.getSummary(),
                 influencers,
-                influencerImage,
+                imageStoreService.legacyInfluencerImage(influencerImage),
+                imageStoreService.influencerImageUrl(influencerImage),
                 recipe.getStatus(),
                 resolveRecipeOpenYn(recipe),
                 recipe.getUserId(),
@@ -955,7 +1342,7 @@ public class RecipeService {
 
         Map<String, Object> allergenMap = buildAllergenResponse(recipe);
         List<Map<String, Object>> influencers = readInfluencers(report);
-        String influencerImage = influencers.isEmpty() ? null : readInfluencerImage(report);
+        Influencer influencerImage = influencers.isEmpty() ? null : readInfluencerImage(report);
         List<String> sections = reportMap.get("_sections") instanceof List<?> list
                 ? list.stream().filter(String.class::isInstance).map(String.class::cast).toList()
                 : List.of();
@@ -975,13 +1362,14 @@ public class RecipeService {
                 recipe.getDescription(),
                 ingredientNames,
                 splitSteps(recipe.getSteps()),
-                recipe.getImageBase64(),
+                imageStoreService.resolveRecipeImage(recipe),
                 reportMap,
                 allergenMap,
                 report == null ? null : report.getSummary(),
                 report == null ? null : report.getContent(),
                 influencers,
-                influencerImage,
+                imageStoreService.legacyInfluencerImage(influencerImage),
+                imageStoreService.influencerImageUrl(influencerImage),
                 report == null ? null : report.getReportType(),
                 report == null ? OPEN_YN_N : defaultIfBlank(report.getOpenYn(), OPEN_YN_N),
                 resolveRecipeOpenYn(recipe),
@@ -990,13 +1378,13 @@ public class RecipeService {
                 report == null ? null : report.getCreatedAt());
     }
 
-    private String readInfluencerImage(MarketReport report) {
+    private Influencer readInfluencerImage(MarketReport report) {
         if (report == null)
             return null;
         return influencerRepository.findByReport_IdOrderByIdAsc(report.getId())
                 .stream()
-                .map(Influencer::getInfluencerImage)
-                .filter(v -> v != null && !v.isBlank())
+                .filter(v -> v.getInfluencerImageHash() != null
+                        || (v.getInfluencerImage() != null && !v.getInfluencerImage().isBlank()))
                 .findFirst()
                 .orElse(null);
     }
@@ -1095,6 +1483,126 @@ public class RecipeService {
                 stepsText);
     }
 
+    private Map<String, Object> reportInputs(ReportRequest reportRequest, List<String> ingredients,
+            List<String> steps) {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put(INPUT_INGREDIENTS, normalizeInputList(ingredients));
+        inputs.put(INPUT_STEPS, normalizeInputList(steps));
+        inputs.put(INPUT_COUNTRY, reportRequest.getTargetCountry());
+        inputs.put(INPUT_PERSONA, reportRequest.getTargetPersona());
+        inputs.put(INPUT_PRICE, reportRequest.getPriceRange());
+        return inputs;
+    }
+
+    private Map<String, String> sectionFingerprints(List<String> sections, Map<String, Object> inputs) {
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        for (String section : sections) {
+            List<String> keys = REPORT_SECTION_INPUTS.getOrDefault(section,
+                    List.of(INPUT_INGREDIENTS, INPUT_STEPS, INPUT_COUNTRY, INPUT_PERSONA, INPUT_PRICE));
+            Object[] parts = new Object[keys.size() + 1];
+            parts[0] = section;
+            for (int i = 0; i < keys.size(); i += 1) {
+                parts[i + 1] = keys.get(i) + "=" + inputs.get(keys.get(i));
+            }
+            fingerprints.put(section, RequestCoalescer.fingerprint(parts));
+        }
+        return fingerprints;
+    }
+
+    // 페르소나 선정/평가는 보고서 내용과 모든 타깃 입력에 의존
+    private String panelFingerprint(String contentFingerprint, Map<String, Object> inputs) {
+        return RequestCoalescer.fingerprint(contentFingerprint, inputs.get(INPUT_INGREDIENTS),
+                inputs.get(INPUT_STEPS), inputs.get(INPUT_COUNTRY), inputs.get(INPUT_PERSONA), inputs.get(INPUT_PRICE));
+    }
+
+    private String reportFingerprints(List<String> reportSections, ReportRequest reportRequest,
+            List<String> ingredients, List<String> steps, String reportJson, boolean includeEvaluation) {
+        Map<String, Object> inputs = reportInputs(reportRequest, ingredients, steps);
+        String contentFingerprint = RequestCoalescer.fingerprint(reportJson);
+        return writeFingerprints(sectionFingerprints(filterReportSectionsForPrompt(reportSections), inputs),
+                contentFingerprint, includeEvaluation ? panelFingerprint(contentFingerprint, inputs) : null);
+    }
+
+    private String writeFingerprints(Map<String, String> sections, String contentFingerprint,
+            String panelFingerprint) {
+        Map<String, String> stored = new LinkedHashMap<>(sections);
+        stored.put(FINGERPRINT_SUMMARY, contentFingerprint);
+        if (panelFingerprint != null) {
+            stored.put(FINGERPRINT_PANEL, panelFingerprint);
+        }
+        return writeJsonMap(stored);
+    }
+
+    private Map<String, String> readFingerprints(String value) {
+        if (value == null || value.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(value, new TypeReference<Map<String, String>>() {
+            });
+        } catch (Exception e) {
+            return Map.of();
+        }
+    }
+
+    private List<String> normalizeInputList(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(v -> v != null && !v.isBlank())
+                .map(String::trim)
+                .toList();
+    }
+
+    private void countSections(String result, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("report.regeneration.sections")
+                .description("Report sections regenerated or reused on recipe update")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // 보고서 결과에 영향을 주는 입력(레시피 내용, 섹션, 타깃 조건)만으로 만든 해시
+    private String reportRequestHash(SavedRecipe source, ReportCreateRequest request) {
+        Recipe recipe = source.recipe();
+        return RequestCoalescer.fingerprint(
+                recipe.getId(),
+                recipe.getRecipeName(),
+                recipe.getDescription(),
+                recipe.getSteps(),
+                recipe.getTargetCountry(),
+                source.ingredients().stream().map(RecipeIngredient::getIngredientName).toList(),
+                request == null ? null : request.getTargetCountry(),
+                request == null ? null : request.getTargetPersona(),
+                request == null ? null : request.getPriceRange(),
+                sortedSections(request == null ? null : request.getReportSections()),
+                normalizeOpenYn(request == null ? null : request.getOpenYn()));
+    }
+
+    private String recipeRequestHash(RecipeCreateRequest request) {
+        return RequestCoalescer.fingerprint(
+                request.getTitle(),
+                request.getDescription(),
+                request.getIngredients(),
+                request.getSteps(),
+                request.getImageBase64() == null ? null : RequestCoalescer.fingerprint(request.getImageBase64()),
+                request.getTargetCountry(),
+                request.getTargetPersona(),
+                request.getPriceRange(),
+                sortedSections(request.getReportSections()),
+                request.isDraft(),
+                normalizeOpenYn(request.getOpenYn()));
+    }
+
+    // 섹션 미선택(null)과 빈 선택은 생성 범위가 다르므로 구분한다
+    private List<String> sortedSections(List<String> sections) {
+        return sections == null ? null : normalizeReportSections(sections).stream().sorted().toList();
+    }
+
     private ReportRequest buildReportRequestFromRecipe(
             Recipe recipe,
             List<String> ingredients,
@@ -1144,282 +1652,116 @@ public class RecipeService {
         return saveIngredients(recipe, ingredients);
     }
 
-    private List<VirtualConsumer> saveVirtualConsumers(MarketReport report, String recipeText, String summary,
-            String reportJson) {
-        if (report == null || report.getId() == null) {
-            return List.of();
-        }
-        // 유니크 제약(report_id, personaName, country, ageGroup)이 충돌하지 않도록
-        virtualConsumerRepository.deleteByReport_Id(report.getId());
-        if (recipeText == null || recipeText.isBlank()) {
+    // 페르소나 생성/평가(LLM 호출)는 트랜잭션 밖에서 실행하고, 결과 저장만 짧은 트랜잭션으로 처리
+    private void evaluateReport(MarketReport report, String recipeText, String summary, String reportJson) {
+        persistPanel(report, runPanel(selectPersonaTargets(recipeText), summary, reportJson));
+    }
+
+    // 페르소나가 하나 생성되는 즉시 그 페르소나의 평가를 시작한다 (전체 생성 완료를 기다리지 않음).
+    // 생성에 실패한 페르소나는 제외하고, 평가에 실패한 페르소나는 피드백 없이 남긴다.
+    private List<PanelMember> runPanel(List<AgeGroupResult> targets, String summary, String reportJson) {
+        if (targets == null || targets.isEmpty()) {
             return List.of();
         }
         String personaSource = (summary != null && !summary.isBlank()) ? summary : reportJson;
         if (personaSource == null || personaSource.isBlank()) {
             return List.of();
         }
-        try {
-            List<AgeGroupResult> targets = personaService.selectTopAgeGroups(recipeText, VIRTUAL_CONSUMER_COUNTRIES);
-            if (targets == null || targets.isEmpty()) {
-                return List.of();
-            }
-            List<VirtualConsumer> personas = personaService.generatePersonas(personaSource, targets);
-            if (personas == null || personas.isEmpty()) {
-                return List.of();
-            }
-            Map<String, String> reasonByKey = new HashMap<>();
-            for (AgeGroupResult target : targets) {
-                String key = personaKey(target.getCountry(), target.getAgeGroup());
-                reasonByKey.putIfAbsent(key, target.getReason());
-            }
-            List<VirtualConsumer> rows = new ArrayList<>();
-            for (VirtualConsumer persona : personas) {
-                if (persona == null) {
-                    continue;
+        Map<String, String> reasonByKey = reasonsByPersonaKey(targets);
+        List<CompletableFuture<PanelMember>> members = personaService.generatePersonasAsync(personaSource, targets)
+                .stream()
+                .map(future -> future.thenCompose(persona -> {
+                    VirtualConsumer row = toConsumerRow(persona, reasonByKey);
+                    return evaluationService.evaluateAsync(row, reportJson)
+                            .handle((feedback, error) -> new PanelMember(row, error == null ? feedback : null));
+                }))
+                .toList();
+        List<PanelMember> panel = new ArrayList<>();
+        for (CompletableFuture<PanelMember> member : members) {
+            try {
+                PanelMember value = member.join();
+                if (value.consumer() != null) {
+                    panel.add(value);
                 }
-                String key = personaKey(persona.getCountry(), persona.getAgeGroup());
-                String reason = reasonByKey.getOrDefault(key, "");
-                rows.add(VirtualConsumer.builder()
-                        .report(report)
-                        .personaName(defaultIfBlank(persona.getPersonaName(), ""))
-                        .country(defaultIfBlank(persona.getCountry(), ""))
-                        .ageGroup(defaultIfBlank(persona.getAgeGroup(), ""))
-                        .reason(defaultIfBlank(reason, ""))
-                        .lifestyle(persona.getLifestyle())
-                        .foodPreference(defaultIfBlank(persona.getFoodPreference(), ""))
-                        .purchaseCriteria(persona.getPurchaseCriteria())
-                        .attitudeToKFood(persona.getAttitudeToKFood())
-                        .evaluationPerspective(persona.getEvaluationPerspective())
-                        .build());
+            } catch (CompletionException | CancellationException ignored) {
+                // 생성 실패는 PersonaService에서 로그를 남김
             }
-            if (!rows.isEmpty()) {
-                return virtualConsumerRepository.saveAll(rows);
-            }
-        } catch (Exception e) {
-            System.err.println("보고서 가상 소비자 저장에 실패했습니다: " + report.getId() + " - " + e.getMessage());
         }
-        return List.of();
-    }
-
-    private String personaKey(String country, String ageGroup) {
-        return String.format(
-                "%s|%s",
-                country == null ? "" : country.trim(),
-                ageGroup == null ? "" : ageGroup.trim());
+        return panel;
     }
 
-    private List<Map<String, Object>> readEvaluationResults(MarketReport report) {
+    private void persistPanel(MarketReport report, List<PanelMember> panel) {
         if (report == null || report.getId() == null) {
-            return List.of();
+            return;
         }
-        List<ConsumerFeedback> feedbacks = consumerFeedbackRepository.findByReport_IdOrderByIdAsc(report.getId());
-        if ((feedbacks == null || feedbacks.isEmpty()) && report.getRecipe() != null
-                && report.getRecipe().getId() != null) {
-            Long recipeId = report.getRecipe().getId();
-            List<MarketReport> candidates = marketReportRepository
-                    .findByRecipe_IdAndReportTypeOrderByCreatedAtDesc(recipeId, REPORT_TYPE_AI);
-            for (MarketReport candidate : candidates) {
-                if (candidate == null || candidate.getId() == null || candidate.getId().equals(report.getId())) {
-                    continue;
-                }
-                feedbacks = consumerFeedbackRepository.findByReport_IdOrderByIdAsc(candidate.getId());
-                if (feedbacks != null && !feedbacks.isEmpty()) {
-                    break;
+        Long recipeId = report.getRecipe() == null ? null : report.getRecipe().getId();
+        List<VirtualConsumer> rows = panel == null ? List.of() : panel.stream().map(PanelMember::consumer).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            responseCacheService.invalidateRecipe(recipeId);
+            replaceVirtualConsumers(report, rows);
+            List<ConsumerFeedback> feedbacks = new ArrayList<>();
+            for (PanelMember member : panel == null ? List.<PanelMember>of() : panel) {
+                if (member.feedback() != null) {
+                    member.feedback().setConsumer(member.consumer());
+                    feedbacks.add(member.feedback());
                 }
             }
-        }
-        if (feedbacks == null || feedbacks.isEmpty()) {
+            evaluationService.saveEvaluations(report, feedbacks);
+        });
+    }
+
+    // 연령대 선정은 레시피만 있으면 되므로 보고서 생성과 동시에 실행할 수 있다.
+    private List<AgeGroupResult> selectPersonaTargets(String recipeText) {
+        if (recipeText == null || recipeText.isBlank()) {
             return List.of();
         }
-        Map<String, FeedbackAggregate> aggregates = new LinkedHashMap<>();
-        for (ConsumerFeedback feedback : feedbacks) {
-            String country = feedback.getCountry();
-            if (country == null || country.isBlank()) {
-                continue;
-            }
-            FeedbackAggregate agg = aggregates.computeIfAbsent(country, k -> new FeedbackAggregate());
-            if (feedback.getTotalScore() != null) {
-                agg.totalScoreSum += feedback.getTotalScore();
-                agg.totalScoreCount += 1;
-            }
-            if (feedback.getTasteScore() != null) {
-                agg.tasteScoreSum += feedback.getTasteScore();
-                agg.tasteScoreCount += 1;
-            }
-            if (feedback.getPriceScore() != null) {
-                agg.priceScoreSum += feedback.getPriceScore();
-                agg.priceScoreCount += 1;
-            }
-            if (feedback.getHealthScore() != null) {
-                agg.healthScoreSum += feedback.getHealthScore();
-                agg.healthScoreCount += 1;
-            }
-            if (agg.feedbacks.size() < 10) {
-                Map<String, Object> item = new LinkedHashMap<>();
-                item.put("personaName", feedback.getPersonaName());
-                item.put("positiveFeedback", feedback.getPositiveFeedback());
-                item.put("negativeFeedback", feedback.getNegativeFeedback());
-                agg.feedbacks.add(item);
-            }
+        try {
+            List<AgeGroupResult> targets = personaService.selectTopAgeGroups(recipeText, VIRTUAL_CONSUMER_COUNTRIES);
+            return targets == null ? List.of() : targets;
+        } catch (Exception e) {
+            log.warn("보고서 가상 소비자 연령대 선정에 실패했습니다: {}", e.getMessage());
         }
-        List<CountryScore> scores = aggregates.entrySet().stream()
-                .map(entry -> {
-                    FeedbackAggregate agg = entry.getValue();
-                    int avgScore = agg.totalScoreCount == 0 ? 0
-                            : (int) Math.round((double) agg.totalScoreSum / agg.totalScoreCount);
-                    int avgTaste = agg.tasteScoreCount == 0 ? 0
-                            : (int) Math.round((double) agg.tasteScoreSum / agg.tasteScoreCount);
-                    int avgPrice = agg.priceScoreCount == 0 ? 0
-                            : (int) Math.round((double) agg.priceScoreSum / agg.priceScoreCount);
-                    int avgHealth = agg.healthScoreCount == 0 ? 0
-                            : (int) Math.round((double) agg.healthScoreSum / agg.healthScoreCount);
-                    return new CountryScore(
-                            entry.getKey(),
-                            avgScore,
-                            avgTaste,
-                            avgPrice,
-                            avgHealth,
-                            agg.feedbacks);
-                })
-                .toList();
-        enforceScoreSpread(scores);
-        return scores.stream()
-                .map(score -> Map.<String, Object>of(
-                        "country", score.country,
-                        "totalScore", score.totalScore,
-                        "tasteScore", score.tasteScore,
-                        "priceScore", score.priceScore,
-                        "healthScore", score.healthScore,
-                        "feedbacks", score.feedbacks))
-                .toList();
+        return List.of();
     }
 
-    private void enforceScoreSpread(List<CountryScore> scores) {
-        if (scores == null || scores.size() < 2) {
-            return;
+    private Map<String, String> reasonsByPersonaKey(List<AgeGroupResult> targets) {
+        Map<String, String> reasonByKey = new HashMap<>();
+        for (AgeGroupResult target : targets) {
+            String key = personaKey(target.getCountry(), target.getAgeGroup());
+            reasonByKey.putIfAbsent(key, target.getReason());
         }
-        applyScoreSpread(scores, item -> item.totalScore, (item, value) -> item.totalScore = value);
-        applyScoreSpread(scores, item -> item.tasteScore, (item, value) -> item.tasteScore = value);
-        applyScoreSpread(scores, item -> item.priceScore, (item, value) -> item.priceScore = value);
-        applyScoreSpread(scores, item -> item.healthScore, (item, value) -> item.healthScore = value);
+        return reasonByKey;
     }
 
-    private void applyScoreSpread(
-            List<CountryScore> scores,
-            ToIntFunction<CountryScore> getter,
-            BiConsumer<CountryScore, Integer> setter) {
-        if (scores.size() < 2) {
-            return;
-        }
-        int min = scores.stream().mapToInt(getter).min().orElse(0);
-        int max = scores.stream().mapToInt(getter).max().orElse(0);
-        int range = max - min;
-        Set<Integer> seen = new HashSet<>();
-        boolean hasDuplicates = scores.stream()
-                .mapToInt(getter)
-                .anyMatch(value -> !seen.add(value));
-        if (range >= 8 && !hasDuplicates) {
-            return;
-        }
-
-        List<CountryScore> ordered = new ArrayList<>(scores);
-        ordered.sort(Comparator.comparingInt(item -> stableHash(item.country)));
-        double avg = scores.stream().mapToInt(getter).average().orElse(0);
-        int count = ordered.size();
-        int targetRange = Math.min(24, Math.max(10, count * 2));
-        int step = count <= 1 ? 0 : Math.max(2, Math.round((float) targetRange / (count - 1)));
-        int start = -step * (count - 1) / 2;
-
-        List<Integer> proposed = new ArrayList<>(count);
-        for (int i = 0; i < count; i += 1) {
-            proposed.add((int) Math.round(avg + start + step * i));
-        }
-        int minNew = proposed.stream().min(Integer::compareTo).orElse(0);
-        int maxNew = proposed.stream().max(Integer::compareTo).orElse(0);
-        int shift = 0;
-        if (minNew < 0) {
-            shift = -minNew;
-        }
-        if (maxNew + shift > 100) {
-            shift -= (maxNew + shift - 100);
-        }
-        if (shift != 0) {
-            for (int i = 0; i < proposed.size(); i += 1) {
-                proposed.set(i, proposed.get(i) + shift);
-            }
-        }
-
-        Set<Integer> used = new HashSet<>();
-        for (int i = 0; i < count; i += 1) {
-            int value = clampScore(proposed.get(i));
-            int tweak = 1;
-            while (used.contains(value) && tweak <= 5) {
-                int plus = clampScore(value + tweak);
-                if (!used.contains(plus)) {
-                    value = plus;
-                    break;
-                }
-                int minus = clampScore(value - tweak);
-                if (!used.contains(minus)) {
-                    value = minus;
-                    break;
-                }
-                tweak += 1;
-            }
-            used.add(value);
-            setter.accept(ordered.get(i), value);
-        }
+    private VirtualConsumer toConsumerRow(VirtualConsumer persona, Map<String, String> reasonByKey) {
+        String key = personaKey(persona.getCountry(), persona.getAgeGroup());
+        String reason = reasonByKey.getOrDefault(key, "");
+        return VirtualConsumer.builder()
+                .personaName(defaultIfBlank(persona.getPersonaName(), ""))
+                .country(defaultIfBlank(persona.getCountry(), ""))
+                .ageGroup(defaultIfBlank(persona.getAgeGroup(), ""))
+                .reason(defaultIfBlank(reason, ""))
+                .lifestyle(persona.getLifestyle())
+                .foodPreference(defaultIfBlank(persona.getFoodPreference(), ""))
+                .purchaseCriteria(persona.getPurchaseCriteria())
+                .attitudeToKFood(persona.getAttitudeToKFood())
+                .evaluationPerspective(persona.getEvaluationPerspective())
+                .build();
     }
 
-    private int clampScore(int value) {
-        return Math.max(0, Math.min(100, value));
+    private String personaKey(String country, String ageGroup) {
+        return String.format(
+                "%s|%s",
+                country == null ? "" : country.trim(),
+                ageGroup == null ? "" : ageGroup.trim());
     }
 
-    private int stableHash(String value) {
-        if (value == null) {
-            return 0;
+    private List<Map<String, Object>> readEvaluationResults(MarketReport report) {
+        if (report == null || report.getId() == null) {
+            return List.of();
         }
-        int hash = 0;
-        for (int i = 0; i < value.length(); i += 1) {
-            hash = 31 * hash + Character.toLowerCase(value.charAt(i));
-        }
-        return hash;
-    }
-
-    private static final class CountryScore {
-        private final String country;
-        private int totalScore;
-        private int tasteScore;
-        private int priceScore;
-        private int healthScore;
-        private final List<Map<String, Object>> feedbacks;
-
-        private CountryScore(
-                String country,
-                int totalScore,
-                int tasteScore,
-                int priceScore,
-                int healthScore,
-                List<Map<String, Object>> feedbacks) {
-            this.country = country;
-            this.totalScore = totalScore;
-            this.tasteScore = tasteScore;
-            this.priceScore = priceScore;
-            this.healthScore = healthScore;
-            this.feedbacks = feedbacks == null ? List.of() : feedbacks;
-        }
-    }
-
-    private static final class FeedbackAggregate {
-        private int totalScoreSum;
-        private int totalScoreCount;
-        private int tasteScoreSum;
-        private int tasteScoreCount;
-        private int priceScoreSum;
-        private int priceScoreCount;
-        private int healthScoreSum;
-        private int healthScoreCount;
-        private final List<Map<String, Object>> feedbacks = new ArrayList<>();
+        Long recipeId = report.getRecipe() == null ? null : report.getRecipe().getId();
+        return evaluationSummaryService.findResults(report.getId(), recipeId);
     }
 
     private void saveAllergens(Recipe recipe, List<RecipeIngredient> ingredients,
@@ -1689,14 +2031,30 @@ public class RecipeService {
     }
 
     private String resolveUserName(String userId) {
-        return userInfoRepository.findByUserId(userId)
-                .map(UserInfo::getUserName)
-                .orElse(userId);
+        return userIdentityService.resolveUserName(userId);
     }
 
     private Long resolveCompanyId(String userId) {
-        return userInfoRepository.findByUserId(userId)
-                .map(UserInfo::getCompanyId)
-                .orElse(null);
+        return userIdentityService.resolveCompanyId(userId);
+    }
+
+    // 트랜잭션 밖으로 넘기는 저장 결과
+    private record UpdateSnapshot(String targetCountry, List<String> ingredientNames, MarketReport latestReport,
+            boolean hasFeedback, boolean hasAllergens) {
+    }
+
+    private record RegeneratedReport(String reportJson, String summary, String fingerprints, boolean contentChanged,
+            boolean keepPanel, boolean runPanel) {
+    }
+
+    private record SavedRecipe(Recipe recipe, List<RecipeIngredient> ingredients, MarketReport report) {
+    }
+
+    // recipeText가 null이면 이어서 할 평가가 없음
+    private record ResumeTarget(MarketReport report, String recipeText) {
+    }
+
+    // 저장 전 페르소나와 평가 결과(평가 실패 시 null)
+    private record PanelMember(VirtualConsumer consumer, ConsumerFeedback feedback) {
     }
 }
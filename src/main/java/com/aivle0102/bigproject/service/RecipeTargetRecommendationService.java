@@ -1,10 +1,7 @@
 package com.aivle0102.bigproject.service;
 
-import com.aivle0102.bigproject.client.OpenAiClient;
 import com.aivle0102.bigproject.dto.RecipeTargetRecommendRequest;
 import com.aivle0102.bigproject.dto.RecipeTargetRecommendResponse;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -38,8 +35,17 @@ public class RecipeTargetRecommendationService {
     private static final String DEFAULT_PERSONA = "20~30대 직장인, 간편식 선호";
     private static final String DEFAULT_PRICE = "USD 6~9";
 
-    private final OpenAiClient openAiClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 선택지를 enum으로 묶어 모델이 목록 밖의 값을 고르지 못하게 한다
+    private static final Map<String, Object> TARGET_SCHEMA = Map.of(
+            "type", "object",
+            "additionalProperties", false,
+            "required", List.of("targetCountry", "targetPersona", "priceRange"),
+            "properties", Map.of(
+                    "targetCountry", Map.of("type", "string", "enum", COUNTRY_OPTIONS),
+                    "targetPersona", Map.of("type", "string", "enum", PERSONA_OPTIONS),
+                    "priceRange", Map.of("type", "string", "enum", PRICE_OPTIONS)));
+
+    private final LlmResponseCacheService llmResponseCacheService;
 
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
@@ -57,12 +63,17 @@ public class RecipeTargetRecommendationService {
                 "temperature", 0.2
         );
 
-        String content = openAiClient.chatCompletion(body);
-        Map<String, Object> parsed = parseJson(content);
+        TargetChoice parsed;
+        try {
+            parsed = llmResponseCacheService.structuredCompletion(
+                    "target-recommendation", body, TARGET_SCHEMA, TargetChoice.class, true);
+        } catch (IllegalStateException e) {
+            parsed = new TargetChoice(null, null, null);
+        }
 
-        String country = normalizeOption(parsed.get("targetCountry"), COUNTRY_OPTIONS, DEFAULT_COUNTRY);
-        String persona = normalizeOption(parsed.get("targetPersona"), PERSONA_OPTIONS, DEFAULT_PERSONA);
-        String price = normalizeOption(parsed.get("priceRange"), PRICE_OPTIONS, DEFAULT_PRICE);
+        String country = normalizeOption(parsed.targetCountry(), COUNTRY_OPTIONS, DEFAULT_COUNTRY);
+        String persona = normalizeOption(parsed.targetPersona(), PERSONA_OPTIONS, DEFAULT_PERSONA);
+        String price = normalizeOption(parsed.priceRange(), PRICE_OPTIONS, DEFAULT_PRICE);
 
         return new RecipeTargetRecommendResponse(country, persona, price);
     }
@@ -111,25 +122,6 @@ public class RecipeTargetRecommendationService {
                 );
     }
 
-    private Map<String, Object> parseJson(String content) {
-        String trimmed = content == null ? "" : content.trim();
-        String json = trimmed;
-        if (trimmed.startsWith("```")) {
-            json = trimmed.replaceFirst("^```[a-zA-Z]*\\s*", "");
-            json = json.replaceFirst("\\s*```$", "");
-        }
-        int start = json.indexOf('{');
-        int end = json.lastIndexOf('}');
-        if (start >= 0 && end > start) {
-            json = json.substring(start, end + 1);
-        }
-        try {
-            return objectMapper.readValue(json, new TypeReference<>() {});
-        } catch (Exception e) {
-            return Map.of();
-        }
-    }
-
     private String normalizeOption(Object raw, List<String> options, String fallback) {
         if (raw == null) {
             return fallback;
@@ -144,4 +136,7 @@ public class RecipeTargetRecommendationService {
     private String safe(String value) {
         return value == null ? "" : value.trim();
     }
+
+    private record TargetChoice(String targetCountry, String targetPersona, String priceRange) {
+    }
 }
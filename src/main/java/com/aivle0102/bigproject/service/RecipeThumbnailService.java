@@ -0,0 +1,314 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.Recipe;
+import com.aivle0102.bigproject.domain.RecipeThumbnail;
+import com.aivle0102.bigproject.repository.RecipeRepository;
+import com.aivle0102.bigproject.repository.RecipeThumbnailRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 레시피 이미지 썸네일을 저장 시점에 생성/보관하고 목록 API에 제공한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeThumbnailService {
+
+    private static final String FORMAT_JPEG = "jpeg";
+    private static final int INLINE_THRESHOLD = 100 * 1024;
+
+    private final RecipeThumbnailRepository recipeThumbnailRepository;
+    private final RecipeRepository recipeRepository;
+    private final ImageStoreService imageStoreService;
+
+    @Value("${app.thumbnail.sizes:300}")
+    private String sizesProperty;
+
+    @Value("${app.thumbnail.list-size:300}")
+    private int listSize;
+
+    @Value("${app.thumbnail.format:jpeg}")
+    private String formatProperty;
+
+    @Value("${app.thumbnail.quality:0.8}")
+    private float quality;
+
+    @Value("${app.thumbnail.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.thumbnail.backfill-batch-size:50}")
+    private int backfillBatchSize;
+
+    private List<Integer> sizes = List.of();
+    private String format = FORMAT_JPEG;
+
+    @PostConstruct
+    public void init() {
+        List<Integer> parsed = Arrays.stream(sizesProperty.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .map(Integer::valueOf)
+                .filter(v -> v > 0)
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (!parsed.contains(listSize)) {
+            parsed.add(listSize);
+        }
+        sizes = List.copyOf(parsed);
+
+        String requested = formatProperty == null ? FORMAT_JPEG : formatProperty.trim().toLowerCase();
+        if (!FORMAT_JPEG.equals(requested) && !ImageIO.getImageWritersByFormatName(requested).hasNext()) {
+            // JDK 기본 ImageIO에는 WebP 인코더가 없으므로 플러그인이 없으면 JPEG로 대체
+            log.warn("썸네일 포맷 {} 인코더가 없어 jpeg로 대체합니다.", requested);
+            requested = FORMAT_JPEG;
+        }
+        format = requested;
+    }
+
+    // 레시피 저장/수정 시 호출: 기존 썸네일을 지우고 설정된 모든 크기로 다시 생성
+    public void refresh(Recipe recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+        recipeThumbnailRepository.deleteByRecipeId(recipe.getId());
+        List<RecipeThumbnail> rows = render(recipe.getId(), loadSource(recipe));
+        if (!rows.isEmpty()) {
+            recipeThumbnailRepository.saveAll(rows);
+        }
+    }
+
+    public void delete(Long recipeId) {
+        if (recipeId == null) {
+            return;
+        }
+        recipeThumbnailRepository.deleteByRecipeId(recipeId);
+    }
+
+    // 목록용 크기의 썸네일을 레시피 ID 기준으로 한 번에 조회
+    public Map<Long, String> findListThumbnails(Collection<Long> recipeIds) {
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return Map.of();
+        }
+        return recipeThumbnailRepository.findByRecipeIdInAndWidthAndFormat(recipeIds, listSize, format)
+                .stream()
+                .collect(Collectors.toMap(
+                        RecipeThumbnail::getRecipeId,
+                        RecipeThumbnail::getThumbnailBase64,
+                        (a, b) -> a));
+    }
+
+    // 저장된 썸네일이 없으면(백필 전 데이터) 기존처럼 즉석에서 축소
+    public String resolveListImage(Map<Long, String> thumbnails, Recipe recipe) {
+        if (recipe == null) {
+            return null;
+        }
+        String stored = thumbnails == null ? null : thumbnails.get(recipe.getId());
+        if (stored != null) {
+            return stored;
+        }
+        if (recipe.getImageHash() != null) {
+            // 저장소 이미지는 원본 URL로 대체 (브라우저 캐시 사용)
+            return imageStoreService.toUrl(recipe.getImageHash());
+        }
+        String original = recipe.getImageBase64();
+        if (original == null || original.isBlank()) {
+            return null;
+        }
+        if (original.length() < INLINE_THRESHOLD) {
+            return original;
+        }
+        SourceImage source = decodeBase64(original);
+        BufferedImage image = source == null ? null : readImage(source.bytes());
+        if (image == null || image.getWidth() <= listSize) {
+            return original;
+        }
+        String resized = toDataUri(resize(image, listSize));
+        return resized == null ? original : resized;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    // 썸네일이 없는 기존 레시피를 배치 단위로 채운다.
+    public int backfill() {
+        int created = 0;
+        int page = 0;
+        int batchSize = Math.max(1, backfillBatchSize);
+        while (true) {
+            Page<Recipe> batch = recipeRepository.findAll(PageRequest.of(page, batchSize, Sort.by("id")));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = batch.getContent().stream().map(Recipe::getId).toList();
+            Set<Long> done = new HashSet<>(recipeThumbnailRepository.findRecipeIdsWithThumbnails(ids));
+            for (Recipe recipe : batch.getContent()) {
+                if (done.contains(recipe.getId())) {
+                    continue;
+                }
+                try {
+                    List<RecipeThumbnail> rows = render(recipe.getId(), loadSource(recipe));
+                    if (!rows.isEmpty()) {
+                        recipeThumbnailRepository.saveAll(rows);
+                        created += 1;
+                    }
+                } catch (Exception e) {
+                    log.warn("썸네일 백필 실패: recipeId={}, 원인={}", recipe.getId(), e.getMessage());
+                }
+            }
+            if (!batch.hasNext()) {
+                break;
+            }
+            page += 1;
+        }
+        log.info("썸네일 백필 완료: {}건 생성", created);
+        return created;
+    }
+
+    private List<RecipeThumbnail> render(Long recipeId, SourceImage source) {
+        if (source == null) {
+            return List.of();
+        }
+        BufferedImage image = readImage(source.bytes());
+        if (image == null) {
+            return List.of();
+        }
+        List<RecipeThumbnail> rows = new ArrayList<>();
+        for (Integer width : sizes) {
+            // 원본보다 큰 크기는 원본 너비로 다시 인코딩한다 (확대하지 않고, format 컬럼과 실제 데이터 형식을 맞춘다)
+            String data = toDataUri(resize(image, Math.min(width, image.getWidth())));
+            if (data == null) {
+                continue;
+            }
+            rows.add(RecipeThumbnail.builder()
+                    .recipeId(recipeId)
+                    .width(width)
+                    .format(format)
+                    .thumbnailBase64(data)
+                    .build());
+        }
+        return rows;
+    }
+
+    // 저장소 이미지 우선, 이관 전 레시피는 base64 컬럼에서 읽음
+    private SourceImage loadSource(Recipe recipe) {
+        if (recipe.getImageHash() != null) {
+            return imageStoreService.find(recipe.getImageHash())
+                    .map(blob -> new SourceImage(blob.getData(), blob.getContentType()))
+                    .orElse(null);
+        }
+        String original = recipe.getImageBase64();
+        if (original == null || original.isBlank()) {
+            return null;
+        }
+        return decodeBase64(original);
+    }
+
+    private SourceImage decodeBase64(String originalBase64) {
+        try {
+            String base64Data = originalBase64;
+            String contentType = "image/jpeg";
+            int comma = originalBase64.indexOf(',');
+            if (comma >= 0) {
+                base64Data = originalBase64.substring(comma + 1);
+                String header = originalBase64.substring(0, comma);
+                if (header.startsWith("data:") && header.contains(";")) {
+                    contentType = header.substring(5, header.indexOf(';'));
+                }
+            }
+            return new SourceImage(Base64.getMimeDecoder().decode(base64Data), contentType);
+        } catch (Exception e) {
+            log.warn("이미지 디코딩 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private BufferedImage readImage(byte[] bytes) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (Exception e) {
+            log.warn("이미지 디코딩 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1,
+                (int) (source.getHeight() * ((double) targetWidth / source.getWidth())));
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        // 투명 배경(PNG)이 검게 변하지 않도록 흰색으로 채움
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, targetWidth, targetHeight);
+        g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        g.dispose();
+        return resized;
+    }
+
+    private String toDataUri(BufferedImage image) {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            return null;
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(Math.max(0.1f, Math.min(1.0f, quality)));
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (Exception e) {
+            log.warn("썸네일 인코딩 실패: {}", e.getMessage());
+            return null;
+        } finally {
+            writer.dispose();
+        }
+        return "data:image/" + format + ";base64," + Base64.getEncoder().encodeToString(bos.toByteArray());
+    }
+
+    private record SourceImage(byte[] bytes, String contentType) {
+    }
+}
@@ -3,19 +3,16 @@ package com.aivle0102.bigproject.service;
 import com.aivle0102.bigproject.domain.MarketReport;
 import com.aivle0102.bigproject.domain.ReportChatMessage;
 import com.aivle0102.bigproject.domain.ReportChatRoom;
-import com.aivle0102.bigproject.domain.UserInfo;
 import com.aivle0102.bigproject.dto.ReportChatMessageResponse;
 import com.aivle0102.bigproject.repository.MarketReportRepository;
 import com.aivle0102.bigproject.repository.ReportChatMessageRepository;
 import com.aivle0102.bigproject.repository.ReportChatRoomRepository;
-import com.aivle0102.bigproject.repository.UserInfoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +21,7 @@ public class ReportChatService {
     private final MarketReportRepository marketReportRepository;
     private final ReportChatRoomRepository reportChatRoomRepository;
     private final ReportChatMessageRepository reportChatMessageRepository;
-    private final UserInfoRepository userInfoRepository;
+    private final UserIdentityService userIdentityService;
 
     @Transactional
     public ReportChatMessageResponse saveMessage(Long reportId, String userId, String content) {
@@ -48,7 +45,7 @@ public class ReportChatService {
                 .userId(senderId)
                 .content(cleaned)
                 .build());
-        String userName = userInfoRepository.findByUserId(senderId).map(UserInfo::getUserName).orElse(senderId);
+        String userName = userIdentityService.resolveUserName(senderId);
         return ReportChatMessageResponse.from(message, userName);
     }
 
@@ -69,10 +66,11 @@ public class ReportChatService {
                 .map(ReportChatMessage::getUserId)
                 .distinct()
                 .toList();
-        Map<String, String> nameMap = userInfoRepository.findByUserIdIn(userIds).stream()
-                .collect(Collectors.toMap(UserInfo::getUserId, UserInfo::getUserName, (a, b) -> a));
+        Map<String, UserIdentityService.UserIdentity> identities = userIdentityService.resolveAll(userIds);
         return messages.stream()
-                .map(msg -> ReportChatMessageResponse.from(msg, nameMap.getOrDefault(msg.getUserId(), msg.getUserId())))
+                .map(msg -> ReportChatMessageResponse.from(msg, identities.containsKey(msg.getUserId())
+                        ? identities.get(msg.getUserId()).userName()
+                        : msg.getUserId()))
                 .toList();
     }
 }
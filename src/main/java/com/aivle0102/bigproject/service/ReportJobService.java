@@ -0,0 +1,174 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.ReportJob;
+import com.aivle0102.bigproject.dto.RecipeCreateRequest;
+import com.aivle0102.bigproject.dto.RecipeJobResponse;
+import com.aivle0102.bigproject.dto.RecipeResponse;
+import com.aivle0102.bigproject.dto.ReportCreateRequest;
+import com.aivle0102.bigproject.dto.ReportDetailResponse;
+import com.aivle0102.bigproject.dto.ReportJobResponse;
+import com.aivle0102.bigproject.exception.CustomException;
+import com.aivle0102.bigproject.repository.ReportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// 생성 작업 등록/조회. 요청 스레드는 report_job 행만 남기고 바로 반환되며, 실행은 ReportJobWorker가 맡는다.
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final String TYPE_REPORT_CREATE = "REPORT_CREATE";
+    public static final String TYPE_FINAL_EVALUATION = "FINAL_EVALUATION";
+
+    private final RecipeService recipeService;
+    private final ReportJobRepository reportJobRepository;
+    private final ReportProgressTracker reportProgressTracker;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.report-job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.idempotency.window-seconds:300}")
+    private long windowSeconds;
+
+    public ReportJobResponse submit(Long recipeId, String requesterId, ReportCreateRequest request) {
+        return submit(recipeId, requesterId, request, null);
+    }
+
+    // jobId(없으면 Idempotency-Key)가 같은 재요청은 기존 작업을, 같은 입력의 진행 중/최근 완료 작업이 있으면 그 작업을 돌려준다
+    public ReportJobResponse submit(Long recipeId, String requesterId, ReportCreateRequest request,
+            String idempotencyKey) {
+        ReportCreateRequest jobRequest = request == null ? new ReportCreateRequest() : request;
+        // 없는 레시피/권한 오류는 작업 등록 전에 바로 응답
+        String requestHash = recipeService.reportRequestFingerprint(recipeId, requesterId, jobRequest);
+
+        String jobId = jobRequest.getJobId();
+        if (jobId == null || jobId.isBlank()) {
+            jobId = idempotencyKey == null || idempotencyKey.isBlank() ? UUID.randomUUID().toString() : idempotencyKey;
+            jobRequest.setJobId(jobId);
+        }
+        ReportJob existing = findReusable(jobId, requesterId, TYPE_REPORT_CREATE, requestHash);
+        if (existing != null) {
+            return toResponse(existing, null);
+        }
+        return toResponse(enqueue(jobId, TYPE_REPORT_CREATE, requesterId, recipeId, requestHash, jobRequest), null);
+    }
+
+    // 레시피 등록: 레시피/재료는 바로 저장하고 보고서/평가는 작업으로 넘긴다 (Idempotency-Key가 곧 jobId)
+    public RecipeJobResponse submitRecipe(String authorId, RecipeCreateRequest request, String idempotencyKey) {
+        RecipeResponse recipe = recipeService.createWithoutReport(authorId, request, idempotencyKey);
+        ReportCreateRequest reportRequest = recipeService.reportJobRequest(request);
+        if (reportRequest == null) {
+            return new RecipeJobResponse(recipe, null);
+        }
+        return new RecipeJobResponse(recipe, submit(recipe.getId(), authorId, reportRequest, idempotencyKey));
+    }
+
+    // 최종 평가(평가 보충 포함)를 작업으로 등록
+    public ReportJobResponse submitFinalEvaluation(String requesterId, List<Long> reportIds, String idempotencyKey) {
+        if (reportIds == null || reportIds.isEmpty()) {
+            throw new IllegalArgumentException("비교할 보고서를 선택해주세요.");
+        }
+        List<Long> sortedIds = reportIds.stream().distinct().sorted().toList();
+        String requestHash = RequestCoalescer.fingerprint(TYPE_FINAL_EVALUATION, sortedIds);
+        String jobId = idempotencyKey == null || idempotencyKey.isBlank()
+                ? UUID.randomUUID().toString()
+                : idempotencyKey;
+        ReportJob existing = findReusable(jobId, requesterId, TYPE_FINAL_EVALUATION, requestHash);
+        if (existing != null) {
+            return toResponse(existing, null);
+        }
+        return toResponse(enqueue(jobId, TYPE_FINAL_EVALUATION, requesterId, null, requestHash, sortedIds), null);
+    }
+
+    public ReportJobResponse get(String jobId, String requesterId) {
+        ReportJob job = jobId == null ? null : reportJobRepository.findById(jobId).orElse(null);
+        if (job == null || !job.getOwnerId().equals(requesterId)) {
+            throw new CustomException("작업을 찾을 수 없습니다.", HttpStatus.NOT_FOUND, "REPORT_JOB_NOT_FOUND");
+        }
+        ReportDetailResponse result = null;
+        if (STATUS_SUCCEEDED.equals(job.getStatus()) && job.getResultReportId() != null) {
+            result = recipeService.getReportDetail(job.getResultReportId(), requesterId, null).getBody();
+        }
+        return toResponse(job, result);
+    }
+
+    private ReportJob findReusable(String jobId, String requesterId, String jobType, String requestHash) {
+        ReportJob sameId = reportJobRepository.findById(jobId).orElse(null);
+        if (sameId != null) {
+            if (!sameId.getOwnerId().equals(requesterId) || !jobType.equals(sameId.getJobType())) {
+                throw new CustomException("이미 등록된 작업입니다.", HttpStatus.CONFLICT, "REPORT_JOB_DUPLICATE");
+            }
+            // 같은 jobId/Idempotency-Key를 다른 입력에 재사용하면 기존 작업을 돌려주지 않고 거절한다
+            if (!requestHash.equals(sameId.getRequestHash())) {
+                throw new CustomException("같은 작업 키로 다른 요청이 이미 등록되어 있습니다.", HttpStatus.CONFLICT,
+                        "REPORT_JOB_KEY_REUSED");
+            }
+            return sameId;
+        }
+        ReportJob sameInput = reportJobRepository
+                .findFirstByOwnerIdAndRequestHashAndStatusInOrderByCreatedAtDesc(requesterId, requestHash,
+                        List.of(STATUS_QUEUED, STATUS_RUNNING))
+                .or(() -> reportJobRepository
+                        .findFirstByOwnerIdAndRequestHashAndStatusAndUpdatedAtAfterOrderByUpdatedAtDesc(requesterId,
+                                requestHash, STATUS_SUCCEEDED,
+                                LocalDateTime.now().minusSeconds(Math.max(1, windowSeconds))))
+                .orElse(null);
+        if (sameInput != null) {
+            // 새 jobId로 진행률을 구독한 화면도 기존 작업의 진행률을 받도록 연결
+            if (STATUS_SUCCEEDED.equals(sameInput.getStatus())) {
+                reportProgressTracker.complete(jobId);
+            } else {
+                reportProgressTracker.follow(jobId, sameInput.getId());
+            }
+        }
+        return sameInput;
+    }
+
+    private ReportJob enqueue(String jobId, String jobType, String ownerId, Long recipeId, String requestHash,
+            Object payload) {
+        if (jobId.length() > 64) {
+            throw new IllegalArgumentException("jobId는 64자 이하여야 합니다.");
+        }
+        String payloadJson;
+        try {
+            payloadJson = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("작업 입력 직렬화에 실패했습니다.", e);
+        }
+        // save()는 id가 지정된 엔티티를 merge하므로 같은 jobId의 기존 작업을 덮어쓸 수 있어 INSERT만 한다.
+        // 동시에 같은 입력이 들어와 삽입이 무시되면 먼저 등록된 작업을 돌려준다.
+        int inserted = reportJobRepository.insertIfAbsent(jobId, jobType, ownerId, recipeId, payloadJson, requestHash,
+                Math.max(1, maxAttempts), LocalDateTime.now());
+        if (inserted > 0) {
+            return reportJobRepository.findById(jobId)
+                    .orElseThrow(() -> new IllegalStateException("작업 등록에 실패했습니다."));
+        }
+        ReportJob existing = findReusable(jobId, ownerId, jobType, requestHash);
+        if (existing == null) {
+            // 충돌한 작업이 그 사이 끝난 경우
+            throw new CustomException("같은 작업이 방금 종료되었습니다. 다시 시도해주세요.", HttpStatus.CONFLICT,
+                    "REPORT_JOB_DUPLICATE");
+        }
+        return existing;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job, ReportDetailResponse result) {
+        return new ReportJobResponse(job.getId(), job.getJobType(), job.getStatus(), job.getAttempts(),
+                job.getRecipeId(), job.getResultReportId(), job.getError(), job.getCreatedAt(), job.getUpdatedAt(),
+                result);
+    }
+}
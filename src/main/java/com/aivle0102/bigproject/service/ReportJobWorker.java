@@ -0,0 +1,315 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.MarketReport;
+import com.aivle0102.bigproject.domain.ReportJob;
+import com.aivle0102.bigproject.dto.ReportCreateRequest;
+import com.aivle0102.bigproject.exception.CustomException;
+import com.aivle0102.bigproject.repository.MarketReportRepository;
+import com.aivle0102.bigproject.repository.ReportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.aivle0102.bigproject.service.ReportJobService.STATUS_FAILED;
+import static com.aivle0102.bigproject.service.ReportJobService.STATUS_QUEUED;
+import static com.aivle0102.bigproject.service.ReportJobService.STATUS_RUNNING;
+import static com.aivle0102.bigproject.service.ReportJobService.STATUS_SUCCEEDED;
+import static com.aivle0102.bigproject.service.ReportJobService.TYPE_FINAL_EVALUATION;
+import static com.aivle0102.bigproject.service.ReportJobService.TYPE_REPORT_CREATE;
+
+// report_job 큐 소비자. 노드별 동시 실행 수만큼 SKIP LOCKED로 가져가고, 실행 중에는 임대를 주기적으로 연장한다.
+// 노드가 죽으면 임대가 만료된 작업을 다른 노드가 다시 가져간다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobWorker {
+
+    private final ReportJobRepository reportJobRepository;
+    private final MarketReportRepository marketReportRepository;
+    private final RecipeService recipeService;
+    private final FinalEvaluationService finalEvaluationService;
+    private final ReportProgressTracker reportProgressTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.report-job.worker-enabled:true}")
+    private boolean workerEnabled;
+
+    @Value("${app.report-job.worker-concurrency:4}")
+    private int workerConcurrency;
+
+    @Value("${app.report-job.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${app.report-job.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.report-job.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${app.report-job.max-backoff-seconds:600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.report-job.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${app.report-job.metrics-refresh-seconds:15}")
+    private long metricsRefreshSeconds;
+
+    private final String nodeId = resolveNodeId();
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    // 큐 상태는 DB 집계값을 주기적으로 갱신해 두고 게이지는 캐시된 값만 읽는다
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong runningCount = new AtomicLong();
+    private final AtomicLong oldestQueuedAgeSeconds = new AtomicLong();
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    public void init() {
+        int concurrency = Math.max(1, workerConcurrency);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("report-job-poll-");
+        scheduler.initialize();
+
+        Gauge.builder("report.job.active", running, Set::size)
+                .description("Report jobs running on this node")
+                .register(meterRegistry);
+        Gauge.builder("report.job.queue.depth", queueDepth, AtomicLong::get)
+                .description("Report jobs waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("report.job.queue.running", runningCount, AtomicLong::get)
+                .description("Report jobs leased by any node")
+                .register(meterRegistry);
+        Gauge.builder("report.job.queue.oldest.age", oldestQueuedAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest queued report job")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::refreshQueueState,
+                Duration.ofSeconds(Math.max(1, metricsRefreshSeconds)));
+        if (workerEnabled) {
+            scheduler.scheduleWithFixedDelay(this::poll, Duration.ofMillis(Math.max(100, pollIntervalMs)));
+            scheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofSeconds(Math.max(1, leaseSeconds / 3)));
+            log.info("보고서 작업 워커 시작: node={}, concurrency={}", nodeId, concurrency);
+        }
+    }
+
+    // 실행 중이던 작업은 임대 만료 후 다른 노드(또는 재기동한 이 노드)가 이어받는다
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    private void poll() {
+        int free = Math.max(1, workerConcurrency) - running.size();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            for (ClaimedJob job : claim(free)) {
+                running.add(job.id());
+                executor.execute(() -> execute(job));
+            }
+        } catch (Exception e) {
+            log.warn("보고서 작업 큐 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private List<ClaimedJob> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ClaimedJob> claimed = new ArrayList<>();
+            for (ReportJob job : reportJobRepository.lockClaimable(now, limit)) {
+                if (STATUS_RUNNING.equals(job.getStatus())) {
+                    log.warn("임대 만료 작업 회수: {} (이전 노드 {})", job.getId(), job.getLeaseOwner());
+                    // 실행 도중 노드가 계속 죽는 작업은 재시도 횟수를 다 쓰면 실패 처리
+                    if (job.getAttempts() >= job.getMaxAttempts()) {
+                        job.setStatus(STATUS_FAILED);
+                        job.setError("작업 임대가 만료되었습니다.");
+                        job.setLeaseOwner(null);
+                        job.setLeaseExpiresAt(null);
+                        job.setUpdatedAt(now);
+                        count("expired");
+                        continue;
+                    }
+                }
+                job.setStatus(STATUS_RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLeaseOwner(nodeId);
+                job.setLeaseExpiresAt(now.plusSeconds(Math.max(1, leaseSeconds)));
+                job.setUpdatedAt(now);
+                claimed.add(ClaimedJob.from(job));
+            }
+            return claimed;
+        });
+    }
+
+    private void execute(ClaimedJob job) {
+        try {
+            Long reportId = handle(job);
+            release(job, STATUS_SUCCEEDED, reportId, null, LocalDateTime.now());
+            count("succeeded");
+        } catch (Exception e) {
+            String message = e.getMessage() == null ? "failed" : e.getMessage();
+            if (isRetryable(e) && job.attempts() < job.maxAttempts()) {
+                long delay = backoffSeconds(job.attempts());
+                log.warn("보고서 작업 재시도 예약: {} ({}/{}), {}초 후 - {}",
+                        job.id(), job.attempts(), job.maxAttempts(), delay, message, e);
+                release(job, STATUS_QUEUED, null, message, LocalDateTime.now().plusSeconds(delay));
+                count("retried");
+            } else {
+                log.warn("보고서 작업 실패: {} ({}/{}) - {}", job.id(), job.attempts(), job.maxAttempts(), message, e);
+                release(job, STATUS_FAILED, null, message, LocalDateTime.now());
+                count("failed");
+                // 진행 상태가 초기화되기 전에 실패한 경우에도 구독 중인 화면에 알린다
+                reportProgressTracker.fail(job.id(), "failed");
+            }
+        } finally {
+            running.remove(job.id());
+        }
+    }
+
+    private Long handle(ClaimedJob job) throws JsonProcessingException {
+        if (TYPE_REPORT_CREATE.equals(job.type())) {
+            ReportCreateRequest request = objectMapper.readValue(job.payload(), ReportCreateRequest.class);
+            request.setJobId(job.id());
+            // 이전 시도에서 보고서 저장까지 끝났으면 새 보고서를 만들지 않고 남은 단계만 실행
+            if (job.savedReportId() != null) {
+                log.info("저장된 보고서에서 작업 재개: {} (report {})", job.id(), job.savedReportId());
+                return recipeService.resumeReport(job.savedReportId(), job.ownerId(), request).getReportId();
+            }
+            return recipeService.createReport(job.recipeId(), job.ownerId(), request).getReportId();
+        }
+        if (TYPE_FINAL_EVALUATION.equals(job.type())) {
+            List<Long> reportIds = objectMapper.readValue(job.payload(), new TypeReference<List<Long>>() {
+            });
+            List<MarketReport> reports = marketReportRepository.findAllById(reportIds);
+            if (reports.isEmpty()) {
+                throw new IllegalArgumentException("보고서를 찾을 수 없습니다.");
+            }
+            return finalEvaluationService.run(reports);
+        }
+        throw new IllegalArgumentException("알 수 없는 작업 유형입니다: " + job.type());
+    }
+
+    private void release(ClaimedJob job, String status, Long reportId, String error, LocalDateTime runAfter) {
+        try {
+            int updated = reportJobRepository.release(job.id(), nodeId, status, reportId, error, runAfter,
+                    LocalDateTime.now());
+            if (updated == 0) {
+                log.warn("임대를 잃은 작업의 결과는 반영하지 않습니다: {} -> {}", job.id(), status);
+            }
+        } catch (Exception e) {
+            // 반영 실패 시 임대 만료 후 다시 실행된다
+            log.error("보고서 작업 상태 저장 실패: {} -> {}", job.id(), status, e);
+        }
+    }
+
+    private void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> ids = List.copyOf(running);
+            int extended = reportJobRepository.extendLeases(ids, nodeId, now.plusSeconds(Math.max(1, leaseSeconds)),
+                    now);
+            if (extended < ids.size()) {
+                log.warn("일부 작업의 임대를 연장하지 못했습니다: {}/{}", extended, ids.size());
+            }
+        } catch (Exception e) {
+            log.warn("보고서 작업 임대 연장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void refreshQueueState() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            queueDepth.set(reportJobRepository.countByStatus(STATUS_QUEUED));
+            runningCount.set(reportJobRepository.countByStatus(STATUS_RUNNING));
+            LocalDateTime oldest = reportJobRepository.findOldestQueuedCreatedAt();
+            oldestQueuedAgeSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, now).getSeconds()));
+            reportJobRepository.deleteFinishedBefore(now.minusMinutes(Math.max(1, retentionMinutes)));
+        } catch (Exception e) {
+            log.warn("보고서 작업 큐 상태 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    // 입력 오류/권한 오류는 다시 실행해도 같은 결과라 바로 실패 처리
+    private boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalArgumentException
+                || e instanceof CustomException
+                || e instanceof JsonProcessingException);
+    }
+
+    // 지수 백오프에 절반 범위 지터를 섞어 같은 장애로 실패한 작업들이 한꺼번에 다시 깨어나지 않게 한다
+    private long backoffSeconds(int attempts) {
+        long base = Math.max(1, backoffSeconds);
+        long exponential = Math.min(base << Math.min(20, Math.max(0, attempts - 1)),
+                Math.max(base, maxBackoffSeconds));
+        return exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+    }
+
+    private void count(String result) {
+        Counter.builder("report.job.completed")
+                .description("Report job executions by outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String resolveNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "node";
+            }
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record ClaimedJob(String id, String type, String ownerId, Long recipeId, String payload,
+                              Long savedReportId, int attempts, int maxAttempts) {
+
+        static ClaimedJob from(ReportJob job) {
+            return new ClaimedJob(job.getId(), job.getJobType(), job.getOwnerId(), job.getRecipeId(),
+                    job.getPayload(), job.getSavedReportId(), job.getAttempts(), job.getMaxAttempts());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.util.StageGraph;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 보고서 생성 단계(보고서/요약/알레르기/페르소나/평가)를 실행하는 공용 풀
+@Component
+@RequiredArgsConstructor
+public class ReportPipelineExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.report-pipeline.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.report-pipeline.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.report-pipeline.stage-timeout-seconds:180}")
+    private long stageTimeoutSeconds;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setThreadNamePrefix("report-stage-");
+        executor.initialize();
+        Gauge.builder("report.pipeline.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Report pipeline stages currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public StageGraph newGraph() {
+        return new StageGraph(executor, Duration.ofSeconds(Math.max(1, stageTimeoutSeconds)));
+    }
+}
@@ -2,6 +2,7 @@ package com.aivle0102.bigproject.service;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +45,8 @@ public class ReportProgressTracker {
 
     private final ConcurrentHashMap<String, ProgressState> states = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, CopyOnWriteArrayList<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // 중복 요청이 같은 생성에 합류한 경우: 합류한 jobId -> 실제 실행 중인 jobId
+    private final ConcurrentHashMap<String, String> leaders = new ConcurrentHashMap<>();
 
     public void init(String jobId, int totalWeight) {
         if (jobId == null || jobId.isBlank()) {
@@ -61,13 +64,16 @@ public class ReportProgressTracker {
         if (state == null) {
             return;
         }
-        state.completedWeight = Math.min(state.totalWeight, state.completedWeight + Math.max(0, deltaWeight));
-        int nextProgress = (int) Math.floor((state.completedWeight * 100.0) / state.totalWeight);
-        state.progress = Math.min(99, Math.max(state.progress, nextProgress));
-        state.stage = stage;
-        state.message = message;
-        state.updatedAt = Instant.now();
-        send(jobId, stage, message);
+        // 병렬 단계가 동시에 끝날 수 있으므로 상태 갱신과 전송을 작업 단위로 직렬화
+        synchronized (state) {
+            state.completedWeight = Math.min(state.totalWeight, state.completedWeight + Math.max(0, deltaWeight));
+            int nextProgress = (int) Math.floor((state.completedWeight * 100.0) / state.totalWeight);
+            state.progress = Math.min(99, Math.max(state.progress, nextProgress));
+            state.stage = stage;
+            state.message = message;
+            state.updatedAt = Instant.now();
+            send(jobId, stage, message);
+        }
     }
 
     public void complete(String jobId) {
@@ -76,6 +82,8 @@ public class ReportProgressTracker {
         }
         ProgressState state = states.get(jobId);
         if (state == null) {
+            // 다른 요청의 결과를 받은 경우(합류/재사용) 진행 상태 없이 완료만 알린다
+            finish(jobId, 100, "done", "completed");
             return;
         }
         state.completedWeight = state.totalWeight;
@@ -94,6 +102,7 @@ public class ReportProgressTracker {
         }
         ProgressState state = states.get(jobId);
         if (state == null) {
+            finish(jobId, 0, "error", message == null ? "failed" : message);
             return;
         }
         state.stage = "error";
@@ -104,6 +113,16 @@ public class ReportProgressTracker {
         states.remove(jobId);
     }
 
+    // 합류한 jobId 구독자도 실행 중인 작업의 진행률/완료 이벤트를 받는다
+    public void follow(String jobId, String leaderJobId) {
+        if (jobId == null || jobId.isBlank() || leaderJobId == null || leaderJobId.isBlank()
+                || jobId.equals(leaderJobId)) {
+            return;
+        }
+        leaders.put(jobId, leaderJobId);
+        send(leaderJobId, null, null);
+    }
+
     public SseEmitter subscribe(String jobId) {
         SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT_MS);
         if (jobId == null || jobId.isBlank()) {
@@ -115,7 +134,7 @@ public class ReportProgressTracker {
         emitter.onTimeout(() -> removeEmitter(jobId, emitter));
         emitter.onError((ex) -> removeEmitter(jobId, emitter));
 
-        ProgressState state = states.get(jobId);
+        ProgressState state = states.get(leaders.getOrDefault(jobId, jobId));
         try {
             if (state != null) {
                 emitter.send(SseEmitter.event().name("progress").data(state.toPayload()));
@@ -133,30 +152,65 @@ public class ReportProgressTracker {
     }
 
     private void send(String jobId, String stage, String message) {
-        List<SseEmitter> list = emitters.get(jobId);
-        if (list == null || list.isEmpty()) {
-            return;
-        }
         ProgressState state = states.get(jobId);
         if (state == null) {
             return;
         }
-        for (SseEmitter emitter : list) {
-            try {
-                emitter.send(SseEmitter.event().name("progress").data(state.toPayload()));
-            } catch (IOException ex) {
-                removeEmitter(jobId, emitter);
+        for (String target : targets(jobId)) {
+            List<SseEmitter> list = emitters.get(target);
+            if (list == null || list.isEmpty()) {
+                continue;
+            }
+            for (SseEmitter emitter : list) {
+                try {
+                    emitter.send(SseEmitter.event().name("progress").data(state.toPayload()));
+                } catch (IOException ex) {
+                    removeEmitter(target, emitter);
+                }
             }
         }
     }
 
-    private void close(String jobId) {
-        List<SseEmitter> list = emitters.remove(jobId);
-        if (list == null) {
-            return;
+    private void finish(String jobId, int progress, String stage, String message) {
+        List<SseEmitter> list = emitters.get(jobId);
+        if (list != null) {
+            Map<String, Object> payload = Map.of(
+                    "progress", progress,
+                    "stage", stage,
+                    "message", message,
+                    "updatedAt", Instant.now().toString());
+            for (SseEmitter emitter : list) {
+                try {
+                    emitter.send(SseEmitter.event().name("progress").data(payload));
+                } catch (IOException ex) {
+                    removeEmitter(jobId, emitter);
+                }
+            }
         }
-        for (SseEmitter emitter : list) {
-            emitter.complete();
+        close(jobId);
+    }
+
+    private List<String> targets(String jobId) {
+        List<String> targets = new ArrayList<>();
+        targets.add(jobId);
+        leaders.forEach((follower, leader) -> {
+            if (leader.equals(jobId)) {
+                targets.add(follower);
+            }
+        });
+        return targets;
+    }
+
+    private void close(String jobId) {
+        for (String target : targets(jobId)) {
+            leaders.remove(target);
+            List<SseEmitter> list = emitters.remove(target);
+            if (list == null) {
+                continue;
+            }
+            for (SseEmitter emitter : list) {
+                emitter.complete();
+            }
         }
     }
 
@@ -0,0 +1,227 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 같은 생성 요청의 중복 실행 방지. 실행 중이면 같은 계산에 합류하고, 끝난 뒤 일정 시간은 저장된 결과 ID를 돌려준다.
+// 멱등 키(Idempotency-Key/jobId)가 있으면 먼저 원자적으로 선점하고, 없거나 처음 보는 키면 입력 내용 해시로 찾는다.
+// 같은 멱등 키를 다른 내용에 재사용하면 합류시키지 않고 409로 거절한다.
+@Service
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${app.idempotency.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private Map<String, CompletedResult> completed;
+
+    @PostConstruct
+    public void init() {
+        int capacity = Math.max(1, maxEntries);
+        completed = Collections.synchronizedMap(new LinkedHashMap<String, CompletedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletedResult> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("request.coalescer.inflight", inFlight, Map::size)
+                .description("Distinct generation requests currently running")
+                .register(meterRegistry);
+    }
+
+    // token: 선행 요청의 식별값(진행률 jobId 등). 합류한 요청은 onJoin으로 선행 요청의 token을 받는다.
+    public Outcome execute(Key key, String token, Consumer<String> onJoin, Supplier<Long> computation) {
+        String idemKey = key.scopedIdempotencyKey();
+        String contentKey = key.scopedContentKey();
+        InFlight mine = new InFlight(new CompletableFuture<>(), token, key.contentHash());
+
+        // 멱등 키를 먼저 선점한다. 같은 키의 동시 재요청은 여기서 합류한다.
+        if (idemKey != null) {
+            InFlight running = inFlight.putIfAbsent(idemKey, mine);
+            if (running != null) {
+                ensureSameContent(key, running.contentHash());
+                return join(key, running, onJoin);
+            }
+        }
+        try {
+            Long replay = lookup(key, idemKey);
+            if (replay == null) {
+                replay = lookup(key, contentKey);
+            }
+            if (replay != null) {
+                remember(key, replay);
+                count(key.scope(), "replayed");
+                mine.future().complete(replay);
+                return new Outcome(replay, true);
+            }
+
+            // 다른 키(또는 키 없이) 같은 내용이 실행 중이면 그 결과를 내 키로 기다리는 요청에도 넘긴다
+            InFlight running = inFlight.putIfAbsent(contentKey, mine);
+            if (running != null) {
+                Outcome outcome = join(key, running, onJoin);
+                mine.future().complete(outcome.resultId());
+                return outcome;
+            }
+
+            count(key.scope(), "executed");
+            Long id = computation.get();
+            remember(key, id);
+            mine.future().complete(id);
+            return new Outcome(id, false);
+        } catch (RuntimeException e) {
+            // 실패는 기록하지 않는다 (재요청 시 다시 실행)
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(contentKey, mine);
+            if (idemKey != null) {
+                inFlight.remove(idemKey, mine);
+            }
+        }
+    }
+
+    // 결과가 삭제되면 재요청이 삭제된 ID를 돌려받지 않도록 제거
+    public void evict(String scope, Long resultId) {
+        if (resultId == null) {
+            return;
+        }
+        String prefix = scope + "|";
+        synchronized (completed) {
+            completed.entrySet().removeIf(entry -> entry.getKey().startsWith(prefix)
+                    && resultId.equals(entry.getValue().resultId()));
+        }
+    }
+
+    public static String fingerprint(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part == null ? "" : String.valueOf(part)).append('\u0001');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("요청 해시 계산에 실패했습니다.", e);
+        }
+    }
+
+    private Outcome join(Key key, InFlight running, Consumer<String> onJoin) {
+        count(key.scope(), "coalesced");
+        if (onJoin != null) {
+            onJoin.accept(running.token());
+        }
+        Long id = await(running.future());
+        remember(key, id);
+        return new Outcome(id, true);
+    }
+
+    private Long lookup(Key key, String scopedKey) {
+        if (scopedKey == null) {
+            return null;
+        }
+        CompletedResult result = completed.get(scopedKey);
+        if (result == null) {
+            return null;
+        }
+        if (result.isExpired()) {
+            completed.remove(scopedKey);
+            return null;
+        }
+        ensureSameContent(key, result.contentHash());
+        return result.resultId();
+    }
+
+    private void ensureSameContent(Key key, String contentHash) {
+        if (!key.contentHash().equals(contentHash)) {
+            count(key.scope(), "rejected");
+            throw new CustomException("같은 멱등 키로 다른 요청이 이미 처리되었습니다.", HttpStatus.CONFLICT,
+                    "IDEMPOTENCY_KEY_REUSED");
+        }
+    }
+
+    private void remember(Key key, Long id) {
+        if (id == null) {
+            return;
+        }
+        CompletedResult result = new CompletedResult(id, key.contentHash(),
+                System.currentTimeMillis() + Math.max(1, windowSeconds) * 1000L);
+        completed.put(key.scopedContentKey(), result);
+        if (key.scopedIdempotencyKey() != null) {
+            completed.put(key.scopedIdempotencyKey(), result);
+        }
+    }
+
+    private Long await(CompletableFuture<Long> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void count(String scope, String result) {
+        Counter.builder("request.coalescer.requests")
+                .description("Generation requests by coalescing outcome")
+                .tag("scope", scope)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // scope: 요청 종류(report, recipe), contentHash: fingerprint(...)로 만든 입력 해시
+    public record Key(String scope, String ownerId, String idempotencyKey, String contentHash) {
+
+        String scopedContentKey() {
+            return scope + "|" + ownerId + "|c|" + contentHash;
+        }
+
+        String scopedIdempotencyKey() {
+            return idempotencyKey == null || idempotencyKey.isBlank()
+                    ? null
+                    : scope + "|" + ownerId + "|i|" + idempotencyKey.trim();
+        }
+    }
+
+    // shared: 다른 요청의 결과를 받았는지(합류 또는 재사용)
+    public record Outcome(Long resultId, boolean shared) {
+    }
+
+    private record InFlight(CompletableFuture<Long> future, String token, String contentHash) {
+    }
+
+    private record CompletedResult(Long resultId, String contentHash, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
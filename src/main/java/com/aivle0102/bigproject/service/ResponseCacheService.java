@@ -0,0 +1,147 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.MarketReport;
+import com.aivle0102.bigproject.domain.Recipe;
+import com.aivle0102.bigproject.dto.RecipeResponse;
+import com.aivle0102.bigproject.dto.ReportDetailResponse;
+import com.aivle0102.bigproject.repository.RecipeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 조립이 끝난 레시피/보고서 상세 응답을 버전 스탬프와 함께 보관하는 LRU 캐시.
+// 스탬프는 DB에 저장된 값(updated_at, recipe.content_version)으로만 만들어 인스턴스 간에도 같다.
+@Service
+@RequiredArgsConstructor
+public class ResponseCacheService {
+
+    private static final String CACHE_RECIPE = "recipe";
+    private static final String CACHE_REPORT = "report";
+
+    private final MeterRegistry meterRegistry;
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.response-cache.max-entries:500}")
+    private int maxEntries;
+
+    private Map<String, CachedResponse> entries;
+    private TransactionTemplate afterCommitTemplate;
+
+    @PostConstruct
+    public void init() {
+        // 커밋 이후 콜백에서는 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션으로 실행
+        afterCommitTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        afterCommitTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int capacity = Math.max(1, maxEntries);
+        entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("response.cache.size", entries, Map::size)
+                .description("Assembled recipe/report responses currently cached")
+                .register(meterRegistry);
+    }
+
+    public RecipeResponse getRecipe(Recipe recipe, Supplier<RecipeResponse> loader) {
+        return lookup(CACHE_RECIPE, CACHE_RECIPE + ":" + recipe.getId(), stamp(recipe, null), loader);
+    }
+
+    public ReportDetailResponse getReport(Recipe recipe, MarketReport report, Supplier<ReportDetailResponse> loader) {
+        return lookup(CACHE_REPORT, CACHE_REPORT + ":" + report.getId(), stamp(recipe, report), loader);
+    }
+
+    // 레시피 및 하위 보고서 응답 무효화. 버전은 변경과 같은 트랜잭션에서 올려 함께 커밋되게 한다.
+    // 읽기 전용 트랜잭션 안이면 커밋 후 별도 트랜잭션으로 올린다.
+    public void invalidateRecipe(Long recipeId) {
+        if (recipeId == null) {
+            return;
+        }
+        entries.remove(CACHE_RECIPE + ":" + recipeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    afterCommitTemplate.executeWithoutResult(status -> recipeRepository.incrementContentVersion(recipeId));
+                }
+            });
+            return;
+        }
+        recipeRepository.incrementContentVersion(recipeId);
+    }
+
+    // 조립 전에 계산 가능한 버전 태그 (저장된 값만 사용하므로 재기동/다른 인스턴스에서도 같은 값)
+    public String etag(Recipe recipe, MarketReport report) {
+        String source = (report == null ? "recipe" : "report:" + report.getId()) + "|" + stamp(recipe, report);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (Exception e) {
+            throw new IllegalStateException("ETag 계산에 실패했습니다.", e);
+        }
+    }
+
+    public void invalidateReport(Long recipeId, Long reportId) {
+        if (reportId != null) {
+            entries.remove(CACHE_REPORT + ":" + reportId);
+        }
+        invalidateRecipe(recipeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String cache, String key, String stamp, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.stamp().equals(stamp)) {
+            count(cache, "hit");
+            return (T) cached.value();
+        }
+        count(cache, "miss");
+        T value = loader.get();
+        if (value != null) {
+            entries.put(key, new CachedResponse(stamp, value));
+        }
+        return value;
+    }
+
+    private String stamp(Recipe recipe, MarketReport report) {
+        return recipe.getUpdatedAt() + "#" + recipe.getContentVersion()
+                + (report == null ? "" : "#" + report.getUpdatedAt() + "#" + report.getOpenYn());
+    }
+
+    private void count(String cache, String result) {
+        Counter.builder("response.cache.requests")
+                .description("Assembled recipe/report response cache lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record CachedResponse(String stamp, Object value) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.aivle0102.bigproject.service;
+
+import com.aivle0102.bigproject.domain.UserInfo;
+import com.aivle0102.bigproject.repository.UserInfoRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// userId -> (이름, 회사) 조회 캐시. 크기/TTL 제한, 회원 정보 변경 시 무효화.
+@Service
+@RequiredArgsConstructor
+public class UserIdentityService {
+
+    private final UserInfoRepository userInfoRepository;
+
+    @Value("${app.identity-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.identity-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Map<String, CachedIdentity> entries;
+
+    @PostConstruct
+    public void init() {
+        int capacity = Math.max(1, maxEntries);
+        entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedIdentity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public Optional<UserIdentity> find(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return Optional.empty();
+        }
+        CachedIdentity cached = entries.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return Optional.ofNullable(cached.identity());
+        }
+        UserIdentity identity = userInfoRepository.findByUserId(userId)
+                .map(UserIdentity::from)
+                .orElse(null);
+        // 없는 사용자도 TTL 동안 보관 (가입 시 무효화)
+        put(userId, identity);
+        return Optional.ofNullable(identity);
+    }
+
+    // 이름이 없으면 userId 그대로 사용
+    public String resolveUserName(String userId) {
+        return find(userId).map(UserIdentity::userName).orElse(userId);
+    }
+
+    public Long resolveCompanyId(String userId) {
+        return find(userId).map(UserIdentity::companyId).orElse(null);
+    }
+
+    // 목록 화면용: 캐시에 없는 사용자만 한 번의 쿼리로 조회
+    public Map<String, UserIdentity> resolveAll(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, UserIdentity> result = new HashMap<>();
+        List<String> missing = userIds.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.isBlank())
+                .distinct()
+                .filter(id -> {
+                    CachedIdentity cached = entries.get(id);
+                    if (cached == null || cached.isExpired()) {
+                        return true;
+                    }
+                    if (cached.identity() != null) {
+                        result.put(id, cached.identity());
+                    }
+                    return false;
+                })
+                .toList();
+        if (missing.isEmpty()) {
+            return result;
+        }
+        Map<String, UserIdentity> loaded = new HashMap<>();
+        for (UserInfo userInfo : userInfoRepository.findByUserIdIn(missing)) {
+            loaded.put(userInfo.getUserId(), UserIdentity.from(userInfo));
+        }
+        for (String userId : missing) {
+            UserIdentity identity = loaded.get(userId);
+            put(userId, identity);
+            if (identity != null) {
+                result.put(userId, identity);
+            }
+        }
+        return result;
+    }
+
+    // 커밋 전 다른 요청이 이전 값을 다시 채우지 않도록 커밋 후 한 번 더 제거
+    public void invalidate(String userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(userId);
+                }
+            });
+        }
+    }
+
+    private void put(String userId, UserIdentity identity) {
+        long expiresAt = System.currentTimeMillis() + Math.max(1, ttlSeconds) * 1000L;
+        entries.put(userId, new CachedIdentity(identity, expiresAt));
+    }
+
+    public record UserIdentity(String userId, String userName, Long companyId) {
+
+        static UserIdentity from(UserInfo userInfo) {
+            return new UserIdentity(userInfo.getUserId(), userInfo.getUserName(), userInfo.getCompanyId());
+        }
+    }
+
+    private record CachedIdentity(UserIdentity identity, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.aivle0102.bigproject.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+// 논블로킹 작업의 동시 실행 수 제한. 스레드를 잡지 않고, 자리가 없으면 대기열에 넣었다가 앞 작업이 끝날 때 시작한다.
+public final class AsyncLimiter {
+
+    private final int permits;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int running;
+
+    public AsyncLimiter(int permits) {
+        this.permits = Math.max(1, permits);
+    }
+
+    // task는 실제로 시작할 때 호출된다 (제한 시간은 task 안에서 걸어야 대기 시간이 빠진다)
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletionStage<T> stage;
+            try {
+                stage = task.get();
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            stage.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(TimedTasks.cause(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        boolean runNow;
+        synchronized (this) {
+            runNow = running < permits;
+            if (runNow) {
+                running += 1;
+            } else {
+                waiting.add(start);
+            }
+        }
+        if (runNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                running -= 1;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
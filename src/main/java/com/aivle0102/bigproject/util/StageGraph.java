@@ -0,0 +1,236 @@
+package com.aivle0102.bigproject.util;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 단계별 입력(선행 단계)만 선언하면 의존성이 없는 단계는 동시에 실행하는 작은 DAG 실행기.
+// 선행 단계는 먼저 등록되어 있어야 하므로 순환이 생기지 않는다.
+public final class StageGraph {
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int SETTLED = 2;
+
+    private final AsyncTaskExecutor executor;
+    private final Duration defaultTimeout;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+    public StageGraph(AsyncTaskExecutor executor, Duration defaultTimeout) {
+        this.executor = executor;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public StageGraph stage(String name, List<String> dependsOn, Function<Results, ?> work) {
+        return stage(name, dependsOn, defaultTimeout, work);
+    }
+
+    // 타임아웃은 풀 대기 시간을 빼고 작업 스레드에서 실제로 시작된 시점부터 계산하며, 초과하면 작업 스레드를 인터럽트한다
+    public StageGraph stage(String name, List<String> dependsOn, Duration timeout, Function<Results, ?> work) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("이미 등록된 단계입니다: " + name);
+        }
+        List<CompletableFuture<Object>> inputs = new ArrayList<>();
+        for (String dependency : dependsOn) {
+            Stage input = stages.get(dependency);
+            if (input == null) {
+                throw new IllegalArgumentException("선행 단계가 등록되지 않았습니다: " + name + " <- " + dependency);
+            }
+            inputs.add(input.future);
+        }
+        Stage stage = new Stage();
+        Results results = new Results(stage);
+        // 실패 기록이 끝난 뒤에 단계가 끝난 것으로 보이도록 whenComplete 결과를 단계의 future로 쓴다
+        stage.future = CompletableFuture.allOf(inputs.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> {
+                    if (stage.state.get() != PENDING) {
+                        return CompletableFuture.failedFuture(new CancellationException("취소된 단계: " + name));
+                    }
+                    return stage.start(executor, work, results, timeout);
+                })
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        firstFailure.completeExceptionally(unwrap(error, name));
+                    }
+                    // 시작하지 못하고 끝난 단계(선행 실패/취소)는 기다릴 작업이 없다
+                    if (stage.state.compareAndSet(PENDING, SETTLED)) {
+                        stage.settled.complete(null);
+                    }
+                });
+        stages.put(name, stage);
+        return this;
+    }
+
+    public boolean has(String name) {
+        return stages.containsKey(name);
+    }
+
+    // 모든 단계가 끝날 때까지 대기. 한 단계라도 실패하면 아직 시작하지 않은 단계를 취소하고,
+    // 실행 중인 단계가 끝나기를 기다린 뒤(최대 기본 타임아웃) 첫 실패를 던진다.
+    public Results run() {
+        CompletableFuture<Void> all = CompletableFuture.allOf(stages.values().stream()
+                .map(stage -> stage.future)
+                .toArray(CompletableFuture[]::new));
+        try {
+            CompletableFuture.anyOf(all, firstFailure).get();
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("단계 실행이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            cancelAll();
+            awaitRunning();
+            // 전체 future의 예외는 래핑된 원인일 수 있으므로 처음 기록된 실패를 던진다
+            Throwable cause = firstFailure.handle((value, error) -> error).join();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return new Results(null);
+    }
+
+    // 아직 시작하지 않은 단계는 취소하고, 실행 중인 단계는 인터럽트한다
+    private void cancelAll() {
+        for (Stage stage : stages.values()) {
+            if (stage.state.compareAndSet(PENDING, SETTLED)) {
+                stage.settled.complete(null);
+                stage.future.cancel(false);
+            } else {
+                stage.interrupt();
+            }
+        }
+    }
+
+    // 실패 후에도 돌고 있는 단계가 공유 자원(트랜잭션, 진행률 등)을 건드리지 않도록 종료를 기다린다
+    private void awaitRunning() {
+        CompletableFuture<Void> running = CompletableFuture.allOf(stages.values().stream()
+                .map(stage -> stage.settled)
+                .toArray(CompletableFuture[]::new));
+        try {
+            running.get(defaultTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // 원래 실패를 그대로 던진다
+        }
+    }
+
+    private static Throwable unwrap(Throwable error, String name) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return new IllegalStateException("단계 시간 초과: " + name, cause);
+        }
+        return cause;
+    }
+
+    private static final class Stage {
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // 실제 작업이 끝났거나(성공/실패) 시작하지 않기로 확정된 시점
+        private final CompletableFuture<Void> settled = new CompletableFuture<>();
+        private CompletableFuture<Object> future;
+        // 작업 스레드에서 시작된 뒤의 결과(시간 초과 포함)와 인터럽트용 핸들
+        private volatile CompletableFuture<Object> result;
+        private volatile Future<?> task;
+
+        private CompletableFuture<Object> start(AsyncTaskExecutor executor, Function<Results, ?> work,
+                Results results, Duration timeout) {
+            CompletableFuture<Object> started = new CompletableFuture<>();
+            result = started;
+            try {
+                task = executor.submit(() -> {
+                    started.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                    try {
+                        started.complete(execute(work, results));
+                    } catch (Throwable e) {
+                        started.completeExceptionally(e);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                state.compareAndSet(PENDING, SETTLED);
+                settled.complete(null);
+                started.completeExceptionally(e);
+                return started;
+            }
+            started.whenComplete((value, error) -> {
+                if (error instanceof TimeoutException) {
+                    interrupt();
+                }
+            });
+            return started;
+        }
+
+        private void interrupt() {
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+
+        // 시간 초과로 결과가 이미 정해졌으면 작업이 아직 돌고 있어도 더 이상 살아 있는 단계가 아니다
+        private boolean expired() {
+            CompletableFuture<Object> started = result;
+            return started != null && started.isDone();
+        }
+
+        private Object execute(Function<Results, ?> work, Results results) {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                throw new CancellationException("취소된 단계");
+            }
+            try {
+                return work.apply(results);
+            } finally {
+                state.set(SETTLED);
+                settled.complete(null);
+            }
+        }
+    }
+
+    // 선행(완료된) 단계의 결과 조회. 건너뛴(등록하지 않은) 단계는 null.
+    public final class Results {
+
+        private final Stage current;
+
+        private Results(Stage current) {
+            this.current = current;
+        }
+
+        // 다른 단계가 실패했거나 이 단계가 시간 초과되면 false. 되돌릴 수 없는 작업(커밋 등) 직전에 확인한다.
+        public boolean isLive() {
+            return !firstFailure.isDone() && (current == null || !current.expired());
+        }
+
+        public void ensureLive() {
+            if (!isLive()) {
+                throw new CancellationException("중단된 단계 실행입니다.");
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String name) {
+            Stage stage = stages.get(name);
+            if (stage == null) {
+                return null;
+            }
+            if (!stage.future.isDone()) {
+                throw new IllegalStateException("아직 끝나지 않은 단계입니다: " + name);
+            }
+            return (T) stage.future.join();
+        }
+    }
+}
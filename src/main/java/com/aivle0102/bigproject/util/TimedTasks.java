@@ -0,0 +1,53 @@
+package com.aivle0102.bigproject.util;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 제한된 풀에 블로킹 호출을 넣고 CompletableFuture로 돌려준다.
+// 제한 시간은 대기열에서 기다린 시간을 빼고 실제 시작 시점부터 계산하며, 초과 시 작업 스레드를 인터럽트한다.
+public final class TimedTasks {
+
+    private TimedTasks() {}
+
+    public static <T> CompletableFuture<T> submit(AsyncTaskExecutor executor, Callable<T> call, long timeoutSeconds) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                result.orTimeout(Math.max(1, timeoutSeconds), TimeUnit.SECONDS);
+                try {
+                    result.complete(call.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // CompletionException 등 래퍼를 벗긴 원인
+    public static Throwable cause(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
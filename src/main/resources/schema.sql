@@ -38,6 +38,9 @@ CREATE TABLE IF NOT EXISTS notice (
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 CREATE INDEX IF NOT EXISTS idx_notice_company_id ON notice(company_id);
+-- 목록 키셋 페이지 (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_notice_created_id ON notice (created_at DESC, notice_id DESC);
+CREATE INDEX IF NOT EXISTS idx_notice_company_created_id ON notice (company_id, created_at DESC, notice_id DESC);
 
 --notice_comment(공지사항 댓글) 테이블
 CREATE TABLE IF NOT EXISTS notice_comment (
@@ -49,6 +52,15 @@ CREATE TABLE IF NOT EXISTS notice_comment (
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+--image_blob(이미지 저장소) 테이블: SHA-256 해시 기준 중복 제거
+CREATE TABLE IF NOT EXISTS image_blob (
+    hash VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 --recipe(레시피 & 메뉴 개발) 테이블
 CREATE TABLE IF NOT EXISTS recipe (
     recipe_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -63,11 +75,18 @@ CREATE TABLE IF NOT EXISTS recipe (
 
     base_recipe_id BIGINT REFERENCES recipe(recipe_id),
     target_country VARCHAR(50),
+    image_hash VARCHAR(64), -- image_blob.hash (신규 이미지 저장 위치)
+    content_version BIGINT NOT NULL DEFAULT 0, -- 하위 데이터 변경 시 증가 (응답 캐시/ETag)
 
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+-- 목록 키셋 페이지 (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_recipe_created_id ON recipe (created_at DESC, recipe_id DESC);
+CREATE INDEX IF NOT EXISTS idx_recipe_company_created_id ON recipe (company_id, created_at DESC, recipe_id DESC);
+CREATE INDEX IF NOT EXISTS idx_recipe_user_created_id ON recipe (user_id, created_at DESC, recipe_id DESC);
+
 --recipe_ingredient(레시피 재료) 테이블
 CREATE TABLE IF NOT EXISTS recipe_ingredient
 (
@@ -79,6 +98,18 @@ CREATE TABLE IF NOT EXISTS recipe_ingredient
     cost                  NUMERIC(10, 2)
 );
 
+--recipe_thumbnail(레시피 목록용 썸네일) 테이블
+CREATE TABLE IF NOT EXISTS recipe_thumbnail
+(
+    thumbnail_id     BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    recipe_id        BIGINT      NOT NULL REFERENCES recipe(recipe_id) ON DELETE CASCADE,
+    width            INT         NOT NULL, -- 썸네일 가로 픽셀
+    format           VARCHAR(10) NOT NULL, -- jpeg / webp
+    thumbnail_base64 TEXT        NOT NULL, -- data URI
+    created_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (recipe_id, width, format)
+);
+
 --recipe_nonconforming_case(수출 부적합) 테이블
 CREATE TABLE IF NOT EXISTS recipe_nonconforming_case
 (
@@ -116,6 +147,7 @@ CREATE TABLE IF NOT EXISTS market_report (
     report_type VARCHAR(20) NOT NULL, -- SWOT / KPI 등
     content TEXT NOT NULL,
     summary TEXT,
+    input_fingerprints TEXT, -- 섹션/요약/평가별 입력 해시 JSON (부분 재생성 판단)
     open_yn VARCHAR(1) NOT NULL DEFAULT 'Y' CHECK (open_yn IN ('Y','N')),
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
@@ -127,12 +159,20 @@ CREATE INDEX IF NOT EXISTS idx_market_report_recipe
 CREATE INDEX IF NOT EXISTS idx_market_report_type
     ON market_report (report_type);
 
+-- 목록 키셋 페이지 (created_at, id) / 허브 공개 여부 확인
+CREATE INDEX IF NOT EXISTS idx_market_report_created_id
+    ON market_report (created_at DESC, report_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_market_report_recipe_type_open
+    ON market_report (recipe_id, report_type, open_yn);
+
 --influencer(인플루언서) 테이블
 CREATE TABLE IF NOT EXISTS influencer (
     influencer_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     report_id BIGINT REFERENCES market_report(report_id) ON DELETE SET NULL,
     influencer_info TEXT,
     influencer_image TEXT,
+    influencer_image_hash VARCHAR(64), -- image_blob.hash
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -187,6 +227,24 @@ ON consumer_feedback (report_id, consumerId);
 CREATE INDEX IF NOT EXISTS ix_consumer_feedback_report
 ON consumer_feedback (report_id);
 
+-- report_evaluation_summary (보고서별 국가 평가 집계, 평가 저장 시 계산)
+CREATE TABLE IF NOT EXISTS report_evaluation_summary (
+    summary_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    report_id BIGINT NOT NULL REFERENCES market_report (report_id) ON DELETE CASCADE,
+    country VARCHAR(50) NOT NULL,
+    sort_order INT NOT NULL,
+    total_score INT NOT NULL,
+    taste_score INT NOT NULL,
+    price_score INT NOT NULL,
+    health_score INT NOT NULL,
+    feedbacks TEXT, -- 국가별 대표 피드백 JSON 배열 (최대 10건)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (report_id, country)
+);
+
+CREATE INDEX IF NOT EXISTS ix_report_evaluation_summary_report
+    ON report_evaluation_summary (report_id, sort_order);
+
 -- 채팅방 (최종 보고서 1건당 1개 방)
 CREATE TABLE IF NOT EXISTS report_chat_room (
     room_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -209,4 +267,68 @@ CREATE INDEX IF NOT EXISTS idx_report_chat_message_room
     ON report_chat_message (room_id);
 
 CREATE INDEX IF NOT EXISTS idx_report_chat_message_created
-    ON report_chat_message (created_at);
\ No newline at end of file
+    ON report_chat_message (created_at);
+
+-- 생성 작업 큐 (워커가 FOR UPDATE SKIP LOCKED로 가져가고 임대 만료 시 다른 노드가 이어받음)
+CREATE TABLE IF NOT EXISTS report_job (
+    job_id VARCHAR(64) PRIMARY KEY,
+    job_type VARCHAR(30) NOT NULL, -- REPORT_CREATE, FINAL_EVALUATION
+    owner_id VARCHAR(50) NOT NULL,
+    recipe_id BIGINT,
+    payload TEXT, -- 작업 입력 JSON
+    request_hash VARCHAR(64), -- 중복 작업 판별용 입력 해시
+    status VARCHAR(20) NOT NULL, -- QUEUED, RUNNING, SUCCEEDED, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 3,
+    run_after TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    result_report_id BIGINT,
+    saved_report_id BIGINT, -- 저장 단계까지 끝난 보고서 (재시도 시 이어서 실행)
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_job_claim
+    ON report_job (status, run_after);
+
+CREATE TABLE IF NOT EXISTS llm_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY, -- 모델/메시지/temperature/response_format 해시
+    purpose VARCHAR(50) NOT NULL,
+    model VARCHAR(100),
+    response TEXT NOT NULL,
+    latency_ms BIGINT NOT NULL DEFAULT 0, -- 원래 호출 시간
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_llm_response_cache_expires
+    ON llm_response_cache (expires_at);
+
+-- 기존 DB 업그레이드: 이미지 저장소 해시 컬럼
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS image_hash VARCHAR(64);
+ALTER TABLE influencer ADD COLUMN IF NOT EXISTS influencer_image_hash VARCHAR(64);
+
+-- 기존 DB 업그레이드: 작업 중복 판별 해시
+ALTER TABLE report_job ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
+
+-- 기존 DB 업그레이드: 보고서 부분 재생성용 입력 해시
+ALTER TABLE market_report ADD COLUMN IF NOT EXISTS input_fingerprints TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_report_job_request
+    ON report_job (owner_id, request_hash);
+
+-- 같은 사용자/입력의 대기·실행 중 작업은 하나만 (동시 등록 경합 방지)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_report_job_active_request
+    ON report_job (owner_id, request_hash) WHERE status IN ('QUEUED', 'RUNNING');
+
+-- 기존 DB 업그레이드: 응답 캐시/ETag 버전
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS content_version BIGINT NOT NULL DEFAULT 0;
+
+-- 기존 DB 업그레이드: 보고서 작업 재시도 시 이어서 실행할 보고서
+ALTER TABLE report_job ADD COLUMN IF NOT EXISTS saved_report_id BIGINT;
+
+-- 기존 DB 정리: 원본을 그대로 저장해 format과 실제 데이터 형식이 다른 썸네일은 지운다 (백필/다음 저장 시 다시 생성)
+DELETE FROM recipe_thumbnail
+WHERE thumbnail_base64 NOT LIKE 'data:image/' || format || ';%';
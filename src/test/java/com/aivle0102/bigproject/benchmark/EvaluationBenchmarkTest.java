@@ -0,0 +1,126 @@
+package com.aivle0102.bigproject.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.domain.ConsumerFeedback;
+import com.aivle0102.bigproject.domain.VirtualConsumer;
+import com.aivle0102.bigproject.repository.ConsumerFeedbackRepository;
+import com.aivle0102.bigproject.service.EvaluationService;
+import com.aivle0102.bigproject.service.EvaluationSummaryService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 순차(concurrency=1) 대비 병렬 평가 벽시계 시간 비교. ./gradlew benchmark로만 실행한다.
+// openai.base-url을 고정 지연으로 응답하는 로컬 /chat/completions 스텁으로 돌려 실제 OpenAiClient(WebClient, 요청 예산, 재시도) 경로를 탄다.
+@Tag("benchmark")
+@SpringBootTest
+class EvaluationBenchmarkTest {
+
+    private static final int PERSONAS = 8;
+    private static final long LATENCY_MS = 150;
+    private static final String COMPLETION = """
+            {"choices":[{"message":{"role":"assistant","content":"{\\"totalScore\\":70,\\"tasteScore\\":70,\\"priceScore\\":70,\\"healthScore\\":70,\\"positiveFeedback\\":\\"good\\",\\"negativeFeedback\\":\\"none\\",\\"purchaseIntent\\":\\"YES\\"}"}}]}
+            """;
+
+    private static final ExecutorService STUB_EXECUTOR = Executors.newCachedThreadPool();
+    private static final HttpServer STUB = startStub();
+
+    @Autowired
+    private OpenAiClient openAiClient;
+
+    @DynamicPropertySource
+    static void openAiStub(DynamicPropertyRegistry registry) {
+        registry.add("openai.base-url", () -> "http://127.0.0.1:" + STUB.getAddress().getPort());
+        registry.add("openai.resilience.hedge.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+        STUB_EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void parallelEvaluationIsFasterThanSequential() {
+        // 커넥션 풀/JIT 예열
+        measure(4);
+
+        long sequential = measure(1);
+        long parallel = measure(4);
+
+        assertThat(sequential)
+                .as("sequential=%dms for %d personas at %dms latency", sequential, PERSONAS, LATENCY_MS)
+                .isGreaterThanOrEqualTo(PERSONAS * LATENCY_MS);
+        assertThat(parallel)
+                .as("parallel(4)=%dms vs sequential=%dms", parallel, sequential)
+                .isLessThan(sequential / 2);
+    }
+
+    private long measure(int concurrency) {
+        EvaluationService service = new EvaluationService(openAiClient, mock(ConsumerFeedbackRepository.class),
+                mock(EvaluationSummaryService.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "concurrency", concurrency);
+        ReflectionTestUtils.setField(service, "personaTimeoutSeconds", 30L);
+        service.init();
+        List<VirtualConsumer> personas = new ArrayList<>();
+        for (int i = 0; i < PERSONAS; i += 1) {
+            personas.add(VirtualConsumer.builder().country("US").personaName("persona-" + i).build());
+        }
+        long start = System.nanoTime();
+        List<ConsumerFeedback> results = service.evaluate(personas, "report");
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertThat(results).hasSize(PERSONAS);
+        return elapsed;
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/chat/completions", EvaluationBenchmarkTest::respond);
+            // 요청마다 스레드를 써서 지연이 서버 쪽에서 직렬화되지 않게 한다
+            server.setExecutor(STUB_EXECUTOR);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("OpenAI 스텁 서버를 시작하지 못했습니다.", e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(LATENCY_MS);
+            byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
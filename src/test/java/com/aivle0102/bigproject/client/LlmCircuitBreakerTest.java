@@ -0,0 +1,109 @@
+package com.aivle0102.bigproject.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class LlmCircuitBreakerTest {
+
+    private final List<LlmCircuitBreaker.State> transitions = new CopyOnWriteArrayList<>();
+
+    private LlmCircuitBreaker breaker(long openMillis) {
+        // 최근 4건 중 50% 이상 실패하면 연다
+        return new LlmCircuitBreaker("test", 4, 4, 50, openMillis, 1, transitions::add);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        LlmCircuitBreaker breaker = breaker(60_000);
+
+        for (int i = 0; i < 3; i += 1) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(transitions).isEmpty();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        LlmCircuitBreaker breaker = breaker(60_000);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(transitions).containsExactly(LlmCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void ignoredCallsDoNotCount() {
+        LlmCircuitBreaker breaker = breaker(60_000);
+
+        for (int i = 0; i < 10; i += 1) {
+            breaker.tryAcquire();
+            breaker.onIgnored();
+        }
+
+        assertThat(breaker.getRecordedCalls()).isZero();
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenProbeSuccessCloses() throws InterruptedException {
+        LlmCircuitBreaker breaker = tripped(50);
+        Thread.sleep(80);
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        // 시험 호출은 한 건만 허용
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.getRecordedCalls()).isZero();
+        assertThat(transitions).containsExactly(LlmCircuitBreaker.State.OPEN, LlmCircuitBreaker.State.HALF_OPEN,
+                LlmCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenProbeFailureReopens() throws InterruptedException {
+        LlmCircuitBreaker breaker = tripped(50);
+        Thread.sleep(80);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void ignoredProbeReleasesPermit() throws InterruptedException {
+        LlmCircuitBreaker breaker = tripped(50);
+        Thread.sleep(80);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private LlmCircuitBreaker tripped(long openMillis) {
+        LlmCircuitBreaker breaker = breaker(openMillis);
+        for (int i = 0; i < 4; i += 1) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
@@ -0,0 +1,141 @@
+package com.aivle0102.bigproject.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class LlmResilienceTest {
+
+    private LlmResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        resilience = new LlmResilience(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(resilience, "maxRetries", 3);
+        ReflectionTestUtils.setField(resilience, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(resilience, "maxBackoffMs", 5L);
+        ReflectionTestUtils.setField(resilience, "breakerWindowSize", 20);
+        ReflectionTestUtils.setField(resilience, "breakerMinimumCalls", 10);
+        ReflectionTestUtils.setField(resilience, "breakerFailureRateThreshold", 50);
+        ReflectionTestUtils.setField(resilience, "breakerOpenSeconds", 30L);
+        ReflectionTestUtils.setField(resilience, "breakerHalfOpenCalls", 1);
+        ReflectionTestUtils.setField(resilience, "hedgeEnabled", false);
+    }
+
+    @Test
+    void classifiesRetryableErrors() {
+        assertThat(resilience.isRetryable(new OpenAiApiException(429, null))).isTrue();
+        assertThat(resilience.isRetryable(new OpenAiApiException(408, null))).isTrue();
+        assertThat(resilience.isRetryable(new OpenAiApiException(500, null))).isTrue();
+        assertThat(resilience.isRetryable(new OpenAiApiException(503, null))).isTrue();
+        assertThat(resilience.isRetryable(new TimeoutException())).isTrue();
+        assertThat(resilience.isRetryable(new IOException("reset"))).isTrue();
+
+        assertThat(resilience.isRetryable(new OpenAiApiException(400, null))).isFalse();
+        assertThat(resilience.isRetryable(new OpenAiApiException(401, null))).isFalse();
+        assertThat(resilience.isRetryable(new IllegalArgumentException("bad"))).isFalse();
+    }
+
+    @Test
+    void rateLimitIsNotCountedAsProviderFailure() {
+        assertThat(resilience.isProviderFailure(new OpenAiApiException(429, null))).isFalse();
+        assertThat(resilience.isProviderFailure(new OpenAiApiException(400, null))).isFalse();
+        assertThat(resilience.isProviderFailure(new OpenAiApiException(502, null))).isTrue();
+        assertThat(resilience.isProviderFailure(new TimeoutException())).isTrue();
+    }
+
+    @Test
+    void retriesTransientFailuresUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.call("test", null, () -> attempts.incrementAndGet() < 3
+                ? Mono.<String>error(new OpenAiApiException(503, null))
+                : Mono.just("ok")).block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.call("test", null, () -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new OpenAiApiException(400, null));
+        }).block(Duration.ofSeconds(5))).isInstanceOf(OpenAiApiException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void stopsAfterMaxRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.call("test", null, () -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new OpenAiApiException(500, null));
+        }).block(Duration.ofSeconds(5))).isInstanceOf(OpenAiApiException.class);
+        assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingProvider() {
+        ReflectionTestUtils.setField(resilience, "breakerMinimumCalls", 2);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new OpenAiApiException(502, null));
+        });
+
+        for (int i = 0; i < 2; i += 1) {
+            assertThatThrownBy(() -> resilience.guard("test", null, failing).block(Duration.ofSeconds(5)))
+                    .isInstanceOf(OpenAiApiException.class);
+        }
+
+        assertThatThrownBy(() -> resilience.guard("test", null, failing).block(Duration.ofSeconds(5)))
+                .isInstanceOf(LlmUnavailableException.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void backoffIsExponentialWithHalfRangeJitter() {
+        ReflectionTestUtils.setField(resilience, "initialBackoffMs", 100L);
+        ReflectionTestUtils.setField(resilience, "maxBackoffMs", 1000L);
+
+        for (int i = 0; i < 50; i += 1) {
+            assertThat(resilience.backoff(0, null).toMillis()).isBetween(50L, 100L);
+            assertThat(resilience.backoff(2, null).toMillis()).isBetween(200L, 400L);
+            // 상한에 걸리면 상한 기준으로 지터
+            assertThat(resilience.backoff(10, null).toMillis()).isBetween(500L, 1000L);
+        }
+    }
+
+    @Test
+    void retryAfterWinsWhenLongerThanBackoff() {
+        ReflectionTestUtils.setField(resilience, "initialBackoffMs", 100L);
+        ReflectionTestUtils.setField(resilience, "maxBackoffMs", 1000L);
+
+        assertThat(resilience.backoff(0, Duration.ofSeconds(3))).isEqualTo(Duration.ofSeconds(3));
+        assertThat(resilience.backoff(0, Duration.ofMillis(1)).toMillis()).isBetween(50L, 100L);
+    }
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        assertThat(LlmResilience.parseRetryAfter("2")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(LlmResilience.parseRetryAfter(" 1.5 ")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(LlmResilience.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT")).isNull();
+        assertThat(LlmResilience.parseRetryAfter("")).isNull();
+        assertThat(LlmResilience.parseRetryAfter(null)).isNull();
+    }
+}
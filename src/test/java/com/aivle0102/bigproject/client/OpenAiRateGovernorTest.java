@@ -0,0 +1,136 @@
+package com.aivle0102.bigproject.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.aivle0102.bigproject.client.OpenAiRateGovernor.Lane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OpenAiRateGovernorTest {
+
+    // 분당 6000토큰 = 초당 100토큰
+    private static final int TOKENS_PER_MINUTE = 6000;
+
+    private OpenAiRateGovernor governor(long backgroundBoostSeconds) {
+        OpenAiRateGovernor governor = new OpenAiRateGovernor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(governor, "enabled", true);
+        ReflectionTestUtils.setField(governor, "requestsPerMinute", 10_000);
+        ReflectionTestUtils.setField(governor, "tokensPerMinute", TOKENS_PER_MINUTE);
+        ReflectionTestUtils.setField(governor, "interactiveQueueCapacity", 10);
+        ReflectionTestUtils.setField(governor, "backgroundQueueCapacity", 10);
+        ReflectionTestUtils.setField(governor, "maxWaitSeconds", 30L);
+        ReflectionTestUtils.setField(governor, "backgroundBoostSeconds", backgroundBoostSeconds);
+        ReflectionTestUtils.setField(governor, "defaultCompletionTokens", 1000);
+        governor.init();
+        return governor;
+    }
+
+    @Test
+    void fullBucketGrantsImmediately() {
+        OpenAiRateGovernor governor = governor(30);
+
+        long startedAt = System.nanoTime();
+        governor.acquire(Lane.INTERACTIVE, TOKENS_PER_MINUTE).block(Duration.ofSeconds(5));
+
+        assertThat(elapsedMillis(startedAt)).isLessThan(500);
+    }
+
+    @Test
+    void waitsForTokensToRefill() {
+        OpenAiRateGovernor governor = governor(30);
+        governor.acquire(Lane.INTERACTIVE, TOKENS_PER_MINUTE).block(Duration.ofSeconds(5));
+
+        long startedAt = System.nanoTime();
+        governor.acquire(Lane.INTERACTIVE, 100).block(Duration.ofSeconds(5));
+
+        // 100토큰이 다시 차는 데 약 1초
+        assertThat(elapsedMillis(startedAt)).isBetween(800L, 3000L);
+    }
+
+    @Test
+    void oversizedRequestIsCappedAtBucketSize() {
+        OpenAiRateGovernor governor = governor(30);
+
+        long startedAt = System.nanoTime();
+        governor.acquire(Lane.INTERACTIVE, TOKENS_PER_MINUTE * 10).block(Duration.ofSeconds(5));
+
+        assertThat(elapsedMillis(startedAt)).isLessThan(500);
+    }
+
+    @Test
+    void interactiveLaneIsServedFirst() throws Exception {
+        OpenAiRateGovernor governor = governor(30);
+        governor.acquire(Lane.INTERACTIVE, TOKENS_PER_MINUTE).block(Duration.ofSeconds(5));
+        List<Lane> order = new CopyOnWriteArrayList<>();
+
+        // BACKGROUND가 먼저 줄을 서도 INTERACTIVE가 먼저 나간다
+        CompletableFuture<Void> background = acquire(governor, Lane.BACKGROUND, 100, order);
+        CompletableFuture<Void> interactive = acquire(governor, Lane.INTERACTIVE, 100, order);
+        CompletableFuture.allOf(background, interactive).get(10, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactly(Lane.INTERACTIVE, Lane.BACKGROUND);
+    }
+
+    @Test
+    void longWaitingBackgroundIsBoosted() throws Exception {
+        OpenAiRateGovernor governor = governor(1);
+        governor.acquire(Lane.INTERACTIVE, TOKENS_PER_MINUTE).block(Duration.ofSeconds(5));
+        List<Lane> order = new CopyOnWriteArrayList<>();
+
+        // 첫 호출 예산이 차는 1.5초 동안 BACKGROUND가 부스트 시간(1초)을 넘겨 기다린다
+        CompletableFuture<Void> background = acquire(governor, Lane.BACKGROUND, 150, order);
+        CompletableFuture<Void> interactive = acquire(governor, Lane.INTERACTIVE, 150, order);
+        CompletableFuture.allOf(background, interactive).get(10, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactly(Lane.BACKGROUND, Lane.INTERACTIVE);
+    }
+
+    @Test
+    void disabledGovernorNeverWaits() {
+        OpenAiRateGovernor governor = governor(30);
+        ReflectionTestUtils.setField(governor, "enabled", false);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 5; i += 1) {
+            governor.acquire(Lane.BACKGROUND, TOKENS_PER_MINUTE).block(Duration.ofSeconds(5));
+        }
+
+        assertThat(elapsedMillis(startedAt)).isLessThan(500);
+    }
+
+    @Test
+    void estimatesPromptAndCompletionTokens() {
+        OpenAiRateGovernor governor = governor(30);
+
+        Map<String, Object> ascii = Map.of(
+                "messages", List.of(Map.of("role", "user", "content", "abcdefgh")),
+                "max_tokens", 10);
+        Map<String, Object> korean = Map.of(
+                "messages", List.of(Map.of("role", "user", "content", "안녕")));
+
+        // 영문 8자 = 2토큰, 메시지당 4토큰, 응답 10토큰
+        assertThat(governor.estimateTokens(ascii)).isEqualTo(16);
+        // 한글 2자 = 2토큰, 메시지당 4토큰, 기본 응답 1000토큰
+        assertThat(governor.estimateTokens(korean)).isEqualTo(1006);
+    }
+
+    private CompletableFuture<Void> acquire(OpenAiRateGovernor governor, Lane lane, int tokens, List<Lane> order) {
+        return governor.acquire(lane, tokens)
+                .doOnSuccess(ignored -> order.add(lane))
+                .toFuture();
+    }
+
+    private long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
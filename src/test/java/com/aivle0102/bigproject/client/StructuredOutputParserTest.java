@@ -0,0 +1,100 @@
+package com.aivle0102.bigproject.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StructuredOutputParserTest {
+
+    record Sample(String name, List<String> tags, Integer score) {
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private StructuredOutputParser parser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        parser = new StructuredOutputParser(new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void parsesCompleteJson() {
+        StructuredOutputParser.Parsed<Sample> parsed = parser.parseDetailed("test",
+                "{\"name\":\"kim\",\"tags\":[\"a\"],\"score\":3}", Sample.class);
+
+        assertThat(parsed.repaired()).isFalse();
+        assertThat(parsed.value()).isEqualTo(new Sample("kim", List.of("a"), 3));
+        assertThat(count("ok")).isEqualTo(1.0);
+    }
+
+    @Test
+    void skipsCodeFenceAndSurroundingText() {
+        String content = "결과입니다.\n```json\n{\"name\":\"kim\",\"score\":3}\n```\n설명 {무시}";
+
+        StructuredOutputParser.Parsed<Sample> parsed = parser.parseDetailed("test", content, Sample.class);
+
+        assertThat(parsed.repaired()).isFalse();
+        assertThat(parsed.value().name()).isEqualTo("kim");
+        assertThat(parsed.value().score()).isEqualTo(3);
+    }
+
+    @Test
+    void repairsTruncatedArrayAndObject() {
+        StructuredOutputParser.Parsed<Sample> parsed = parser.parseDetailed("test",
+                "{\"name\":\"kim\",\"tags\":[\"a\",\"b\"", Sample.class);
+
+        assertThat(parsed.repaired()).isTrue();
+        assertThat(parsed.value()).isEqualTo(new Sample("kim", List.of("a", "b"), null));
+        assertThat(count("repaired")).isEqualTo(1.0);
+    }
+
+    @Test
+    void repairsDanglingFieldWithNull() {
+        Sample sample = parser.parse("test", "{\"name\":\"kim\",\"score\":", Sample.class);
+
+        assertThat(sample).isEqualTo(new Sample("kim", null, null));
+    }
+
+    @Test
+    void repairsTruncatedString() {
+        Sample sample = parser.parse("test", "{\"score\":3,\"name\":\"ki", Sample.class);
+
+        // 끊긴 문자열 값은 버리고 키를 null로 닫는다
+        assertThat(sample).isEqualTo(new Sample(null, null, 3));
+    }
+
+    @Test
+    void ignoresUnknownFields() {
+        Sample sample = parser.parse("test", "{\"name\":\"kim\",\"extra\":{\"a\":1}}", Sample.class);
+
+        assertThat(sample.name()).isEqualTo("kim");
+    }
+
+    @Test
+    void failsWithoutJson() {
+        assertThatThrownBy(() -> parser.parse("test", "죄송합니다, 답변할 수 없습니다.", Sample.class))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parser.parse("test", null, Sample.class))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count("failed")).isEqualTo(2.0);
+    }
+
+    @Test
+    void failsWhenValueDoesNotMatchType() {
+        assertThatThrownBy(() -> parser.parse("test", "{\"score\":\"many\"}", Sample.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("llm.structured.parse").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,60 @@
+package com.aivle0102.bigproject.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.aivle0102.bigproject.client.OpenAiClient;
+import com.aivle0102.bigproject.client.OpenAiRateGovernor;
+import com.aivle0102.bigproject.domain.ConsumerFeedback;
+import com.aivle0102.bigproject.domain.VirtualConsumer;
+import com.aivle0102.bigproject.repository.ConsumerFeedbackRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class EvaluationServiceTest {
+
+    private static final int PERSONAS = 8;
+
+    @Test
+    void resultsKeepInputOrder() {
+        // 먼저 보낸 호출이 늦게 끝나도록 지연을 거꾸로 준다
+        AtomicInteger calls = new AtomicInteger();
+        OpenAiClient openAiClient = mock(OpenAiClient.class);
+        when(openAiClient.structuredCompletionAsync(eq("persona-evaluation"), anyMap(), anyMap(),
+                eq(ConsumerFeedback.class), any(OpenAiRateGovernor.Lane.class), any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    long delay = (PERSONAS - calls.getAndIncrement()) * 10L;
+                    return Mono.fromSupplier(() -> ConsumerFeedback.builder().totalScore(70).build())
+                            .delaySubscription(Duration.ofMillis(delay));
+                });
+        EvaluationService service = new EvaluationService(openAiClient, mock(ConsumerFeedbackRepository.class),
+                mock(EvaluationSummaryService.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "concurrency", 4);
+        ReflectionTestUtils.setField(service, "personaTimeoutSeconds", 30L);
+        service.init();
+        List<VirtualConsumer> personas = new ArrayList<>();
+        for (int i = 0; i < PERSONAS; i += 1) {
+            personas.add(VirtualConsumer.builder().country("US").personaName("persona-" + i).build());
+        }
+
+        List<ConsumerFeedback> results = service.evaluate(personas, "report");
+
+        assertThat(results).hasSize(PERSONAS);
+        for (int i = 0; i < PERSONAS; i += 1) {
+            assertThat(results.get(i).getConsumer()).isSameAs(personas.get(i));
+        }
+    }
+}
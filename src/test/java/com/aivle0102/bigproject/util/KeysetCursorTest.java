@@ -0,0 +1,52 @@
+package com.aivle0102.bigproject.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.aivle0102.bigproject.exception.CustomException;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+
+        String cursor = KeysetCursor.encode(createdAt, 42L);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(KeysetCursor.decode(cursor)).isEqualTo(new KeysetCursor(createdAt, 42L));
+    }
+
+    @Test
+    void blankCursorStartsFromFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isEqualTo(KeysetCursor.FIRST);
+        assertThat(KeysetCursor.decode("  ")).isEqualTo(KeysetCursor.FIRST);
+    }
+
+    @Test
+    void encodeWithoutPositionReturnsNull() {
+        assertThat(KeysetCursor.encode(null, 1L)).isNull();
+        assertThat(KeysetCursor.encode(LocalDateTime.now(), null)).isNull();
+    }
+
+    @Test
+    void rejectsInvalidCursor() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2026-03-14T09:26".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2026-03-14T09:26|abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] {"not base64!", noSeparator, badId}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                    .isInstanceOfSatisfying(CustomException.class, e -> {
+                        assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                        assertThat(e.getErrorCode()).isEqualTo("INVALID_CURSOR");
+                    });
+        }
+    }
+}
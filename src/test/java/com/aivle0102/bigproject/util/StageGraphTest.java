@@ -0,0 +1,181 @@
+package com.aivle0102.bigproject.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class StageGraphTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    private StageGraph graph(int poolSize) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("stage-test-");
+        executor.initialize();
+        return new StageGraph(executor, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void dependentStageSeesInputs() {
+        StageGraph.Results results = graph(2)
+                .stage("a", List.of(), ignored -> 1)
+                .stage("b", List.of(), ignored -> 2)
+                .stage("sum", List.of("a", "b"), inputs -> inputs.<Integer>get("a") + inputs.<Integer>get("b"))
+                .run();
+
+        assertThat(results.<Integer>get("sum")).isEqualTo(3);
+        assertThat(results.<Integer>get("missing")).isNull();
+    }
+
+    @Test
+    void independentStagesRunConcurrently() {
+        // 두 단계가 서로를 기다리므로 동시에 돌지 않으면 시간 초과로 실패한다
+        CountDownLatch both = new CountDownLatch(2);
+        StageGraph graph = graph(2);
+        for (String name : List.of("a", "b")) {
+            graph.stage(name, List.of(), Duration.ofSeconds(2), ignored -> {
+                both.countDown();
+                try {
+                    return both.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+        }
+
+        StageGraph.Results results = graph.run();
+
+        assertThat(results.<Boolean>get("a")).isTrue();
+        assertThat(results.<Boolean>get("b")).isTrue();
+    }
+
+    @Test
+    void failureCancelsDependentsAndRethrowsOriginal() {
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        StageGraph graph = graph(2)
+                .stage("a", List.of(), ignored -> {
+                    throw new IllegalArgumentException("boom");
+                })
+                .stage("b", List.of("a"), ignored -> {
+                    dependentRan.set(true);
+                    return null;
+                });
+
+        assertThatThrownBy(graph::run)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("boom");
+        assertThat(dependentRan).isFalse();
+    }
+
+    @Test
+    void failureInterruptsRunningSibling() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        StageGraph graph = graph(2)
+                .stage("slow", List.of(), ignored -> {
+                    siblingStarted.countDown();
+                    return sleep(5_000, interrupted);
+                })
+                .stage("failing", List.of(), ignored -> {
+                    await(siblingStarted);
+                    throw new IllegalArgumentException("boom");
+                });
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(graph::run).isInstanceOf(IllegalArgumentException.class);
+
+        // run()은 실행 중이던 단계가 인터럽트로 끝날 때까지 기다린 뒤 돌아온다
+        assertThat(interrupted).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(3_000);
+    }
+
+    @Test
+    void timeoutInterruptsStage() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        StageGraph graph = graph(1)
+                .stage("slow", List.of(), Duration.ofMillis(100), ignored -> sleep(5_000, interrupted));
+
+        assertThatThrownBy(graph::run)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("단계 시간 초과: slow");
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void timeoutStartsWhenStageStartsRunning() {
+        // 풀이 하나뿐이라 b는 a가 끝날 때까지 대기열에 있지만, 그 시간은 b의 타임아웃에 들어가지 않는다
+        StageGraph.Results results = graph(1)
+                .stage("a", List.of(), Duration.ofSeconds(2), ignored -> sleep(300, new AtomicBoolean()))
+                .stage("b", List.of(), Duration.ofMillis(200), ignored -> "done")
+                .run();
+
+        assertThat(results.<String>get("b")).isEqualTo("done");
+    }
+
+    @Test
+    void stageIsNotLiveAfterSiblingFails() {
+        AtomicReference<Boolean> liveAfterFailure = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        StageGraph graph = graph(2)
+                .stage("watcher", List.of(), results -> {
+                    await(failed);
+                    // 인터럽트를 무시하고 계속 도는 단계도 isLive로 실패를 알아챌 수 있어야 한다
+                    sleepQuietly(100);
+                    liveAfterFailure.set(results.isLive());
+                    return null;
+                })
+                .stage("failing", List.of(), ignored -> {
+                    failed.countDown();
+                    throw new IllegalArgumentException("boom");
+                });
+
+        assertThatThrownBy(graph::run).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(liveAfterFailure.get()).isFalse();
+    }
+
+    private static Object sleep(long millis, AtomicBoolean interrupted) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static void sleepQuietly(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}